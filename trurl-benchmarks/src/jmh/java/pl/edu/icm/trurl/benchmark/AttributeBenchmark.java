@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.edu.icm.trurl.store.basic.BasicBooleanAttribute;
+import pl.edu.icm.trurl.store.basic.BasicByteAttribute;
+import pl.edu.icm.trurl.store.basic.BasicDoubleAttribute;
+import pl.edu.icm.trurl.store.basic.BasicFloatAttribute;
+import pl.edu.icm.trurl.store.basic.BasicIntAttribute;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential reads and writes of whole columns, and growing a column row by row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AttributeBenchmark {
+    @Param({"1000000"})
+    int rows;
+
+    BasicIntAttribute ints;
+    BasicFloatAttribute floats;
+    BasicDoubleAttribute doubles;
+    BasicByteAttribute bytes;
+    BasicBooleanAttribute booleans;
+
+    @Setup
+    public void setup() {
+        ints = new BasicIntAttribute("ints", rows);
+        floats = new BasicFloatAttribute("floats", rows);
+        doubles = new BasicDoubleAttribute("doubles", rows);
+        bytes = new BasicByteAttribute("bytes", rows);
+        booleans = new BasicBooleanAttribute("booleans", rows);
+        for (int row = 0; row < rows; row++) {
+            ints.setInt(row, row);
+            floats.setFloat(row, row);
+            doubles.setDouble(row, row);
+            bytes.setByte(row, (byte) row);
+            booleans.setBoolean(row, (row & 1) == 0);
+        }
+    }
+
+    @Benchmark
+    public long intGet() {
+        long sum = 0;
+        for (int row = 0; row < rows; row++) {
+            sum += ints.getInt(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BasicIntAttribute intSet() {
+        for (int row = 0; row < rows; row++) {
+            ints.setInt(row, row + 1);
+        }
+        return ints;
+    }
+
+    @Benchmark
+    public double floatGet() {
+        double sum = 0;
+        for (int row = 0; row < rows; row++) {
+            sum += floats.getFloat(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BasicFloatAttribute floatSet() {
+        for (int row = 0; row < rows; row++) {
+            floats.setFloat(row, row + 1);
+        }
+        return floats;
+    }
+
+    @Benchmark
+    public double doubleGet() {
+        double sum = 0;
+        for (int row = 0; row < rows; row++) {
+            sum += doubles.getDouble(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BasicDoubleAttribute doubleSet() {
+        for (int row = 0; row < rows; row++) {
+            doubles.setDouble(row, row + 1);
+        }
+        return doubles;
+    }
+
+    @Benchmark
+    public long byteGet() {
+        long sum = 0;
+        for (int row = 0; row < rows; row++) {
+            sum += bytes.getByte(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BasicByteAttribute byteSet() {
+        for (int row = 0; row < rows; row++) {
+            bytes.setByte(row, (byte) (row + 1));
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int booleanGet() {
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (booleans.getBoolean(row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public BasicBooleanAttribute booleanSet() {
+        for (int row = 0; row < rows; row++) {
+            booleans.setBoolean(row, (row & 1) != 0);
+        }
+        return booleans;
+    }
+
+    @Benchmark
+    public BasicIntAttribute intGrowRowByRow() {
+        BasicIntAttribute growing = new BasicIntAttribute("growing", 16);
+        for (int row = 0; row < rows; row++) {
+            growing.ensureCapacity(row + 1);
+            growing.setInt(row, row);
+        }
+        return growing;
+    }
+}
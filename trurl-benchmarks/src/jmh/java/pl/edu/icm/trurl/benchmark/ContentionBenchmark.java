@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.edu.icm.trurl.benchmark.domain.SharedCounter;
+import pl.edu.icm.trurl.ecs.Engine;
+import pl.edu.icm.trurl.ecs.EngineBuilder;
+import pl.edu.icm.trurl.ecs.Entity;
+import pl.edu.icm.trurl.ecs.EntityExecutor;
+import pl.edu.icm.trurl.ecs.EntityProcessor;
+import pl.edu.icm.trurl.ecs.RangedSource;
+import pl.edu.icm.trurl.ecs.dao.Dao;
+import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.ecs.util.DynamicComponentAccessor;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel execution over components with conflict resolution, under contention: every counter is
+ * incremented by `contention` chunks, which (being adjacent) are likely to run at the same time and
+ * to fight over the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContentionBenchmark {
+    @Param({"10000"})
+    int counters;
+
+    @Param({"1000"})
+    int chunkSize;
+
+    @Param({"1", "4", "16"})
+    int contention;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    EntityExecutor executor;
+    RangedSource source;
+    EntityProcessor increment;
+
+    @Setup
+    public void setup() {
+        EngineBuilder engineBuilder = new EngineBuilder(DynamicComponentAccessor::new, counters, 0, chunkSize, 1024,
+                new BasicAttributeFactory(), new DaoProducer());
+        engineBuilder.addComponentClass(SharedCounter.class);
+        Engine engine = engineBuilder.getEngine();
+        Dao<SharedCounter> dao = engine.getDaoManager().classToDao(SharedCounter.class);
+        engine.getRootStore().getCounter().next(counters);
+        SharedCounter zero = new SharedCounter();
+        for (int row = 0; row < counters; row++) {
+            dao.save(zero, row);
+        }
+        executor = new EntityExecutor(engineBuilder, threads, chunkSize);
+        source = new ContendedSource();
+        increment = EntityProcessor.from((Entity entity) -> {
+            SharedCounter counter = entity.get(SharedCounter.class);
+            counter.setValue(counter.getValue() + 1);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void increment() {
+        executor.executeInParallel(source, increment);
+    }
+
+    /**
+     * Maps `contention` consecutive chunks onto the same range of counters.
+     */
+    private class ContendedSource implements RangedSource {
+        @Override
+        public int rangeSize() {
+            return counters * contention;
+        }
+
+        @Override
+        public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                int chunk = i / chunkSize;
+                consumer.accept(((chunk / contention) * chunkSize + i % chunkSize) % counters);
+            }
+        }
+    }
+}
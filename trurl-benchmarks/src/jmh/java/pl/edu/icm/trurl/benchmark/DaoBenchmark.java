@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.edu.icm.trurl.benchmark.domain.Activity;
+import pl.edu.icm.trurl.benchmark.domain.Person;
+import pl.edu.icm.trurl.ecs.dao.Dao;
+import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving all the rows of a store with a generated Dao.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DaoBenchmark {
+    @Param({"100000"})
+    int rows;
+
+    Dao<Person> dao;
+    Person person;
+
+    @Setup
+    public void setup() {
+        Store store = new Store(new BasicAttributeFactory(), rows);
+        dao = new DaoProducer().createDao(Person.class);
+        dao.configureAndAttach(store);
+        person = dao.create();
+        Activity[] activities = Activity.values();
+        for (int row = 0; row < rows; row++) {
+            person.setAge(row % 100);
+            person.setWealth(row * 0.5f);
+            person.setX(row);
+            person.setY(-row);
+            person.setInfected(row % 7 == 0);
+            person.setActivity(activities[row % activities.length]);
+            person.setName("person" + row);
+            dao.save(person, row);
+        }
+    }
+
+    @Benchmark
+    public void createAndLoad(Blackhole blackhole) {
+        for (int row = 0; row < rows; row++) {
+            blackhole.consume(dao.createAndLoad(row));
+        }
+    }
+
+    @Benchmark
+    public void loadIntoExisting(Blackhole blackhole) {
+        for (int row = 0; row < rows; row++) {
+            dao.load(null, person, row);
+            blackhole.consume(person.getAge());
+        }
+    }
+
+    @Benchmark
+    public Person save() {
+        for (int row = 0; row < rows; row++) {
+            dao.save(person, row);
+        }
+        return person;
+    }
+}
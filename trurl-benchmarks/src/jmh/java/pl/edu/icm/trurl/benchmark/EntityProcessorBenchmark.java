@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.edu.icm.trurl.ecs.EntityProcessor;
+import pl.edu.icm.trurl.ecs.Session;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch overhead of processor chains and branches, compared with the same logic called directly.
+ * Processors don't touch the session, so no entities are created.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityProcessorBenchmark {
+    @Param({"100000"})
+    int entities;
+
+    @Param({"1", "4", "16"})
+    int chainLength;
+
+    long accumulator;
+    EntityProcessor chain;
+    EntityProcessor branch;
+
+    @Setup
+    public void setup() {
+        chain = EntityProcessor.chain(createProcessors(chainLength)).reify();
+        branch = EntityProcessor.branch((session, id) -> (id & 1) == 0,
+                EntityProcessor.chain(createProcessors(chainLength)),
+                EntityProcessor.chain(createProcessors(chainLength))).reify();
+    }
+
+    private EntityProcessor[] createProcessors(int count) {
+        EntityProcessor[] processors = new EntityProcessor[count];
+        for (int i = 0; i < count; i++) {
+            int multiplier = i + 1;
+            processors[i] = EntityProcessor.from((Session session, int id) -> accumulator += (long) id * multiplier);
+        }
+        return processors;
+    }
+
+    @Benchmark
+    public long direct() {
+        for (int id = 0; id < entities; id++) {
+            for (int i = 0; i < chainLength; i++) {
+                accumulator += (long) id * (i + 1);
+            }
+        }
+        return accumulator;
+    }
+
+    @Benchmark
+    public long chain() {
+        for (int id = 0; id < entities; id++) {
+            chain.run(null, id);
+        }
+        return accumulator;
+    }
+
+    @Benchmark
+    public long branch() {
+        for (int id = 0; id < entities; id++) {
+            branch.run(null, id);
+        }
+        return accumulator;
+    }
+}
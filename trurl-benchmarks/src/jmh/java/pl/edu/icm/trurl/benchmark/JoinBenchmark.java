@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+import pl.edu.icm.trurl.store.join.Join;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Growing joins of all the rows of a fresh store from 1 to MAX_SIZE rows, doubling the size each time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JoinBenchmark {
+    private static final int MAX_SIZE = 16;
+
+    @Param({"10000"})
+    int rows;
+
+    Join ranged;
+    Join array;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        Store store = new Store(new BasicAttributeFactory(), rows);
+        store.addInt("value");
+        store.addJoin("ranged").rangeTyped(1, 0).addInt("value");
+        store.addJoin("array").arrayTyped(1, 0).addInt("value");
+        ranged = store.getJoin("ranged");
+        array = store.getJoin("array");
+        // a ranged join allocates a new block on every growth, 1 + 2 + ... + MAX_SIZE < 2 * MAX_SIZE
+        ranged.getTarget().ensureCapacity(rows * MAX_SIZE * 2);
+        array.getTarget().ensureCapacity(rows * MAX_SIZE);
+    }
+
+    @Benchmark
+    public Join rangedJoinGrow() {
+        return grow(ranged);
+    }
+
+    @Benchmark
+    public Join arrayJoinGrow() {
+        return grow(array);
+    }
+
+    private Join grow(Join join) {
+        for (int size = 1; size <= MAX_SIZE; size *= 2) {
+            for (int row = 0; row < rows; row++) {
+                join.setSize(row, size);
+            }
+        }
+        return join;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark;
+
+import net.snowyhollows.bento.BentoFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.edu.icm.trurl.benchmark.domain.Person;
+import pl.edu.icm.trurl.ecs.DaoManager;
+import pl.edu.icm.trurl.ecs.Engine;
+import pl.edu.icm.trurl.ecs.Session;
+import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.ecs.util.DynamicComponentAccessor;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identity map lookups: filling an empty session with entities ("cold")
+ * and looking up entities already present in the session ("hot").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionBenchmark {
+    @Param({"20000"})
+    int entities;
+
+    Session session;
+
+    @Setup
+    public void setup() {
+        DaoProducer daoProducer = new DaoProducer();
+        Map<Class<?>, BentoFactory<?>> factories = Map.of(Person.class, daoProducer.createDaoFactory(Person.class));
+        DaoManager daoManager = new DaoManager(new DynamicComponentAccessor(List.of(Person.class)), factories, daoProducer);
+        Engine engine = new Engine(entities, 0, daoManager, new BasicAttributeFactory(), entities);
+        session = engine.getSession();
+    }
+
+    @Benchmark
+    public void getEntityCold(Blackhole blackhole) {
+        session.clear();
+        for (int id = 0; id < entities; id++) {
+            blackhole.consume(session.getEntity(id));
+        }
+    }
+
+    @Benchmark
+    public void getEntityHot(Blackhole blackhole) {
+        for (int id = 0; id < entities; id++) {
+            blackhole.consume(session.getEntity(id));
+        }
+    }
+
+    @Benchmark
+    public void findEntityInSession(Blackhole blackhole) {
+        for (int id = 0; id < entities; id++) {
+            blackhole.consume(session.findEntityInSession(id));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.benchmark.domain;
+
+import pl.edu.icm.trurl.ecs.dao.annotation.NotMapped;
+import pl.edu.icm.trurl.ecs.dao.annotation.WithDao;
+import pl.edu.icm.trurl.ecs.dao.feature.ComponentWithConflictResolution;
+import pl.edu.icm.trurl.ecs.dao.feature.ComponentWithOriginalCopy;
+
+@WithDao
+public class SharedCounter implements ComponentWithOriginalCopy<SharedCounter>, ComponentWithConflictResolution<SharedCounter> {
+    private int value;
+    private @NotMapped int ownerId;
+    private SharedCounter originalCopy;
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public void setOriginalCopy(SharedCounter originalCopy) {
+        this.originalCopy = originalCopy;
+    }
+
+    @Override
+    public SharedCounter resolve(SharedCounter other) {
+        other.value = this.value - originalCopy.value + other.value;
+        return other;
+    }
+
+    @Override
+    public int getOwnerId() {
+        return ownerId;
+    }
+
+    @Override
+    public void setOwnerId(int ownerId) {
+        this.ownerId = ownerId;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.collection;
+
+import net.snowyhollows.bento.annotation.GwtIncompatible;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Back-off policy for threads waiting for a resource held by another thread, e.g. the optimistic,
+ * ownership-based locking used by the generated Daos of components with conflict resolution (in the parallel mode).
+ *
+ * <p>A row locked by another session is usually released after a single save, so the waiting thread
+ * spins for a while, then yields, and only then starts to park for increasingly long periods.
+ */
+public final class Backoff {
+    private static final int SPINS = 64;
+    private static final int YIELDS = 64;
+    private static final long MIN_PARK_NANOS = 1_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private Backoff() {
+    }
+
+    /**
+     * Waits before the next attempt of acquiring a row.
+     * @param attempt number of failed attempts so far (starting with 0)
+     */
+    public static void pause(int attempt) {
+        if (attempt < SPINS) {
+            return;
+        }
+        if (attempt < SPINS + YIELDS) {
+            idle(0L);
+        } else {
+            int shift = Math.min(attempt - SPINS - YIELDS, 10);
+            idle(Math.min(MIN_PARK_NANOS << shift, MAX_PARK_NANOS));
+        }
+    }
+
+    @GwtIncompatible
+    private static void idle(long parkNanos) {
+        if (parkNanos == 0) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(parkNanos);
+        }
+    }
+
+    private static void idle(Object parkNanos) {
+        // GWT is single-threaded, there is nobody to wait for
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.collection;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A thread-safe, growable set of bits.
+ *
+ * <p>
+ * The bits are kept in pages of atomic ints; pages are added (but never removed) when a bit past the end is set,
+ * so that growing never copies the bits themselves. Setting and clearing take no locks, apart from the (rare)
+ * moment of adding a page.
+ *
+ * <p>
+ * Reading a bit past the end returns false, and clearing it does nothing.
+ */
+public final class ConcurrentBitSet {
+    private static final int PAGE_SHIFT = 15;
+    private static final int PAGE_WORDS = 1 << (PAGE_SHIFT - 5);
+    private static final int WORD_MASK = PAGE_WORDS - 1;
+    private static final AtomicIntegerArray[] NO_PAGES = new AtomicIntegerArray[0];
+
+    private volatile AtomicIntegerArray[] pages = NO_PAGES;
+
+    public boolean get(int index) {
+        AtomicIntegerArray[] pages = this.pages;
+        int page = index >>> PAGE_SHIFT;
+        return page < pages.length && (pages[page].get((index >>> 5) & WORD_MASK) & (1 << index)) != 0;
+    }
+
+    public void set(int index) {
+        update(index, index + 1, true);
+    }
+
+    public void clear(int index) {
+        update(index, index + 1, false);
+    }
+
+    /**
+     * Sets the bits from fromIndex (inclusive) to toIndex (exclusive).
+     */
+    public void set(int fromIndex, int toIndex) {
+        update(fromIndex, toIndex, true);
+    }
+
+    /**
+     * Clears the bits from fromIndex (inclusive) to toIndex (exclusive).
+     */
+    public void clear(int fromIndex, int toIndex) {
+        update(fromIndex, toIndex, false);
+    }
+
+    /**
+     * @return the index of the first set bit at or after fromIndex, or -1 if there is none
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        AtomicIntegerArray[] pages = this.pages;
+        int page = fromIndex >>> PAGE_SHIFT;
+        if (page >= pages.length) {
+            return -1;
+        }
+        int word = (fromIndex >>> 5) & WORD_MASK;
+        int bits = pages[page].get(word) & (-1 << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                return (page << PAGE_SHIFT) + (word << 5) + Integer.numberOfTrailingZeros(bits);
+            }
+            if (++word == PAGE_WORDS) {
+                word = 0;
+                if (++page == pages.length) {
+                    return -1;
+                }
+            }
+            bits = pages[page].get(word);
+        }
+    }
+
+    /**
+     * @return the index of the first clear bit at or after fromIndex (the bits past the end are clear)
+     */
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        AtomicIntegerArray[] pages = this.pages;
+        int page = fromIndex >>> PAGE_SHIFT;
+        if (page >= pages.length) {
+            return fromIndex;
+        }
+        int word = (fromIndex >>> 5) & WORD_MASK;
+        int bits = ~pages[page].get(word) & (-1 << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                return (page << PAGE_SHIFT) + (word << 5) + Integer.numberOfTrailingZeros(bits);
+            }
+            if (++word == PAGE_WORDS) {
+                word = 0;
+                if (++page == pages.length) {
+                    return page << PAGE_SHIFT;
+                }
+            }
+            bits = ~pages[page].get(word);
+        }
+    }
+
+    private void update(int fromIndex, int toIndex, boolean value) {
+        while (fromIndex < toIndex) {
+            int page = fromIndex >>> PAGE_SHIFT;
+            AtomicIntegerArray words;
+            if (value) {
+                words = page(page);
+            } else {
+                AtomicIntegerArray[] pages = this.pages;
+                if (page >= pages.length) {
+                    return;
+                }
+                words = pages[page];
+            }
+            int wordEnd = (int) Math.min((fromIndex | 31) + 1L, toIndex);
+            int mask = (-1 >>> (32 - (wordEnd - fromIndex))) << fromIndex;
+            int word = (fromIndex >>> 5) & WORD_MASK;
+            int previous;
+            int next;
+            do {
+                previous = words.get(word);
+                next = value ? previous | mask : previous & ~mask;
+            } while (previous != next && !words.compareAndSet(word, previous, next));
+            fromIndex = wordEnd;
+        }
+    }
+
+    private AtomicIntegerArray page(int page) {
+        AtomicIntegerArray[] pages = this.pages;
+        if (page < pages.length) {
+            return pages[page];
+        }
+        synchronized (this) {
+            pages = this.pages;
+            if (page >= pages.length) {
+                AtomicIntegerArray[] copy = new AtomicIntegerArray[page + 1];
+                System.arraycopy(pages, 0, copy, 0, pages.length);
+                for (int i = pages.length; i < copy.length; i++) {
+                    copy[i] = new AtomicIntegerArray(PAGE_WORDS);
+                }
+                this.pages = copy;
+                pages = copy;
+            }
+            return pages[page];
+        }
+    }
+}
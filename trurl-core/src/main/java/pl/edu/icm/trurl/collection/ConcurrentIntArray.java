@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.collection;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A thread-safe, growable array of ints, all zero at first.
+ *
+ * <p>
+ * The values are kept in pages of atomic ints; pages are added (but never removed) when a value past the end is
+ * written, so that growing never copies the values themselves, and a compareAndSet racing with a write that grows
+ * the array is never lost. Writes take no locks, apart from the (rare) moment of adding a page.
+ *
+ * <p>
+ * Reading a value past the end returns 0.
+ */
+public final class ConcurrentIntArray {
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final AtomicIntegerArray[] NO_PAGES = new AtomicIntegerArray[0];
+
+    private volatile AtomicIntegerArray[] pages = NO_PAGES;
+
+    public ConcurrentIntArray() {
+    }
+
+    /**
+     * Creates the array with the pages for the given number of values already in place.
+     */
+    public ConcurrentIntArray(int initialCapacity) {
+        if (initialCapacity > 0) {
+            page((initialCapacity - 1) >>> PAGE_SHIFT);
+        }
+    }
+
+    public int get(int index) {
+        AtomicIntegerArray[] pages = this.pages;
+        int page = index >>> PAGE_SHIFT;
+        return page < pages.length ? pages[page].get(index & PAGE_MASK) : 0;
+    }
+
+    public void set(int index, int value) {
+        page(index >>> PAGE_SHIFT).set(index & PAGE_MASK, value);
+    }
+
+    public boolean compareAndSet(int index, int expect, int update) {
+        return page(index >>> PAGE_SHIFT).compareAndSet(index & PAGE_MASK, expect, update);
+    }
+
+    private AtomicIntegerArray page(int page) {
+        AtomicIntegerArray[] pages = this.pages;
+        if (page < pages.length) {
+            return pages[page];
+        }
+        synchronized (this) {
+            pages = this.pages;
+            if (page >= pages.length) {
+                AtomicIntegerArray[] copy = new AtomicIntegerArray[page + 1];
+                System.arraycopy(pages, 0, copy, 0, pages.length);
+                for (int i = pages.length; i < copy.length; i++) {
+                    copy[i] = new AtomicIntegerArray(PAGE_SIZE);
+                }
+                this.pages = copy;
+                pages = copy;
+            }
+            return pages[page];
+        }
+    }
+}
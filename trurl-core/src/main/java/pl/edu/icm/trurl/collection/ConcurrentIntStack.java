@@ -19,15 +19,22 @@
 package pl.edu.icm.trurl.collection;
 
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.IntUnaryOperator;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A concurrent stack of ints with a fixed capacity.
  *
  * <p>
- * The queue is a bit blocking (synchronized), it should be rewritten with spin locks,
- * but this (due to the ABA problem) will probably require changing the API, by including
- * the chunk id.
+ * The stack is lock-free and allocates nothing after construction. It is a Treiber stack over a fixed pool
+ * of nodes (kept in arrays): a push takes a node from the list of free nodes, writes the value into it and
+ * links it in as the new head, a shift unlinks the head and returns its node to the free list. Both lists are
+ * changed with a single CAS on their heads, which are tagged with a counter of modifications (in the upper
+ * 32 bits), so that a head popped and pushed back in the meantime (the ABA problem) fails the CAS.
+ * No thread ever waits for another one: a thread which loses a CAS retries only because some other thread
+ * has completed its operation.
+ *
+ * <p>
+ * Integer.MIN_VALUE itself cannot be pushed.
  *
  * <p>
  * If the capacity is reached:
@@ -35,50 +42,149 @@ import java.util.function.IntUnaryOperator;
  * <li> push will return false
  */
 public class ConcurrentIntStack {
-    private final int[] table;
-
-    private final AtomicInteger head = new AtomicInteger(0);
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int NIL = -1;
+    private final int[] values;
+    private final int[] next;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong free = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
 
     public ConcurrentIntStack(int size) {
-        this.table = new int[size];
+        this.values = new int[size];
+        this.next = new int[size];
+        clear();
+    }
+
+    public boolean push(int value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE cannot be pushed");
+        }
+        int node = popNodes(free, 1);
+        if (node == NIL) {
+            return false;
+        }
+        values[node] = value;
+        size.incrementAndGet();
+        pushNodes(head, node, node);
+        return true;
+    }
+
+    /**
+     * Pushes the values from start (inclusive) to start + length (exclusive), with a single
+     * move of the head; start + length - 1 will be shifted first.
+     *
+     * @return the number of values pushed, which is less than length if the capacity is reached
+     */
+    public int pushRange(int start, int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        if (start == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE cannot be pushed");
+        }
+        int first = popNodes(free, length);
+        if (first == NIL) {
+            return 0;
+        }
+        int pushed = 0;
+        int last = first;
+        for (int node = first; node != NIL; node = next[node]) {
+            pushed++;
+            last = node;
+        }
+        int value = start + pushed - 1;
+        for (int node = first; node != NIL; node = next[node]) {
+            values[node] = value--;
+        }
+        size.addAndGet(pushed);
+        pushNodes(head, first, last);
+        return pushed;
+    }
+
+    /**
+     * Returns the last pushed value from the stack, or Integer.MIN_VALUE if the stack is empty.
+     */
+    public int shift() {
+        int node = popNodes(head, 1);
+        if (node == NIL) {
+            return EMPTY;
+        }
+        int value = values[node];
+        size.decrementAndGet();
+        pushNodes(free, node, node);
+        return value;
+    }
+
+    /**
+     * Returns the number of values on the stack (only an estimate while other threads push or shift).
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Removes all the values. Must not be called concurrently with other operations.
+     */
+    public void clear() {
+        int capacity = next.length;
+        for (int i = 0; i < capacity; i++) {
+            next[i] = i + 1 < capacity ? i + 1 : NIL;
+        }
+        free.set(pack(tag(free.get()) + 1, capacity > 0 ? 0 : NIL));
+        head.set(pack(tag(head.get()) + 1, NIL));
+        size.set(0);
     }
 
-    public synchronized boolean push(int value) {
-        int oldHead = getAndUpdate(head -> {
-            if (head < table.length) {
-                table[head] = value;
-                return head + 1;
-            } else {
-                return head;
+    /**
+     * Unlinks up to max nodes from the top of the list, with a single CAS.
+     *
+     * @return the first of the unlinked nodes (which are now owned by the caller and linked with next, the last one
+     * pointing to NIL), or NIL if the list was empty
+     */
+    private int popNodes(AtomicLong list, int max) {
+        while (true) {
+            long top = list.get();
+            int first = index(top);
+            if (first == NIL) {
+                return NIL;
+            }
+            // the nodes may be taken by other threads while they are walked; then the tag of the list
+            // has changed and the CAS below fails
+            int last = first;
+            for (int i = 1; i < max && next[last] != NIL; i++) {
+                last = next[last];
+            }
+            int rest = next[last];
+            if (list.compareAndSet(top, pack(tag(top) + 1, rest))) {
+                next[last] = NIL;
+                return first;
             }
-        });
-        return oldHead < table.length;
+        }
     }
 
     /**
-     * Returns the lst pushed value from the stack, or Integer.MIN_VALUE if the stack is empty.
-     * @return
+     * Links the chain of nodes from first to last (owned by the caller) on top of the list.
      */
-    synchronized public int shift() {
-        AtomicInteger valueRef = new AtomicInteger(Integer.MIN_VALUE);
-        getAndUpdate(head -> {
-            if (head == 0) {
-                return head;
-            } else {
-                valueRef.set(table[head - 1]);
-                return head - 1;
+    private void pushNodes(AtomicLong list, int first, int last) {
+        while (true) {
+            long top = list.get();
+            next[last] = index(top);
+            if (list.compareAndSet(top, pack(tag(top) + 1, first))) {
+                return;
             }
-        });
-        return valueRef.get();
+        }
     }
 
-    private final int getAndUpdate(IntUnaryOperator updateFunction) {
-        int prev, next;
-        do {
-            prev = head.get();
-            next = updateFunction.applyAsInt(prev);
-        } while (!head.compareAndSet(prev, next));
-        return prev;
+    private static long pack(int tag, int index) {
+        return ((long) tag << 32) | (index & 0xffffffffL);
     }
 
+    private static int tag(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int index(long packed) {
+        return (int) packed;
+    }
 }
@@ -22,7 +22,7 @@ import pl.edu.icm.trurl.store.Store;
 import pl.edu.icm.trurl.store.attribute.IntAttribute;
 import java.util.function.IntConsumer;
 
-public class AttributeSource implements Source {
+public class AttributeSource implements RangedSource {
     private final Store substore;
     private final IntAttribute backreference;
 
@@ -32,15 +32,17 @@ public class AttributeSource implements Source {
     }
 
     @Override
-    public void forEach(IntConsumer consumer) {
-        int count = substore.getCounter().getCount();
-        for (int i = 0; i < count; i++) {
-            // TODO: remove this check
-            if (!substore.isEmpty(i)) {
-                int rootId = backreference.getInt(i);
-                if (rootId != IntAttribute.NULL) {
-                    consumer.accept(rootId);
-                }
+    public int rangeSize() {
+        return substore.getCounter().getCount();
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+        Counter counter = substore.getCounter();
+        for (int i = counter.nextUsed(fromIndex); i >= 0 && i < toIndex; i = counter.nextUsed(i + 1)) {
+            int rootId = backreference.getInt(i);
+            if (rootId != IntAttribute.NULL) {
+                consumer.accept(rootId);
             }
         }
     }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+/**
+ * Logic run over ranges of rows of a store, working on whole columns (see Columns) instead of single entities.
+ * <p>
+ * A simple kernel, e.g. adding one float column to another, becomes a plain loop over arrays, which the JIT
+ * can unroll and vectorize. The rows are processed regardless of their components; empty cells hold the
+ * guard values of their attributes (e.g. NaN for floats), so the kernel has to skip them or be immune to them.
+ * <p>
+ * Columnar processors write directly to the attributes: they bypass sessions (which should be flushed before)
+ * and the presence indexes of the Daos.
+ */
+@FunctionalInterface
+public interface ColumnarProcessor {
+    /**
+     * Processes the rows [fromRow, toRow); the columns are the views of that range.
+     */
+    void process(Columns columns, int fromRow, int toRow);
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+import pl.edu.icm.trurl.store.attribute.DoubleColumn;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatColumn;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.IntColumn;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives a ColumnarProcessor the views of its range of rows, and commits them when the range is done.
+ * <p>
+ * The views obtained with floats, doubles and ints may be written to; the range is then marked as changed
+ * (see ChangeTracker) when it is done. The views obtained with readFloats, readDoubles and readInts must only
+ * be read, so a pass that reads its columns only (e.g. statistics) leaves the change tracker alone.
+ */
+public final class Columns {
+    private final int fromRow;
+    private final int toRow;
+    private final List<FloatColumn> floatColumns = new ArrayList<>();
+    private final List<DoubleColumn> doubleColumns = new ArrayList<>();
+    private final List<IntColumn> intColumns = new ArrayList<>();
+    private boolean written;
+
+    Columns(int fromRow, int toRow) {
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+    }
+
+    public FloatColumn floats(FloatAttribute attribute) {
+        FloatColumn column = attribute.column(fromRow, toRow);
+        floatColumns.add(column);
+        written = true;
+        return column;
+    }
+
+    public DoubleColumn doubles(DoubleAttribute attribute) {
+        DoubleColumn column = attribute.column(fromRow, toRow);
+        doubleColumns.add(column);
+        written = true;
+        return column;
+    }
+
+    public IntColumn ints(IntAttribute attribute) {
+        IntColumn column = attribute.column(fromRow, toRow);
+        intColumns.add(column);
+        written = true;
+        return column;
+    }
+
+    public FloatColumn readFloats(FloatAttribute attribute) {
+        return attribute.column(fromRow, toRow);
+    }
+
+    public DoubleColumn readDoubles(DoubleAttribute attribute) {
+        return attribute.column(fromRow, toRow);
+    }
+
+    public IntColumn readInts(IntAttribute attribute) {
+        return attribute.column(fromRow, toRow);
+    }
+
+    /**
+     * @return true if any of the views may have been written to
+     */
+    boolean isWritten() {
+        return written;
+    }
+
+    void commit() {
+        for (FloatColumn column : floatColumns) {
+            column.commit();
+        }
+        for (DoubleColumn column : doubleColumns) {
+            column.commit();
+        }
+        for (IntColumn column : intColumns) {
+            column.commit();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+import pl.edu.icm.trurl.ecs.dao.Dao;
+import pl.edu.icm.trurl.store.PresenceIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Enumerates the entities which have all the given components.
+ * <p>
+ * The candidates are found by intersecting the presence indexes of the components' Daos (see PresenceIndex),
+ * so the entities lacking any of the components are skipped without being looked at; each candidate is then
+ * verified with Dao::isPresent. Components whose Daos keep no index are only verified, and if none of them
+ * keeps one, all the entities are checked.
+ */
+public class ComponentSource implements RangedSource {
+    private final Counter counter;
+    private final Dao<?>[] daos;
+    private final PresenceIndex[] indexes;
+
+    public ComponentSource(Engine engine, Class<?>... componentClasses) {
+        if (componentClasses.length == 0) {
+            throw new IllegalArgumentException("At least one component class is required");
+        }
+        this.counter = engine.getRootStore().getCounter();
+        this.daos = new Dao<?>[componentClasses.length];
+        List<PresenceIndex> indexes = new ArrayList<>();
+        for (int i = 0; i < componentClasses.length; i++) {
+            daos[i] = engine.getDaoManager().classToDao(componentClasses[i]);
+            PresenceIndex index = daos[i].getPresenceIndex();
+            if (index != null) {
+                indexes.add(index);
+            }
+        }
+        this.indexes = indexes.toArray(new PresenceIndex[0]);
+    }
+
+    @Override
+    public int rangeSize() {
+        return counter.getCount();
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+        for (int id = nextCandidate(fromIndex); id >= 0 && id < toIndex; id = nextCandidate(id + 1)) {
+            if (counter.isUsed(id) && isPresent(id)) {
+                consumer.accept(id);
+            }
+        }
+    }
+
+    private boolean isPresent(int id) {
+        for (Dao<?> dao : daos) {
+            if (!dao.isPresent(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Leapfrogs over the indexes until all of them agree on a row.
+     */
+    private int nextCandidate(int fromId) {
+        if (indexes.length == 0) {
+            return counter.nextUsed(fromId);
+        }
+        int id = fromId;
+        int agreeing = 0;
+        for (int i = 0; agreeing < indexes.length; i = (i + 1) % indexes.length) {
+            int found = indexes[i].nextMarked(id);
+            if (found < 0) {
+                return -1;
+            }
+            if (found == id) {
+                agreeing++;
+            } else {
+                id = found;
+                agreeing = 1;
+            }
+        }
+        return id;
+    }
+}
@@ -18,6 +18,7 @@
 
 package pl.edu.icm.trurl.ecs;
 
+import pl.edu.icm.trurl.collection.ConcurrentBitSet;
 import pl.edu.icm.trurl.collection.ConcurrentIntStack;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,43 +29,174 @@ import java.util.concurrent.atomic.AtomicInteger;
  * It is meant to use by Store, to handle assigning ids to new entities and
  * to recycle ids of deleted entities.
  * <p>
- * Counters are thread-safe.
+ * Freed ranges (e.g. the blocks of a RangedJoin) are kept in buckets by their exact length,
+ * up to MAX_RANGE; a request for a range takes a freed range of the same length, or splits
+ * the shortest longer one, before growing the counter. Single ids are taken from the free
+ * list first, and from the freed ranges next.
+ * <p>
+ * The ids currently in use are also marked in a bitset, so that they can be checked (isUsed) and
+ * iterated over (nextUsed) without looking at the data.
  * <p>
- * A future plans include addind a slab allocator, to help avoid fragmentation;
- * to measure performance of a bitmap-based allocator.
+ * Counters are thread-safe.
  * <p>
- * A short term plan is to publish the free list, so that clients can persist
- * it and reuse the counter after restart (a store, for example, should save the free list
- * as an attribute.)
+ * The freed ids can be listed with nextFree and freed again after a restart (see StoreIO, which
+ * saves them with the store).
  */
 final public class Counter {
+    public static final int MAX_RANGE = 128;
     private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger freeRanges = new AtomicInteger();
     private final ConcurrentIntStack freeStack;
+    private final int freeListSize;
+    private final ConcurrentBitSet used = new ConcurrentBitSet();
+    private volatile ConcurrentIntStack[] rangeStacks = new ConcurrentIntStack[MAX_RANGE + 1];
 
     public Counter(int freeListSize) {
+        this.freeListSize = freeListSize;
         this.freeStack = new ConcurrentIntStack(freeListSize);
     }
 
     public int next() {
-        int free = freeStack.shift();
-        return free == Integer.MIN_VALUE ? count.getAndIncrement() : free;
+        int id = nextUnused();
+        used.set(id);
+        return id;
     }
 
     public int next(int delta) {
-        return count.getAndAdd(delta);
+        int start = nextUnused(delta);
+        used.set(start, start + delta);
+        return start;
     }
 
     public int getCount() {
         return count.get();
     }
 
+    /**
+     * @return true if the id was given out by next and not freed since
+     */
+    public boolean isUsed(int id) {
+        return used.get(id);
+    }
+
+    /**
+     * @return the first used id at or after fromId, or -1 if there is none
+     */
+    public int nextUsed(int fromId) {
+        return used.nextSetBit(fromId);
+    }
+
+    /**
+     * @return the first id below getCount() at or after fromId which is not used, or -1 if there is none
+     */
+    public int nextFree(int fromId) {
+        int id = used.nextClearBit(fromId);
+        return id < count.get() ? id : -1;
+    }
+
     public void free(int id) {
+        used.clear(id);
         freeStack.push(id);
     }
 
     public void free(int id, int delta) {
-        for (int i = id; i < id + delta; i++) {
-            freeStack.push(i);
+        used.clear(id, id + delta);
+        release(id, delta);
+    }
+
+    /**
+     * Sets the number of used ids and forgets all the freed ones; used after the ids
+     * were compacted. Must not be called concurrently with other operations.
+     */
+    public void reset(int count) {
+        this.count.set(count);
+        used.set(0, count);
+        used.clear(count, Integer.MAX_VALUE);
+        freeStack.clear();
+        for (ConcurrentIntStack stack : rangeStacks) {
+            if (stack != null) {
+                stack.clear();
+            }
+        }
+        freeRanges.set(0);
+    }
+
+    private void release(int id, int delta) {
+        while (delta > MAX_RANGE) {
+            pushRange(id, MAX_RANGE);
+            id += MAX_RANGE;
+            delta -= MAX_RANGE;
+        }
+        if (delta == 1) {
+            freeStack.push(id);
+        } else if (delta > 1) {
+            pushRange(id, delta);
+        }
+    }
+
+    private int nextUnused() {
+        int free = freeStack.shift();
+        if (free != Integer.MIN_VALUE) {
+            return free;
+        }
+        if (freeRanges.get() > 0) {
+            for (int length = 2; length <= MAX_RANGE; length++) {
+                int start = shiftRange(length);
+                if (start != Integer.MIN_VALUE) {
+                    release(start, length - 1);
+                    return start + length - 1;
+                }
+            }
+        }
+        return count.getAndIncrement();
+    }
+
+    private int nextUnused(int delta) {
+        if (delta == 1) {
+            return nextUnused();
+        }
+        if (delta > 1 && delta <= MAX_RANGE && freeRanges.get() > 0) {
+            for (int length = delta; length <= MAX_RANGE; length++) {
+                int start = shiftRange(length);
+                if (start != Integer.MIN_VALUE) {
+                    release(start + delta, length - delta);
+                    return start;
+                }
+            }
+        }
+        return count.getAndAdd(delta);
+    }
+
+    private void pushRange(int start, int length) {
+        if (rangeStack(length).push(start)) {
+            freeRanges.incrementAndGet();
+        } else {
+            freeStack.pushRange(start, length);
+        }
+    }
+
+    private int shiftRange(int length) {
+        ConcurrentIntStack stack = rangeStacks[length];
+        int start = stack == null ? Integer.MIN_VALUE : stack.shift();
+        if (start != Integer.MIN_VALUE) {
+            freeRanges.decrementAndGet();
+        }
+        return start;
+    }
+
+    private ConcurrentIntStack rangeStack(int length) {
+        ConcurrentIntStack stack = rangeStacks[length];
+        if (stack == null) {
+            synchronized (this) {
+                stack = rangeStacks[length];
+                if (stack == null) {
+                    ConcurrentIntStack[] copy = rangeStacks.clone();
+                    stack = new ConcurrentIntStack(freeListSize / length + 1);
+                    copy[length] = stack;
+                    rangeStacks = copy;
+                }
+            }
         }
+        return stack;
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+import pl.edu.icm.trurl.store.join.DenseJoin;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Enumerates the entities joined with the packed rows of a DenseJoin. The rows in use are always
+ * [0, size()), so the iteration takes time proportional to the number of the joined rows.
+ * <p>
+ * Each slice is iterated within a pass of the join (see DenseJoin::beginPass), so the components removed
+ * in the meantime leave gaps, which are skipped, rather than moving the unvisited rows into the visited
+ * ones; the gaps are filled when the pass ends. A parallel iteration (see EntityExecutor::executeInParallel)
+ * keeps the pass open until all the slices are done, through the lifecycle events of the DenseDao.
+ */
+public class DenseSource implements RangedSource {
+    private final DenseJoin join;
+
+    public DenseSource(DenseJoin join) {
+        this.join = join;
+    }
+
+    @Override
+    public int rangeSize() {
+        return join.size();
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+        join.beginPass();
+        try {
+            for (int i = fromIndex; i < Math.min(toIndex, join.size()); i++) {
+                int row = join.getSourceRow(i);
+                if (row != Integer.MIN_VALUE) {
+                    consumer.accept(row);
+                }
+            }
+        } finally {
+            join.endPass();
+        }
+    }
+}
@@ -50,6 +50,13 @@ public final class Engine {
         return sessionFactory.createOrGet();
     }
 
+    /**
+     * Creates a new session, which (unlike the one returned by getSession) is not bound to the current thread.
+     */
+    public Session createSession() {
+        return sessionFactory.createNew();
+    }
+
     public Store getRootStore() {
         return rootStore;
     }
@@ -23,6 +23,7 @@ import net.snowyhollows.bento.annotation.ByName;
 import net.snowyhollows.bento.annotation.WithFactory;
 import pl.edu.icm.trurl.ecs.dao.Dao;
 import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.ecs.dao.DenseDao;
 import pl.edu.icm.trurl.ecs.dao.annotation.GwtIncompatible;
 import pl.edu.icm.trurl.store.attribute.AttributeFactory;
 
@@ -33,6 +34,7 @@ public class EngineBuilder {
     public static final String INITIAL_CAPACITY = "trurl.engine.initial-capacity";
     public static final String CAPACITY_HEADROOM = "trurl.engine.capacity-headroom";
     public static final String SESSION_CACHE_SIZE = "trurl.engine.session-cache-size";
+    public static final String DENSE_INITIAL_CAPACITY = "trurl.engine.dense-initial-capacity";
 
     private final int sessionCacheSize;
     private volatile Engine engine;
@@ -43,12 +45,14 @@ public class EngineBuilder {
     private final DaoProducer daoProducer;
     private final int initialCapacity;
     private final int capacityHeadroom;
+    private final int denseInitialCapacity;
 
     @WithFactory
     public EngineBuilder(ComponentAccessorCreator componentAccessorCreator,
                          @ByName(value = INITIAL_CAPACITY, fallbackValue = "200000") int initialCapacity,
                          @ByName(value = CAPACITY_HEADROOM, fallbackValue = "128") int capacityHeadroom,
                          @ByName(value = SESSION_CACHE_SIZE, fallbackValue = "20000") int sessionCacheSize,
+                         @ByName(value = DENSE_INITIAL_CAPACITY, fallbackValue = "1024") int denseInitialCapacity,
                          AttributeFactory attributeFactory,
                          DaoProducer daoProducer) {
         this.componentAccessorCreator = componentAccessorCreator;
@@ -56,6 +60,7 @@ public class EngineBuilder {
         this.capacityHeadroom = capacityHeadroom;
         this.attributeFactory = attributeFactory;
         this.sessionCacheSize = sessionCacheSize;
+        this.denseInitialCapacity = denseInitialCapacity;
         this.daoProducer = daoProducer;
     }
 
@@ -92,6 +97,31 @@ public class EngineBuilder {
         componentClasses.put(componentClass, factory);
     }
 
+    /**
+     * Adds components which will be stored densely (see DenseDao): the root store only maps entities
+     * to the rows of a separate substore, which grows with the number of components rather than
+     * with the number of entities. Meant for components present in a small part of the entities.
+     */
+    @GwtIncompatible
+    public void addDenseComponentClasses(Class<?>... componentClass) {
+        preconditionEngineNotCreated();
+        for (Class<?> aClass : componentClass) {
+            addDenseComponentClass(aClass);
+        }
+    }
+
+    @GwtIncompatible
+    public <T> void addDenseComponentClass(Class<T> componentClass) {
+        addDenseComponentWithDao(componentClass, daoProducer.createDaoFactory(componentClass));
+    }
+
+    public <T> void addDenseComponentWithDao(Class<T> componentClass, BentoFactory<? extends Dao<T>> factory) {
+        preconditionEngineNotCreated();
+        String name = componentClass.getSimpleName().toLowerCase(Locale.ROOT);
+        componentClasses.put(componentClass, (BentoFactory<Dao<T>>) bento ->
+                new DenseDao<>(daoProducer.createDao(factory, name), name, denseInitialCapacity));
+    }
+
     private DaoManager getDaoManager() {
         preconditionEngineNotCreated();
         ComponentAccessor componentAccessor = getComponentAccessor();
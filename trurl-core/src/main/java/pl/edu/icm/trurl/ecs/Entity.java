@@ -7,6 +7,7 @@ public final class Entity {
 
     private final Session session;
     private final int sessionIndex;
+    private boolean evicted;
 
     Entity(Session session, int sessionIndex) {
         this.session = session;
@@ -14,23 +15,34 @@ public final class Entity {
     }
 
     public int getId() {
-        return session == null ? sessionIndex : session.getId(sessionIndex);
+        return session == null ? sessionIndex : session.getId(getSessionIndex());
     }
 
     int getSessionIndex() {
+        if (evicted) {
+            throw new IllegalStateException("The entity was evicted from its session (or the session was cleared)");
+        }
         return sessionIndex;
     }
 
+    /**
+     * Called by the session when it drops the entity; the session index may then be given to another entity,
+     * so any later use of this object fails instead of reaching the other one.
+     */
+    void evict() {
+        evicted = true;
+    }
+
     public <T> T get(Class<T> componentClass) {
-        return session.get(componentClass, sessionIndex);
+        return session.get(componentClass, getSessionIndex());
     }
 
     public <T> T get(ComponentToken<T> token) {
-        return session.get(token, sessionIndex, false);
+        return session.get(token, getSessionIndex(), false);
     }
 
     public <T> T getOrCreate(Class<T> componentClass) {
-        return session.getOrCreate(componentClass, sessionIndex);
+        return session.getOrCreate(componentClass, getSessionIndex());
     }
 
     public <T> T getOrCreate(ComponentToken<T> componentClass) {
@@ -38,7 +50,7 @@ public final class Entity {
     }
 
     public <T> T add(T component) {
-        return session.add(component, sessionIndex);
+        return session.add(component, getSessionIndex());
     }
 
     public <T> T add(ComponentToken<T> token, T component) {
@@ -58,7 +70,7 @@ public final class Entity {
     }
 
     public void delete() {
-        session.deleteEntityBySessionIndex(sessionIndex);
+        session.deleteEntityBySessionIndex(getSessionIndex());
     }
 
     @Override
@@ -18,25 +18,279 @@
 
 package pl.edu.icm.trurl.ecs;
 
+import net.snowyhollows.bento.annotation.ByName;
 import net.snowyhollows.bento.annotation.WithFactory;
+import pl.edu.icm.trurl.ecs.dao.Dao;
+import pl.edu.icm.trurl.ecs.dao.LifecycleEvent;
+import pl.edu.icm.trurl.ecs.dao.annotation.GwtIncompatible;
+import pl.edu.icm.trurl.store.Store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 public class EntityExecutor {
+    public static final String PARALLELISM = "trurl.executor.parallelism";
+    public static final String CHUNK_SIZE = "trurl.executor.chunk-size";
+    public static final String BATCH_SIZE = "trurl.executor.batch-size";
+    @GwtIncompatible
+    private static final AtomicInteger lastOwnerId = new AtomicInteger();
+    @GwtIncompatible
+    private static final ThreadLocal<Integer> ownerIds = ThreadLocal.withInitial(lastOwnerId::incrementAndGet);
+
     private final EngineBuilder engineBuilder;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int batchSize;
+    @GwtIncompatible
+    private ExecutorService executorService;
+    @GwtIncompatible
+    private boolean ownsExecutorService;
 
-    @WithFactory
     public EntityExecutor(EngineBuilder engineBuilder) {
+        this(engineBuilder, 0, 4096, 0);
+    }
+
+    public EntityExecutor(EngineBuilder engineBuilder, int parallelism, int chunkSize) {
+        this(engineBuilder, parallelism, chunkSize, 0);
+    }
+
+    /**
+     * Creates an executor running the parallel methods on the given executor service, which is left to the caller
+     * to shut down.
+     */
+    @GwtIncompatible
+    public EntityExecutor(EngineBuilder engineBuilder, ExecutorService executorService, int chunkSize, int batchSize) {
+        this(engineBuilder, 0, chunkSize, batchSize);
+        this.executorService = executorService;
+    }
+
+    /**
+     * @param parallelism number of worker threads used by executeInParallel; 0 or less means "all available cores",
+     *                    in which case the common ForkJoinPool is used. Otherwise the executor creates a pool of its own
+     *                    the first time it is needed, which should be released with shutdown.
+     * @param chunkSize number of source indices processed by a single worker (with a single session) before flushing;
+     *                  each chunk should fit in the session cache (trurl.engine.session-cache-size),
+     *                  together with any other entities the processor touches, or the session will grow.
+     * @param batchSize if positive, the session is flushed and cleared whenever it holds that many entities,
+     *                  so that a pass over any number of entities runs with a bounded session (in executeInParallel,
+     *                  the session of each worker, within its chunk); 0 or less means that the session is only
+     *                  flushed at the end (of the chunk).
+     */
+    @WithFactory
+    public EntityExecutor(EngineBuilder engineBuilder,
+                          @ByName(value = PARALLELISM, fallbackValue = "0") int parallelism,
+                          @ByName(value = CHUNK_SIZE, fallbackValue = "4096") int chunkSize,
+                          @ByName(value = BATCH_SIZE, fallbackValue = "0") int batchSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive, got: " + chunkSize);
+        }
         this.engineBuilder = engineBuilder;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
     }
 
+    /**
+     * Runs the processor for all the entities of the source, with the session of the current thread.
+     * <p>
+     * In the batch mode (see the batchSize parameter) the session is flushed and cleared as soon as it
+     * fills up, so the processor must not keep Entity objects (or components) between entities.
+     */
     public void execute(Source source, EntityProcessor processor) {
         EntityProcessor reified = processor.reify();
         Session session = engineBuilder.getEngine().getSession();
         try {
             reified.onBegin(session);
-            source.forEach(id -> reified.run(session, id));
+            source.forEach(runner(session, reified));
             reified.onEnd(session);
         } finally {
             session.flush();
         }
     }
+
+    /**
+     * Splits the range of the source into chunks and executes them concurrently.
+     *
+     * <p>Every chunk gets its own reified copy of the processor (so onBegin / onEnd are called once per chunk)
+     * and is executed with the session of the worker thread, with an owner id unique to that thread.
+     * The session is flushed and cleared after each chunk, and in the batch mode also whenever it fills up.
+     * The chunks run by the calling thread itself (e.g. the common ForkJoinPool lets it help while it waits)
+     * get a separate session, so the session of the caller is left as it was.
+     *
+     * <p>Processors executed this way must not modify entities outside of their own chunk,
+     * unless the affected components support conflict resolution. All the Daos are switched
+     * to the parallel mode (PRE_PARALLEL_ITERATION) for the duration of the call, and back
+     * (POST_PARALLEL_ITERATION) afterwards, even if the execution fails.
+     * The method returns after all the chunks are done; the first failure is rethrown.
+     */
+    @GwtIncompatible
+    public void executeInParallel(RangedSource source, EntityProcessor processor) {
+        Engine engine = engineBuilder.getEngine();
+        int size = source.rangeSize();
+        Thread caller = Thread.currentThread();
+        Session[] callerChunkSession = new Session[1];
+        List<Callable<Void>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < size; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(size, from + chunkSize);
+            chunks.add(() -> {
+                Session session;
+                if (Thread.currentThread() == caller) {
+                    if (callerChunkSession[0] == null) {
+                        callerChunkSession[0] = engine.createSession();
+                    }
+                    session = callerChunkSession[0];
+                } else {
+                    session = engine.getSession();
+                }
+                executeChunk(session, source, processor, chunkFrom, chunkTo);
+                return null;
+            });
+        }
+        List<Dao<?>> daos = engine.getDaoManager().getAllDaos();
+        fireEvent(daos, LifecycleEvent.PRE_PARALLEL_ITERATION);
+        try {
+            invokeAll(chunks);
+        } finally {
+            fireEvent(daos, LifecycleEvent.POST_PARALLEL_ITERATION);
+        }
+    }
+
+    /**
+     * Runs the processor over all the rows of the store, one chunk at a time.
+     */
+    public void executeColumnar(Store store, ColumnarProcessor processor) {
+        int size = store.getCounter().getCount();
+        for (int from = 0; from < size; from += chunkSize) {
+            executeColumnarChunk(store, processor, from, Math.min(size, from + chunkSize));
+        }
+    }
+
+    /**
+     * Runs the processor over all the rows of the store, executing the chunks concurrently.
+     * The processor must only write to the rows of its own chunk.
+     */
+    @GwtIncompatible
+    public void executeColumnarInParallel(Store store, ColumnarProcessor processor) {
+        int size = store.getCounter().getCount();
+        List<Callable<Void>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < size; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(size, from + chunkSize);
+            chunks.add(() -> {
+                executeColumnarChunk(store, processor, chunkFrom, chunkTo);
+                return null;
+            });
+        }
+        invokeAll(chunks);
+    }
+
+    /**
+     * Shuts down the pool created by this executor, if any; a caller-supplied executor service and the common pool
+     * are left alone. A new pool is created if the executor is used again.
+     */
+    @GwtIncompatible
+    public synchronized void shutdown() {
+        if (ownsExecutorService) {
+            executorService.shutdown();
+            executorService = null;
+            ownsExecutorService = false;
+        }
+    }
+
+    private void executeColumnarChunk(Store store, ColumnarProcessor processor, int from, int to) {
+        Columns columns = new Columns(from, to);
+        processor.process(columns, from, to);
+        columns.commit();
+        if (columns.isWritten()) {
+            store.getChangeTracker().markRange(from, to);
+        }
+    }
+
+    private IntConsumer runner(Session session, EntityProcessor reified) {
+        if (batchSize <= 0) {
+            return id -> reified.run(session, id);
+        }
+        return id -> {
+            reified.run(session, id);
+            if (session.size() >= batchSize) {
+                session.flush();
+                session.clear();
+            }
+        };
+    }
+
+    @SuppressWarnings("deprecation")
+    private void fireEvent(List<Dao<?>> daos, LifecycleEvent event) {
+        for (Dao<?> dao : daos) {
+            dao.fireEvent(event);
+        }
+    }
+
+    @GwtIncompatible
+    private void executeChunk(Session session, RangedSource source, EntityProcessor processor, int from, int to) {
+        EntityProcessor reified = processor.reify();
+        session.clear();
+        session.setOwnerId(ownerIds.get());
+        try {
+            reified.onBegin(session);
+            source.forEach(from, to, runner(session, reified));
+            reified.onEnd(session);
+        } finally {
+            try {
+                session.flush();
+            } finally {
+                session.clear();
+            }
+        }
+    }
+
+    @GwtIncompatible
+    private void invokeAll(List<Callable<Void>> chunks) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Callable<Void>> tasks = new ArrayList<>(chunks.size());
+        for (Callable<Void> chunk : chunks) {
+            tasks.add(() -> {
+                try {
+                    chunk.call();
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+                return null;
+            });
+        }
+        try {
+            getExecutorService().invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel execution", e);
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @GwtIncompatible
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            if (parallelism > 0) {
+                executorService = new ForkJoinPool(parallelism);
+                ownsExecutorService = true;
+            } else {
+                executorService = ForkJoinPool.commonPool();
+            }
+        }
+        return executorService;
+    }
 }
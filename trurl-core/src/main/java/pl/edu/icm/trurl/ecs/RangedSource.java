@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A source whose entities can be enumerated in independent, contiguous slices of an
+ * underlying index range [0, rangeSize()).
+ *
+ * <p>The index range is not necessarily the range of entity ids: for example,
+ * an AttributeSource iterates over the rows of a substore and maps them to root ids.
+ * Slices do not overlap, so they can be processed concurrently.
+ */
+public interface RangedSource extends Source {
+
+    /**
+     * Exclusive upper bound of the index range.
+     */
+    int rangeSize();
+
+    /**
+     * Feeds the consumer with all the entity ids from the slice [fromIndex, toIndex).
+     */
+    void forEach(int fromIndex, int toIndex, IntConsumer consumer);
+
+    @Override
+    default void forEach(IntConsumer consumer) {
+        forEach(0, rangeSize(), consumer);
+    }
+}
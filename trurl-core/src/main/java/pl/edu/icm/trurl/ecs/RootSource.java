@@ -20,7 +20,7 @@ package pl.edu.icm.trurl.ecs;
 
 import java.util.function.IntConsumer;
 
-public class RootSource implements Source {
+public class RootSource implements RangedSource {
     private final Engine engine;
 
     public RootSource(Engine engine) {
@@ -28,9 +28,14 @@ public class RootSource implements Source {
     }
 
     @Override
-    public void forEach(IntConsumer consumer) {
-        int count = engine.getCount();
-        for (int i = 0; i < count; i++) {
+    public int rangeSize() {
+        return engine.getCount();
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+        Counter counter = engine.getRootStore().getCounter();
+        for (int i = counter.nextUsed(fromIndex); i >= 0 && i < toIndex; i = counter.nextUsed(i + 1)) {
             consumer.accept(i);
         }
     }
@@ -1,28 +1,43 @@
 package pl.edu.icm.trurl.ecs;
 
+import pl.edu.icm.trurl.collection.IntMap;
+import pl.edu.icm.trurl.ecs.dao.feature.ComponentWithDirtyMarker;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 
+/**
+ * Caches the entities (and their components) used by a single thread, and saves them back on flush.
+ * <p>
+ * Each entity occupies a slot of the session. The slots grow when needed; single entities can be flushed
+ * (flushEntity) or dropped from the cache (evictEntity), and the slots of the evicted entities are reused,
+ * so a long pass can keep the session small by flushing and evicting as it goes.
+ */
 final public class Session {
-    private final HashMap<Integer, Entity> idToEntity;
+    private static final int EVICTED = Integer.MIN_VALUE;
+    private final IntMap<Entity> idToEntity;
     private final DaoManager daoManager;
     private final Engine engine;
     private final Object[][] components;
-    private final Entity[] entities;
-    private final int[] ids;
+    private Entity[] entities;
+    private int[] ids;
+    private int[] freeSlots;
+    private int freeSlotCount;
     private int ownerId;
     private int counter;
     private ComponentToken<?>[] tokens;
 
     Session(Engine engine, int capacity) {
-        idToEntity = new HashMap<>(capacity);
+        idToEntity = new IntMap<>(capacity);
         this.daoManager = engine.getDaoManager();
         int componentCount = daoManager.componentCount();
         components = new Object[componentCount][capacity];
         tokens = Arrays.copyOf(daoManager.allTokens(), daoManager.allTokens().length);
         ids = new int[capacity];
         entities = new Entity[capacity];
+        freeSlots = new int[capacity];
         this.engine = engine;
         this.counter = 0;
     }
@@ -33,8 +48,21 @@ final public class Session {
         for (int i = 0; i < components.length; i++) {
             Arrays.fill(components[i], 0, counter, null);
         }
+        for (int i = 0; i < counter; i++) {
+            if (entities[i] != null) {
+                entities[i].evict();
+            }
+        }
         Arrays.fill(entities, 0, counter, null);
         counter = 0;
+        freeSlotCount = 0;
+    }
+
+    /**
+     * @return the number of entities in the session
+     */
+    public int size() {
+        return counter - freeSlotCount;
     }
 
     public <T> T getIfAvailable(int id, ComponentToken<T> token) {
@@ -63,49 +91,106 @@ final public class Session {
         clear();
     }
 
+    /**
+     * @return a copy of the entities in the session, not affected by the later changes of the session
+     */
     public Collection<Entity> findEntitiesInSession() {
-        return idToEntity.values();
+        List<Entity> found = new ArrayList<>(size());
+        for (int i = 0; i < counter; i++) {
+            if (entities[i] != null) {
+                found.add(entities[i]);
+            }
+        }
+        return found;
     }
 
     public Entity findEntityInSession(int id) {
         return idToEntity.get(id);
     }
 
+    /**
+     * Drops the entity and its components from the session, without saving them (a deletion which
+     * was not flushed is dropped as well). The entity object must not be used afterwards (its methods
+     * throw IllegalStateException); getEntity returns a new one for the same id.
+     */
     public void evictEntity(Entity entity) {
         internalEvictEntity(entity.getSessionIndex());
     }
 
+    /**
+     * Saves the components of the entity (of the default flush types), or frees its id if the entity
+     * was deleted; a deleted entity is also evicted.
+     */
     public void flushEntity(Entity entity) {
         internalFlushEntity(entity.getSessionIndex());
     }
 
     void internalFlushEntity(int sessionIndex) {
-        throw new UnsupportedOperationException("not yet");
+        int id = ids[sessionIndex];
+        if (id == EVICTED) {
+            return;
+        }
+        if (id < 0) {
+            engine.getRootStore().getCounter().free(~id);
+            internalEvictEntity(sessionIndex);
+            return;
+        }
+        for (ComponentToken<?> token : tokens) {
+            save(token, sessionIndex, id);
+        }
     }
 
     void internalEvictEntity(int sessionIndex) {
-        throw new UnsupportedOperationException("not yet");
+        int id = ids[sessionIndex];
+        if (id == EVICTED) {
+            return;
+        }
+        idToEntity.remove(id < 0 ? ~id : id);
+        for (Object[] componentsOfType : components) {
+            componentsOfType[sessionIndex] = null;
+        }
+        entities[sessionIndex].evict();
+        entities[sessionIndex] = null;
+        ids[sessionIndex] = EVICTED;
+        freeSlots[freeSlotCount++] = sessionIndex;
     }
 
+    /**
+     * Saves the components of the given types, and frees the ids of the deleted entities (which are
+     * evicted). Components implementing ComponentWithDirtyMarker are only saved if they are dirty,
+     * and are marked as clean afterwards.
+     */
     public void flush(ComponentToken<?>... tokens) {
         for (int i = 0; i < counter; i++) {
-            if (ids[i] < 0) {
+            if (ids[i] < 0 && ids[i] != EVICTED) {
                 engine.getRootStore().getCounter().free(~ids[i]);
+                internalEvictEntity(i);
             }
         }
-        for (ComponentToken token : tokens) {
+        for (ComponentToken<?> token : tokens) {
             for (int i = 0; i < counter; i++) {
                 int id = ids[i];
-                if (id < 0) {
-                    continue;
-                }
-                if (components[token.index][i] != null) {
-                    token.dao.save(this, components[token.index][i], id);
+                if (id >= 0) {
+                    save(token, i, id);
                 }
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void save(ComponentToken<?> token, int sessionIndex, int id) {
+        Object component = components[token.index][sessionIndex];
+        if (component instanceof ComponentWithDirtyMarker) {
+            ComponentWithDirtyMarker marked = (ComponentWithDirtyMarker) component;
+            if (marked.isDirty()) {
+                ((ComponentToken<Object>) token).dao.save(this, component, id);
+                marked.markAsClean();
+            }
+        } else if (component != null) {
+            ((ComponentToken<Object>) token).dao.save(this, component, id);
+        }
+    }
+
     <T> T get(Class<T> componentClass, int sessionIndex) {
         return get(daoManager.classToToken(componentClass), sessionIndex, false);
     }
@@ -160,7 +245,15 @@ final public class Session {
     }
 
     private Entity createEmptyEntity(int id) {
-        int newIndex = counter++;
+        int newIndex;
+        if (freeSlotCount > 0) {
+            newIndex = freeSlots[--freeSlotCount];
+        } else {
+            if (counter == ids.length) {
+                grow();
+            }
+            newIndex = counter++;
+        }
         ids[newIndex] = id;
         Entity entity = new Entity(this, newIndex);
         idToEntity.put(id, entity);
@@ -168,6 +261,16 @@ final public class Session {
         return entity;
     }
 
+    private void grow() {
+        int capacity = Math.max(16, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        entities = Arrays.copyOf(entities, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        for (int i = 0; i < components.length; i++) {
+            components[i] = Arrays.copyOf(components[i], capacity);
+        }
+    }
+
     public Entity createEntity(Object... components) {
         int id = engine.allocateNextId();
         Entity entity = createEmptyEntity(id);
@@ -33,7 +33,7 @@ final class SessionFactory {
         return sessions.get();
     }
 
-    private Session createNew() {
+    Session createNew() {
         Session session = new Session(engine, expectedEntityCount);
         return session;
     }
@@ -20,6 +20,7 @@ package pl.edu.icm.trurl.ecs.dao;
 
 import pl.edu.icm.trurl.ecs.Entity;
 import pl.edu.icm.trurl.ecs.Session;
+import pl.edu.icm.trurl.store.PresenceIndex;
 import pl.edu.icm.trurl.store.Store;
 import pl.edu.icm.trurl.store.StoreConfig;
 import pl.edu.icm.trurl.store.attribute.Attribute;
@@ -95,6 +96,15 @@ public interface Dao<T> {
      */
     boolean isPresent(int index);
 
+    /**
+     * Returns the index of the rows in which the component is present (see PresenceIndex), kept
+     * up to date by save and erase. Generated Daos register one in the attached store.
+     * @return the index, or null if the Dao does not keep one
+     */
+    default PresenceIndex getPresenceIndex() {
+        return null;
+    }
+
     /**
      * Erases all the data in the row. TODO: describe the responsibilities of clearing the substores.
      * @param index
@@ -139,6 +149,39 @@ public interface Dao<T> {
         return createAndLoad(null, row);
     }
 
+    /**
+     * Loads the components from many rows at once; rows[i] is loaded into into[i]. Instances already
+     * present in the array are reused (and their lists cleared), the missing ones are created.
+     *
+     * Generated Daos read the store attribute by attribute, instead of row by row.
+     * @param session - as in load
+     * @param rows - the rows to load
+     * @param into - the components to fill in, at least as long as rows
+     */
+    default void loadAll(Session session, int[] rows, T[] into) {
+        for (int i = 0; i < rows.length; i++) {
+            if (into[i] == null) {
+                into[i] = create();
+            }
+            load(session, into[i], rows[i]);
+        }
+    }
+
+    /**
+     * Loads the components from the rows fromRow, fromRow + 1, ... fromRow + into.length - 1,
+     * see loadAll.
+     * @param session
+     * @param fromRow
+     * @param into
+     */
+    default void loadRange(Session session, int fromRow, T[] into) {
+        int[] rows = new int[into.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = fromRow + i;
+        }
+        loadAll(session, rows, into);
+    }
+
     /**
      * This method will recursively save all the data of the given component to the given index.
      * If the Dao was attached to the root store, then the index is the entity identifier.
@@ -157,6 +200,36 @@ public interface Dao<T> {
         save(null, component, index);
     }
 
+    /**
+     * Saves many components at once; components[i] is saved to rows[i].
+     *
+     * Generated Daos write the store attribute by attribute, and resize the joins of all the rows
+     * in a single sweep before filling them in.
+     * @param owner - as in save
+     * @param components - the components to save, at least as long as rows
+     * @param rows - the rows to save to
+     */
+    default void saveAll(Session owner, T[] components, int[] rows) {
+        for (int i = 0; i < rows.length; i++) {
+            save(owner, components[i], rows[i]);
+        }
+    }
+
+    /**
+     * Saves the components to the rows fromRow, fromRow + 1, ... fromRow + components.length - 1,
+     * see saveAll.
+     * @param owner
+     * @param components
+     * @param fromRow
+     */
+    default void saveRange(Session owner, T[] components, int fromRow) {
+        int[] rows = new int[components.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = fromRow + i;
+        }
+        saveAll(owner, components, rows);
+    }
+
     /**
      * Returns a list of attributes used by this Dao.
      * @return
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs.dao;
+
+import pl.edu.icm.trurl.ecs.DenseSource;
+import pl.edu.icm.trurl.ecs.RangedSource;
+import pl.edu.icm.trurl.ecs.Session;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.StoreConfig;
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.join.DenseJoin;
+
+import java.util.List;
+
+/**
+ * Keeps the components of another Dao densely packed in a substore, instead of in the rows of the
+ * store it is attached to.
+ * <p>
+ * The attached store only gets a single int attribute (a DenseJoin), mapping the rows to the rows of
+ * the substore; the substore starts with the given capacity and grows with the number of components,
+ * so the memory used by a rarely used component scales with its usage rather than with the number of
+ * entities. The substore rows are allocated by save and freed by erase, which moves the last of them
+ * into the freed place, so that they stay packed. During a parallel iteration the freed rows are only
+ * packed at its end (see DenseJoin::beginPass).
+ *
+ * @param <T> The component class.
+ */
+public class DenseDao<T> implements Dao<T> {
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    private final Dao<T> dao;
+    private final String name;
+    private final int initialCapacity;
+    private Store store;
+    private DenseJoin join;
+
+    public DenseDao(Dao<T> dao, String name, int initialCapacity) {
+        this.dao = dao;
+        this.name = name;
+        this.initialCapacity = initialCapacity;
+    }
+
+    @Override
+    public String name() {
+        return dao.name();
+    }
+
+    @Override
+    public Store getStore() {
+        return store;
+    }
+
+    @Override
+    public void configureStore(StoreConfig metadata) {
+        Store target = metadata.addJoin(name).denseTyped(initialCapacity);
+        dao.configureStore(target);
+    }
+
+    @Override
+    public void attachStore(Store store) {
+        this.store = store;
+        this.join = store.getJoin(name);
+        dao.attachStore(join.getTarget());
+    }
+
+    @Override
+    public boolean isPresent(int row) {
+        return !join.isEmpty(row) && dao.isPresent(join.getRow(row, 0));
+    }
+
+    @Override
+    public void erase(int row) {
+        join.setSize(row, 0);
+    }
+
+    @Override
+    public T create() {
+        return dao.create();
+    }
+
+    @Override
+    public void load(Session session, T component, int row) {
+        dao.load(session, component, join.getRow(row, 0));
+    }
+
+    @Override
+    public void save(Session owner, T component, int row) {
+        if (join.isEmpty(row)) {
+            join.setSize(row, 1);
+        }
+        dao.save(owner, component, join.getRow(row, 0));
+    }
+
+    @Override
+    public List<Attribute> getAttributes() {
+        return dao.getAttributes();
+    }
+
+    @Override
+    public List<Dao> getChildDaos() {
+        return dao.getChildDaos();
+    }
+
+    @Override
+    public void stubEntities(T component) {
+        dao.stubEntities(component);
+    }
+
+    @Override
+    public void fireEvent(LifecycleEvent lifecycleEvent) {
+        if (lifecycleEvent == LifecycleEvent.PRE_PARALLEL_ITERATION) {
+            join.beginPass();
+        }
+        dao.fireEvent(lifecycleEvent);
+        if (lifecycleEvent == LifecycleEvent.POST_PARALLEL_ITERATION) {
+            join.endPass();
+        }
+    }
+
+    /**
+     * Returns the Dao working on the packed rows of the substore.
+     */
+    public Dao<T> getDenseDao() {
+        return dao;
+    }
+
+    public DenseJoin getJoin() {
+        return join;
+    }
+
+    /**
+     * Returns a source of the entities having the component, which iterates over the packed rows
+     * of the substore instead of over all the entities.
+     */
+    public RangedSource getSource() {
+        return new DenseSource(join);
+    }
+}
@@ -23,5 +23,10 @@ public @interface RootDao {
     boolean includeDense() default true;
 
     String name() default DEFAULT_NAME;
+    /**
+     * The dense join always keeps both mappings (it needs the reverse one to keep the rows packed), so
+     * NO_REVERSE_ATTRIBUTE and WITH_REVERSE_ATTRIBUTE give the same layout; ONLY_REVERSE_ATTRIBUTE is
+     * rejected by the annotation processor.
+     */
     ReverseReference reverseReference() default ReverseReference.NO_REVERSE_ATTRIBUTE;
 }
@@ -23,9 +23,9 @@ package pl.edu.icm.trurl.ecs.dao.feature;
  * merging itself with the conflicting version. There is an assumption here that the
  * resolve method is symmetrical, i.e. calling a.resolve(b) gives identical results to b.resolve(a).
  *
- * <p>Components with conflict resolution need to store the identifier of their owners, which can
- * be used to introduce determinism, like always keeping the version of the component with the
- * higher
+ * <p>Components with conflict resolution need to store the owner id given to them by the Dao: in the
+ * parallel mode it is the version of the row the component was loaded from, which every save
+ * bumps; a component saved over a row with a different version is in conflict.
  *
  * <p>Upon a conflict with another copy of the row, it can resolve the
  * conflict by inspecting the other copy and applying necessary changes
@@ -22,7 +22,13 @@ package pl.edu.icm.trurl.ecs.dao.feature;
  * `ComponentWithDirtyMarker` implements custom logic for checking whether it is "dirty"
  * (should be written back to the store) or not.
  *
- * <p>The methods of this interface will be called by the auto-generated Dao</p>
+ * <p>The auto-generated Dao marks the component as clean after loading it; Session.flush skips
+ * the components which are not dirty, and marks the saved ones as clean. A freshly created
+ * component should report itself as dirty, or it will never be saved.</p>
+ *
+ * <p>Components without the marker are always passed to the Dao; the generated Daos compare every
+ * single-valued column with the stored value and write only the ones which differ, so saving an
+ * unmodified component leaves the store (and its change tracker) untouched.</p>
  */
 public interface ComponentWithDirtyMarker {
     void markAsClean();
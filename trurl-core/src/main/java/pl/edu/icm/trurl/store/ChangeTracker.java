@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.store;
+
+import pl.edu.icm.trurl.collection.ConcurrentBitSet;
+
+/**
+ * Records which pages (fixed-size ranges of rows) of a store were written since the last reset, so that
+ * an incremental checkpoint (see StoreIO::writeCheckpoint) only has to save those.
+ * <p>
+ * The pages are marked by whoever writes the data: generated Daos (through their presence indexes),
+ * columnar processors run by the EntityExecutor, joins, and the store itself on erase, move and compaction.
+ * Data written directly to the attributes is not noticed; call mark(), markRange() or markAll() after
+ * such changes.
+ */
+public final class ChangeTracker {
+    public static final int PAGE_SHIFT = 10;
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private final ConcurrentBitSet pages = new ConcurrentBitSet();
+    private volatile boolean all;
+
+    public void mark(int row) {
+        int page = row >>> PAGE_SHIFT;
+        if (!pages.get(page)) {
+            pages.set(page);
+        }
+    }
+
+    public void markRange(int fromRow, int toRow) {
+        if (fromRow < toRow) {
+            pages.set(fromRow >>> PAGE_SHIFT, ((toRow - 1) >>> PAGE_SHIFT) + 1);
+        }
+    }
+
+    /**
+     * Marks all the rows, including the ones which are not allocated yet (e.g. after the rows were compacted).
+     */
+    public void markAll() {
+        all = true;
+    }
+
+    public boolean isChanged(int row) {
+        return all || pages.get(row >>> PAGE_SHIFT);
+    }
+
+    /**
+     * @return the first row at or after fromRow which lies in a changed page, or -1 if there is none
+     */
+    public int nextChanged(int fromRow) {
+        if (all) {
+            return fromRow;
+        }
+        int page = pages.nextSetBit(fromRow >>> PAGE_SHIFT);
+        return page < 0 ? -1 : Math.max(fromRow, page << PAGE_SHIFT);
+    }
+
+    public synchronized void reset() {
+        all = false;
+        pages.clear(0, Integer.MAX_VALUE);
+    }
+}
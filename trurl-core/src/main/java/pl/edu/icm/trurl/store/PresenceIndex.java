@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store;
+
+import pl.edu.icm.trurl.collection.ConcurrentBitSet;
+import pl.edu.icm.trurl.ecs.Counter;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A bitset of the rows of a store in which a component (or any other kind of data) is present.
+ * <p>
+ * The index is built lazily, by testing all the used rows with the given predicate (usually Dao::isPresent),
+ * the first time it is read. From then on it is kept up to date by whoever writes the data: generated Daos
+ * mark the rows they save and unmark the rows they erase, and the store unmarks erased rows. Data written
+ * directly to the attributes is not noticed; call invalidate() after such changes (compaction and
+ * Store::resync, called by StoreIO after reading a store, do it automatically) and the index will be
+ * rebuilt on the next read.
+ * <p>
+ * A marked row may turn out to be empty, e.g. if an empty component was saved to it; it is never the
+ * other way round, so the index can be used to skip rows, but the skipped ones should still be checked.
+ * <p>
+ * Since all the writes of the Daos go through it, the index also passes them on to the change tracker
+ * of the store (see ChangeTracker), whether it is built or not.
+ */
+public final class PresenceIndex {
+    private final Counter counter;
+    private final ChangeTracker changes;
+    private final IntPredicate isPresent;
+    private final ConcurrentBitSet present = new ConcurrentBitSet();
+    private volatile boolean tracking;
+    private volatile boolean built;
+
+    public PresenceIndex(Counter counter, IntPredicate isPresent) {
+        this(counter, new ChangeTracker(), isPresent);
+    }
+
+    public PresenceIndex(Counter counter, ChangeTracker changes, IntPredicate isPresent) {
+        this.counter = counter;
+        this.changes = changes;
+        this.isPresent = isPresent;
+    }
+
+    public void mark(int row) {
+        changes.mark(row);
+        if (tracking && !present.get(row)) {
+            present.set(row);
+        }
+    }
+
+    public void unmark(int row) {
+        changes.mark(row);
+        if (tracking && present.get(row)) {
+            present.clear(row);
+        }
+    }
+
+    /**
+     * Follows a row moved to another one (see Store::move).
+     */
+    public void move(int fromRow, int toRow) {
+        changes.mark(fromRow);
+        changes.mark(toRow);
+        if (tracking) {
+            if (present.get(fromRow)) {
+                present.clear(fromRow);
+                present.set(toRow);
+            } else {
+                present.clear(toRow);
+            }
+        }
+    }
+
+    public boolean isMarked(int row) {
+        ensureBuilt();
+        return present.get(row);
+    }
+
+    /**
+     * @return the first marked row at or after fromRow, or -1 if there is none
+     */
+    public int nextMarked(int fromRow) {
+        ensureBuilt();
+        return present.nextSetBit(fromRow);
+    }
+
+    public synchronized void invalidate() {
+        tracking = false;
+        built = false;
+        present.clear(0, Integer.MAX_VALUE);
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            build();
+        }
+    }
+
+    private synchronized void build() {
+        if (built) {
+            return;
+        }
+        tracking = true;
+        for (int row = counter.nextUsed(0); row >= 0; row = counter.nextUsed(row + 1)) {
+            if (isPresent.test(row)) {
+                present.set(row);
+            }
+        }
+        built = true;
+    }
+}
@@ -32,6 +32,7 @@ import pl.edu.icm.trurl.store.reference.SingleReference;
 import java.io.PrintWriter;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -61,6 +62,8 @@ public final class Store implements StoreConfig, StoreAccess {
     private final Map<String, Store> substores = new LinkedHashMap<>();
     private final Map<String, Join> joins = new LinkedHashMap<>();
     private final Map<String, Reference> references = new LinkedHashMap<>();
+    private final Map<String, PresenceIndex> presenceIndexes = new LinkedHashMap<>();
+    private final ChangeTracker changeTracker = new ChangeTracker();
 
     private int ensuredCapacity;
     private final Counter counter;
@@ -99,6 +102,26 @@ public final class Store implements StoreConfig, StoreAccess {
         for (Reference reference : references.values()) {
             reference.setSize(row, 0);
         }
+        for (PresenceIndex presenceIndex : presenceIndexes.values()) {
+            presenceIndex.unmark(row);
+        }
+        changeTracker.mark(row);
+    }
+
+    /**
+     * Moves the row to another row, which should be in use and empty; the former row is left empty (but still
+     * in use). The joined rows of the substores stay where they are, only the pointers to them are moved, so
+     * this is not supported for stores whose substores keep reverse attributes.
+     */
+    public void move(int fromRow, int toRow) {
+        for (Attribute attribute : allAttributes.values()) {
+            attribute.move(fromRow, toRow);
+        }
+        for (PresenceIndex presenceIndex : presenceIndexes.values()) {
+            presenceIndex.move(fromRow, toRow);
+        }
+        changeTracker.mark(fromRow);
+        changeTracker.mark(toRow);
     }
 
     @Override
@@ -117,14 +140,109 @@ public final class Store implements StoreConfig, StoreAccess {
         counter.free(row);
     }
 
+    /**
+     * Moves the live rows down, filling the gaps left by freed rows, and does the same for all the substores,
+     * rewriting joins and references accordingly. A row is live if it is not empty or holds a reference.
+     * <p>
+     * Only the top-level store can be compacted (the substores are compacted together with it); nothing may
+     * access the store in the meantime, and all sessions should be flushed and cleared before.
+     *
+     * @return mapping from the old rows (entity ids) to the new ones; removed rows are mapped to Integer.MIN_VALUE
+     */
+    public int[] compact() {
+        if (!name.isEmpty()) {
+            throw new IllegalStateException("Substore " + name + " can only be compacted together with the top-level store");
+        }
+        boolean[] live = new boolean[counter.getCount()];
+        for (int row = 0; row < live.length; row++) {
+            live[row] = !isEmpty(row) || hasReferences(row);
+        }
+        int[] mapping = compact(live);
+        remapReferences(mapping);
+        for (Store store : allDescendants()) {
+            store.remapReferences(mapping);
+        }
+        return mapping;
+    }
+
+    private int[] compact(boolean[] live) {
+        int[] mapping = new int[live.length];
+        int next = 0;
+        for (int row = 0; row < live.length; row++) {
+            if (live[row]) {
+                if (row != next) {
+                    for (Attribute attribute : allAttributes.values()) {
+                        attribute.move(row, next);
+                    }
+                }
+                mapping[row] = next++;
+            } else {
+                for (Attribute attribute : allAttributes.values()) {
+                    attribute.setEmpty(row);
+                }
+                mapping[row] = Integer.MIN_VALUE;
+            }
+        }
+        counter.reset(next);
+        for (PresenceIndex presenceIndex : presenceIndexes.values()) {
+            presenceIndex.invalidate();
+        }
+        changeTracker.markAll();
+        for (Join join : joins.values()) {
+            Store target = join.getTarget();
+            boolean[] targetLive = new boolean[target.getCounter().getCount()];
+            join.markTargetRows(mapping, targetLive);
+            join.remap(mapping, target.compact(targetLive));
+        }
+        return mapping;
+    }
+
+    /**
+     * Recomputes the state derived from the data of the store and its substores (presence indexes, see
+     * also Join::resync), after the attributes and the counters were written directly, e.g. read by StoreIO.
+     */
+    public void resync() {
+        for (PresenceIndex presenceIndex : presenceIndexes.values()) {
+            presenceIndex.invalidate();
+        }
+        for (Store substore : substores.values()) {
+            substore.resync();
+        }
+        for (Join join : joins.values()) {
+            join.resync();
+        }
+    }
+
+    private boolean hasReferences(int row) {
+        for (Reference reference : references.values()) {
+            if (!reference.isEmpty(row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remapReferences(int[] mapping) {
+        int count = counter.getCount();
+        for (Reference reference : references.values()) {
+            reference.remapIds(count, mapping);
+        }
+    }
+
     public void ensureCapacity(int capacity) {
         this.ensuredCapacity = capacity;
         allAttributes.values().forEach(a -> a.ensureCapacity(capacity));
     }
 
 
+    /**
+     * A row which is not in use (see Counter.isUsed) is empty; for the rest, the attributes and joins are checked.
+     */
     @Override
     public boolean isEmpty(int row) {
+        if (!counter.isUsed(row)) {
+            return true;
+        }
         for (Attribute attribute : dataAttributes) {
             if (!attribute.isEmpty(row)) {
                 return false;
@@ -158,6 +276,21 @@ public final class Store implements StoreConfig, StoreAccess {
         return counter;
     }
 
+    /**
+     * Returns the presence index registered under the given name (e.g. by a Dao attached to this store),
+     * creating it with the given predicate if there is none yet.
+     */
+    public synchronized PresenceIndex getPresenceIndex(String name, IntPredicate isPresent) {
+        return presenceIndexes.computeIfAbsent(name, key -> new PresenceIndex(counter, changeTracker, isPresent));
+    }
+
+    /**
+     * Returns the tracker of the rows changed since the last checkpoint (see ChangeTracker).
+     */
+    public ChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
     @Override
     public<T extends Reference> T getReference(String name) {
         return (T)references.get(name);
@@ -310,6 +443,13 @@ public final class Store implements StoreConfig, StoreAccess {
                 joins.put(name, join);
                 return getSubstore(name);
             }
+
+            @Override
+            public Store denseTyped(int initialCapacity) {
+                DenseJoin join = new DenseJoin(Store.this, name, initialCapacity);
+                joins.put(name, join);
+                return getSubstore(name);
+            }
         };
     }
 
@@ -327,9 +467,17 @@ public final class Store implements StoreConfig, StoreAccess {
     }
 
     public Store addSubstore(String namespace) {
+        return addSubstore(namespace, ensuredCapacity);
+    }
+
+    /**
+     * Adds a substore with its own initial capacity, instead of the capacity of this store.
+     */
+    public Store addSubstore(String namespace, int capacity) {
         String substoreNamespace = this.name.isEmpty() ? namespace : this.name + "." + namespace;
-        substores.put(namespace, new Store(attributeFactory, substoreNamespace, ensuredCapacity));
-        return substores.get(substoreNamespace);
+        Store substore = new Store(attributeFactory, substoreNamespace, capacity);
+        substores.put(namespace, substore);
+        return substore;
     }
 
     @Override
@@ -68,6 +68,12 @@ public interface StoreConfig {
         Store singleTypedWithReverse();
 
         Store singleTypedWithReverseOnly();
+
+        /**
+         * Like singleTypedWithReverse, but the target store starts with the given capacity and grows
+         * with the number of its rows in use (see DenseJoin).
+         */
+        Store denseTyped(int initialCapacity);
     }
 
     interface ReferenceConfig {
@@ -25,4 +25,24 @@ public interface Attribute {
     String name();
     String getString(int row);
     void setString(int row, String value);
+
+    /**
+     * Moves the value from one row to another, leaving the former empty.
+     */
+    default void move(int fromRow, int toRow) {
+        if (isEmpty(fromRow)) {
+            setEmpty(toRow);
+        } else {
+            copy(fromRow, toRow);
+            setEmpty(fromRow);
+        }
+    }
+
+    /**
+     * Copies a non-empty value from one row to another. The default implementation goes through
+     * strings; the attribute types with typed accessors override it to skip the conversion.
+     */
+    default void copy(int fromRow, int toRow) {
+        setString(toRow, getString(fromRow));
+    }
 }
@@ -22,9 +22,11 @@ import net.snowyhollows.bento.annotation.ImplementationSwitch;
 import net.snowyhollows.bento.category.Category;
 import net.snowyhollows.bento.category.CategoryManager;
 import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+import pl.edu.icm.trurl.store.segmented.SegmentedAttributeFactory;
 
 @ImplementationSwitch(configKey = "trurl.engine.attributeFactory", cases = {
-        @ImplementationSwitch.When(name = "basic", implementation = BasicAttributeFactory.class, useByDefault = true)
+        @ImplementationSwitch.When(name = "basic", implementation = BasicAttributeFactory.class, useByDefault = true),
+        @ImplementationSwitch.When(name = "segmented", implementation = SegmentedAttributeFactory.class)
 })
 public interface AttributeFactory {
     BooleanAttribute createBoolean(String name, int capacity);
@@ -21,4 +21,9 @@ package pl.edu.icm.trurl.store.attribute;
 public interface BooleanAttribute extends Attribute {
     boolean getBoolean(int row);
     void setBoolean(int row, boolean value);
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setBoolean(toRow, getBoolean(fromRow));
+    }
 }
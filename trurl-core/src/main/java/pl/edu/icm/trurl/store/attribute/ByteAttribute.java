@@ -23,4 +23,9 @@ public interface ByteAttribute extends Attribute {
 
     byte getByte(int row);
     void setByte(int row, byte value);
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setByte(toRow, getByte(fromRow));
+    }
 }
@@ -30,4 +30,9 @@ public interface CategoryAttribute<E extends Category> extends Attribute {
     void setOrdinal(int row, byte value);
 
     E[] values();
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setOrdinal(toRow, getOrdinal(fromRow));
+    }
 }
@@ -21,4 +21,16 @@ package pl.edu.icm.trurl.store.attribute;
 public interface DoubleAttribute extends Attribute {
     double getDouble(int row);
     void setDouble(int row, double value);
+
+    /**
+     * Returns a view of the rows [fromRow, toRow), for bulk processing; by default it works on a copy.
+     */
+    default DoubleColumn column(int fromRow, int toRow) {
+        return DoubleColumn.copyOf(this, fromRow, toRow);
+    }
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setDouble(toRow, getDouble(fromRow));
+    }
 }
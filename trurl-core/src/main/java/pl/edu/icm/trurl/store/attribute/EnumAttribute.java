@@ -26,4 +26,9 @@ public interface EnumAttribute<E extends Enum<E>> extends Attribute {
     byte getOrdinal(int row);
     void setOrdinal(int row, byte value);
     E[] values();
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setOrdinal(toRow, getOrdinal(fromRow));
+    }
 }
@@ -21,4 +21,16 @@ package pl.edu.icm.trurl.store.attribute;
 public interface FloatAttribute extends Attribute {
     float getFloat(int row);
     void setFloat(int row, float value);
+
+    /**
+     * Returns a view of the rows [fromRow, toRow), for bulk processing; by default it works on a copy.
+     */
+    default FloatColumn column(int fromRow, int toRow) {
+        return FloatColumn.copyOf(this, fromRow, toRow);
+    }
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setFloat(toRow, getFloat(fromRow));
+    }
 }
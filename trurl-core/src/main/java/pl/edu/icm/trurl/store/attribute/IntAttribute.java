@@ -23,4 +23,16 @@ public interface IntAttribute extends Attribute {
 
     int getInt(int row);
     void setInt(int row, int value);
+
+    /**
+     * Returns a view of the rows [fromRow, toRow), for bulk processing; by default it works on a copy.
+     */
+    default IntColumn column(int fromRow, int toRow) {
+        return IntColumn.copyOf(this, fromRow, toRow);
+    }
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setInt(toRow, getInt(fromRow));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.attribute;
+
+/**
+ * A view of a range of rows of a IntAttribute, for bulk processing (see ColumnarProcessor).
+ * <p>
+ * Rows are addressed with their store indices. Where the attribute keeps the rows of the range in a single
+ * array, the view reads and writes that array directly; otherwise it works on a copy, which commit()
+ * writes back. The array and the offset of the view (the row kept at index 0) are accessible, e.g. for
+ * hand-written SIMD code.
+ * <p>
+ * Empty cells are exposed as the attribute's guard values.
+ */
+public final class IntColumn {
+    private final int[] values;
+    private final int offset;
+    private final IntAttribute copied;
+    private final int fromRow;
+    private final int toRow;
+
+    private IntColumn(int[] values, int offset, IntAttribute copied, int fromRow, int toRow) {
+        this.values = values;
+        this.offset = offset;
+        this.copied = copied;
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+    }
+
+    /**
+     * Creates a view working directly on an array which keeps row offset + i at index i.
+     */
+    public static IntColumn wrap(int[] values, int offset) {
+        return new IntColumn(values, offset, null, offset, offset + values.length);
+    }
+
+    /**
+     * Creates a view working on a copy of the rows [fromRow, toRow) of the attribute.
+     */
+    public static IntColumn copyOf(IntAttribute attribute, int fromRow, int toRow) {
+        int[] values = new int[toRow - fromRow];
+        for (int row = fromRow; row < toRow; row++) {
+            values[row - fromRow] = attribute.getInt(row);
+        }
+        return new IntColumn(values, fromRow, attribute, fromRow, toRow);
+    }
+
+    public int get(int row) {
+        return values[row - offset];
+    }
+
+    public void set(int row, int value) {
+        values[row - offset] = value;
+    }
+
+    public int[] values() {
+        return values;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Writes the values back to the attribute, if the view works on a copy.
+     */
+    public void commit() {
+        if (copied != null) {
+            for (int row = fromRow; row < toRow; row++) {
+                copied.setInt(row, values[row - offset]);
+            }
+        }
+    }
+}
@@ -34,4 +34,9 @@ public interface IntListAttribute extends Attribute {
     int[] getInts(int row);
 
     boolean isEqual(int row, int size, IntSource ints);
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setInts(toRow, getInts(fromRow));
+    }
 }
@@ -21,4 +21,9 @@ package pl.edu.icm.trurl.store.attribute;
 public interface ObjectAttribute extends Attribute {
     <T> T getObject(int row);
     void setObject(int row, Object value);
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setObject(toRow, getObject(fromRow));
+    }
 }
@@ -23,4 +23,9 @@ public interface ShortAttribute extends Attribute {
 
     short getShort(int row);
     void setShort(int row, short value);
+
+    @Override
+    default void copy(int fromRow, int toRow) {
+        setShort(toRow, getShort(fromRow));
+    }
 }
@@ -19,6 +19,7 @@
 package pl.edu.icm.trurl.store.basic;
 
 import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+import pl.edu.icm.trurl.store.attribute.DoubleColumn;
 
 import java.util.Arrays;
 
@@ -80,6 +81,11 @@ final public class BasicDoubleAttribute implements DoubleAttribute {
     public void setDouble(int row, double value) {
         values[row] = value;
     }
+
+    @Override
+    public DoubleColumn column(int fromRow, int toRow) {
+        return DoubleColumn.wrap(values, 0);
+    }
     private static boolean isNullOrEmpty(String value) {
         return value == null || value.isEmpty();
     }
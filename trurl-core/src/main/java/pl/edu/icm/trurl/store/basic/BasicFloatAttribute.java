@@ -19,6 +19,7 @@
 package pl.edu.icm.trurl.store.basic;
 
 import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatColumn;
 
 import java.util.Arrays;
 
@@ -80,6 +81,11 @@ final public class BasicFloatAttribute implements FloatAttribute {
         values[row] = value;
     }
 
+    @Override
+    public FloatColumn column(int fromRow, int toRow) {
+        return FloatColumn.wrap(values, 0);
+    }
+
     private static boolean isNullOrEmpty(String value) {
         return value == null || value.isEmpty();
     }
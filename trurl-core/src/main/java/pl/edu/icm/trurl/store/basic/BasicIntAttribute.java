@@ -19,6 +19,7 @@
 package pl.edu.icm.trurl.store.basic;
 
 import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.IntColumn;
 
 import java.util.Arrays;
 
@@ -79,6 +80,11 @@ final public class BasicIntAttribute implements IntAttribute {
         values[row] = value;
     }
 
+    @Override
+    public IntColumn column(int fromRow, int toRow) {
+        return IntColumn.wrap(values, 0);
+    }
+
     private static boolean isNullOrEmpty(String value) {
         return value == null || value.isEmpty();
     }
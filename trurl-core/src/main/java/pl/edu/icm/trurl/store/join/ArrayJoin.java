@@ -129,5 +129,33 @@ public class ArrayJoin implements Join {
     public boolean isEmpty(int row) {
         return getRow(row, 0) == Integer.MIN_VALUE;
     }
+
+    @Override
+    public void markTargetRows(int[] sourceMapping, boolean[] live) {
+        for (int row : sourceMapping) {
+            if (row == Integer.MIN_VALUE) continue;
+            int[] array = values.getInts(row);
+            if (array == null) continue;
+            for (int targetRow : array) {
+                if (targetRow != Integer.MIN_VALUE) {
+                    live[targetRow] = true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remap(int[] sourceMapping, int[] targetMapping) {
+        for (int row : sourceMapping) {
+            if (row == Integer.MIN_VALUE) continue;
+            int[] array = values.getInts(row);
+            if (array == null) continue;
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] != Integer.MIN_VALUE) {
+                    array[i] = targetMapping[array[i]];
+                }
+            }
+        }
+    }
 }
 
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.join;
+
+import pl.edu.icm.trurl.ecs.Counter;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A single join (with the reverse attribute) which keeps its target store as a sparse set: the rows in use
+ * are always packed at [0, size()), and the target is sized by their number rather than by the size of
+ * the source store (it starts with a small capacity and grows as the rows are allocated).
+ * <p>
+ * The source store only pays for a single int per row (the index into the packed rows), and the reverse
+ * attribute of the target maps the packed rows back to the source. Removing a row moves the last packed row
+ * into its place (see Store::move), so iterating over the target never meets gaps. The join allocates the
+ * target rows itself: the rows past size() stay allocated (and empty) for reuse, instead of being returned
+ * to the counter of the target, so the target rows must only be allocated by the join.
+ * <p>
+ * While a pass over the packed rows is in progress (see beginPass), removing a row only leaves a gap (with an
+ * empty reverse attribute), and the gaps are filled when the last pass ends; this way the rows are neither
+ * skipped nor visited twice when components are removed during the iteration (e.g. by a session flushed in
+ * the batch mode, or by the other chunks of a parallel iteration).
+ * <p>
+ * Allocating and removing rows is synchronized, but removing moves another row, and growing the target may
+ * reallocate the attributes (e.g. the basic ones), so neither should race with the access to other rows of
+ * the target. In the parallel mode, rows should only be added with a sufficient initial capacity.
+ */
+public class DenseJoin implements Join {
+    private final IntAttribute rowAttribute;
+    private final IntAttribute reverseRowAttribute;
+    private final Store store;
+    private final Store target;
+    private volatile int size;
+    private int passes;
+    private int gaps;
+
+    public DenseJoin(Store store, String name, int initialCapacity) {
+        this.store = store;
+        store.addInt(name);
+        store.markAttributeAsMeta(name);
+        this.rowAttribute = store.get(name);
+        this.target = store.addSubstore(name, initialCapacity);
+        this.target.addInt("reverse");
+        this.target.markAttributeAsMeta("reverse");
+        this.reverseRowAttribute = target.get("reverse");
+    }
+
+    @Override
+    public int getRow(int row, int index) {
+        return rowAttribute.getInt(row);
+    }
+
+    /**
+     * Returns the row of the source store joined with the given row of the target.
+     */
+    public int getSourceRow(int targetRow) {
+        return reverseRowAttribute.getInt(targetRow);
+    }
+
+    /**
+     * Returns the number of the target rows in use, which are always [0, size()).
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void setSize(int row, int size) {
+        if (size == 0) {
+            if (!rowAttribute.isEmpty(row)) {
+                remove(row);
+            }
+        } else if (size == 1) {
+            if (rowAttribute.isEmpty(row)) {
+                add(row);
+            } else {
+                target.erase(rowAttribute.getInt(row));
+            }
+        } else {
+            throw new IllegalStateException("DenseJoin cannot have its size set to something different than 0 or 1");
+        }
+    }
+
+    /**
+     * Starts a pass over the packed rows: until the matching endPass, removed rows leave gaps instead of
+     * having the last row moved into their place. Passes can be nested and concurrent.
+     */
+    public synchronized void beginPass() {
+        passes++;
+    }
+
+    /**
+     * Ends a pass started with beginPass; the last one fills the gaps left by the removed rows.
+     */
+    public synchronized void endPass() {
+        if (passes == 0) {
+            throw new IllegalStateException("No pass over " + target.getName() + " in progress");
+        }
+        passes--;
+        if (passes == 0 && gaps > 0) {
+            fillGaps();
+        }
+    }
+
+    /**
+     * Recomputes size() from the target store: the rows in use are the leading rows of the target with
+     * the reverse attribute set.
+     */
+    @Override
+    public synchronized void resync() {
+        int count = target.getCounter().getCount();
+        int row = 0;
+        while (row < count && !reverseRowAttribute.isEmpty(row)) {
+            row++;
+        }
+        this.size = row;
+        this.gaps = 0;
+    }
+
+    private synchronized void add(int row) {
+        int targetRow = size;
+        Counter counter = target.getCounter();
+        if (targetRow == counter.getCount()) {
+            if (counter.next(1) != targetRow) {
+                throw new IllegalStateException("Rows of " + target.getName() + " were allocated outside of its join");
+            }
+            int capacity = target.getEnsuredCapacity();
+            if (targetRow >= capacity) {
+                target.ensureCapacity(Math.max(targetRow + 1, capacity + (capacity >> 1)));
+            }
+        }
+        rowAttribute.setInt(row, targetRow);
+        reverseRowAttribute.setInt(targetRow, row);
+        store.getChangeTracker().mark(row);
+        target.getChangeTracker().mark(targetRow);
+        this.size = targetRow + 1;
+    }
+
+    private synchronized void remove(int row) {
+        int targetRow = rowAttribute.getInt(row);
+        rowAttribute.setEmpty(row);
+        store.getChangeTracker().mark(row);
+        target.erase(targetRow);
+        reverseRowAttribute.setEmpty(targetRow);
+        if (passes > 0) {
+            gaps++;
+            return;
+        }
+        int last = size - 1;
+        if (targetRow != last) {
+            moveRow(last, targetRow);
+        }
+        this.size = last;
+    }
+
+    private void fillGaps() {
+        int newSize = size;
+        for (int targetRow = 0; gaps > 0 && targetRow < newSize; targetRow++) {
+            if (reverseRowAttribute.isEmpty(targetRow)) {
+                gaps--;
+                newSize--;
+                while (newSize > targetRow && reverseRowAttribute.isEmpty(newSize)) {
+                    gaps--;
+                    newSize--;
+                }
+                if (newSize > targetRow) {
+                    moveRow(newSize, targetRow);
+                }
+            }
+        }
+        this.size = newSize;
+    }
+
+    private void moveRow(int fromTargetRow, int toTargetRow) {
+        target.move(fromTargetRow, toTargetRow);
+        int movedRow = reverseRowAttribute.getInt(toTargetRow);
+        rowAttribute.setInt(movedRow, toTargetRow);
+        store.getChangeTracker().mark(movedRow);
+    }
+
+    @Override
+    public int getExactSize(int row) {
+        return rowAttribute.isEmpty(row) ? 0 : 1;
+    }
+
+    @Override
+    public Collection<? extends Attribute> attributes() {
+        return Collections.singletonList(rowAttribute);
+    }
+
+    @Override
+    public Store getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean isEmpty(int row) {
+        return rowAttribute.isEmpty(row);
+    }
+
+    @Override
+    public void markTargetRows(int[] sourceMapping, boolean[] live) {
+        for (int row : sourceMapping) {
+            if (row != Integer.MIN_VALUE && !rowAttribute.isEmpty(row)) {
+                live[rowAttribute.getInt(row)] = true;
+            }
+        }
+    }
+
+    @Override
+    public void remap(int[] sourceMapping, int[] targetMapping) {
+        for (int row : sourceMapping) {
+            if (row != Integer.MIN_VALUE && !rowAttribute.isEmpty(row)) {
+                int targetRow = rowAttribute.getInt(row);
+                rowAttribute.setInt(row, targetMapping[targetRow]);
+                reverseRowAttribute.setInt(targetMapping[targetRow], row);
+            }
+        }
+        size = target.getCounter().getCount();
+        gaps = 0;
+    }
+}
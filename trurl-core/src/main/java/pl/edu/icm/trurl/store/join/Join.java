@@ -77,4 +77,29 @@ public interface Join {
      * @return
      */
     boolean isEmpty(int row);
+
+    /**
+     * Marks the rows of the target store held by the source store (including the rows
+     * allocated, but not used yet), so that compacting the target store keeps them.
+     * The source store is already compacted.
+     *
+     * @param sourceMapping maps old rows of the source store to new ones (or to Integer.MIN_VALUE, if removed)
+     * @param live rows of the target store to keep
+     */
+    void markTargetRows(int[] sourceMapping, boolean[] live);
+
+    /**
+     * Rewrites the rows stored by the join, after both the source and the target store were compacted.
+     *
+     * @param sourceMapping maps old rows of the source store to new ones (or to Integer.MIN_VALUE, if removed)
+     * @param targetMapping maps old rows of the target store to new ones (or to Integer.MIN_VALUE, if removed)
+     */
+    void remap(int[] sourceMapping, int[] targetMapping);
+
+    /**
+     * Recomputes the state the join keeps besides its attributes, after the attributes and the counters
+     * of the source and the target store were written directly (e.g. read by StoreIO).
+     */
+    default void resync() {
+    }
 }
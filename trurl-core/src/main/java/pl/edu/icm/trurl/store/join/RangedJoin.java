@@ -121,4 +121,28 @@ public final class RangedJoin implements Join {
     public boolean isEmpty(int row) {
         return getRow(row, 0) == Integer.MIN_VALUE;
     }
+
+    @Override
+    public void markTargetRows(int[] sourceMapping, boolean[] live) {
+        for (int row : sourceMapping) {
+            if (row == Integer.MIN_VALUE) continue;
+            int start = this.start.getInt(row);
+            int length = this.length.getByte(row);
+            if (start != Integer.MIN_VALUE && length != Byte.MIN_VALUE) {
+                Arrays.fill(live, start, start + length, true);
+            }
+        }
+    }
+
+    @Override
+    public void remap(int[] sourceMapping, int[] targetMapping) {
+        // the whole block is kept, so it stays continuous
+        for (int row : sourceMapping) {
+            if (row == Integer.MIN_VALUE) continue;
+            int start = this.start.getInt(row);
+            if (start != Integer.MIN_VALUE) {
+                this.start.setInt(row, targetMapping[start]);
+            }
+        }
+    }
 }
@@ -86,4 +86,23 @@ public class SingleJoin implements Join {
     public boolean isEmpty(int row) {
         return rowAttribute.isEmpty(row);
     }
+
+    @Override
+    public void markTargetRows(int[] sourceMapping, boolean[] live) {
+        for (int row : sourceMapping) {
+            if (row != Integer.MIN_VALUE && !rowAttribute.isEmpty(row)) {
+                live[rowAttribute.getInt(row)] = true;
+            }
+        }
+    }
+
+    @Override
+    public void remap(int[] sourceMapping, int[] targetMapping) {
+        for (int row : sourceMapping) {
+            if (row != Integer.MIN_VALUE && !rowAttribute.isEmpty(row)) {
+                int targetRow = rowAttribute.getInt(row);
+                rowAttribute.setInt(row, targetMapping[targetRow]);
+            }
+        }
+    }
 }
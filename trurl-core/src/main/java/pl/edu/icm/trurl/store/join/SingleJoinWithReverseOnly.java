@@ -97,4 +97,24 @@ public class SingleJoinWithReverseOnly implements Join {
     public boolean isEmpty(int row) {
         return getRow(row, 0) == Integer.MIN_VALUE;
     }
+
+    @Override
+    public void markTargetRows(int[] sourceMapping, boolean[] live) {
+        for (int targetRow = 0; targetRow < live.length; targetRow++) {
+            int row = reverseRowAttribute.getInt(targetRow);
+            live[targetRow] = row >= 0 && row < sourceMapping.length && sourceMapping[row] != Integer.MIN_VALUE;
+        }
+    }
+
+    @Override
+    public void remap(int[] sourceMapping, int[] targetMapping) {
+        reverseMap.clear();
+        final int count = target.getCounter().getCount();
+        for (int targetRow = 0; targetRow < count; targetRow++) {
+            int row = reverseRowAttribute.getInt(targetRow);
+            if (row != Integer.MIN_VALUE) {
+                reverseRowAttribute.setInt(targetRow, sourceMapping[row]);
+            }
+        }
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+final class DirectSegmentFactory implements SegmentFactory {
+
+    @Override
+    public ByteBuffer create(int index, int bytes, SegmentInitializer initializer) {
+        ByteBuffer segment = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        initializer.clear(segment, 0);
+        return segment;
+    }
+}
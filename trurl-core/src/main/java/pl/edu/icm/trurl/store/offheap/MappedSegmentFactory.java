@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Maps consecutive regions of a single file. The file grows by whole segments; data already present
+ * in the file is kept, so a store can be reopened after a restart.
+ */
+final class MappedSegmentFactory implements SegmentFactory {
+    private final Path file;
+
+    MappedSegmentFactory(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public ByteBuffer create(int index, int bytes, SegmentInitializer initializer) {
+        long position = (long) index * bytes;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long existing = Math.max(0, Math.min(bytes, channel.size() - position));
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, position, bytes).order(ByteOrder.nativeOrder());
+            if (existing < bytes) {
+                initializer.clear(segment, (int) existing);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map segment " + index + " of " + file, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import pl.edu.icm.trurl.store.attribute.Attribute;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Base class for attributes kept outside of the heap, in fixed-size segments of rows.
+ *
+ * <p>Growing the attribute only allocates new segments; existing rows are never copied.
+ * The row is located by splitting its index into a segment index (the high bits) and an offset
+ * (the low bits), so the number of rows in a segment is always a power of two.
+ */
+abstract class OffHeapAttribute implements Attribute {
+    private final String name;
+    private final SegmentFactory segmentFactory;
+    private final int segmentBytes;
+    final int shift;
+    final int mask;
+    ByteBuffer[] segments = new ByteBuffer[0];
+
+    OffHeapAttribute(SegmentFactory segmentFactory, String name, int segmentShift, int widthShift) {
+        this.name = name;
+        this.segmentFactory = segmentFactory;
+        this.shift = segmentShift;
+        this.mask = (1 << segmentShift) - 1;
+        this.segmentBytes = 1 << (segmentShift + widthShift);
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        int count = (int) (((long) capacity + mask) >>> shift);
+        if (count > segments.length) {
+            ByteBuffer[] bigger = Arrays.copyOf(segments, count);
+            for (int i = segments.length; i < count; i++) {
+                bigger[i] = segmentFactory.create(i, segmentBytes, this::clear);
+            }
+            segments = bigger;
+        }
+    }
+
+    @Override
+    public boolean isEmpty(int row) {
+        return (row >>> shift) >= segments.length || isEmptyValue(row);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    abstract boolean isEmptyValue(int row);
+
+    /**
+     * Fills the segment with empty values, starting from the given byte.
+     */
+    abstract void clear(ByteBuffer segment, int fromByte);
+
+    static boolean isNullOrEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
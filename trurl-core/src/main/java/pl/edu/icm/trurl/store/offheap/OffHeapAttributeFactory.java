@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import net.snowyhollows.bento.annotation.ByName;
+import net.snowyhollows.bento.annotation.WithFactory;
+import net.snowyhollows.bento.category.Category;
+import net.snowyhollows.bento.category.CategoryManager;
+import pl.edu.icm.trurl.store.attribute.*;
+import pl.edu.icm.trurl.store.basic.BasicIntListAttribute;
+import pl.edu.icm.trurl.store.basic.BasicObjectAttribute;
+import pl.edu.icm.trurl.store.basic.BasicStringAttribute;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates attributes which keep their primitive values outside of the heap, in direct buffers
+ * or - if a directory is configured - in memory-mapped files (one file per attribute).
+ *
+ * <p>The columns grow by whole segments of trurl.store.off-heap.segment-rows rows (rounded up to a power
+ * of two) and are never copied. Strings, objects and int lists are kept on the heap, as in
+ * BasicAttributeFactory.
+ *
+ * <p>With memory-mapped files, the data survives the process, as long as the same store is configured in the
+ * same order and with the same segment size. Restoring the number of used rows (the store's Counter)
+ * is up to the caller. The factory is not part of the trurl.engine.attributeFactory switch (it is not available
+ * in GWT); register it in Bento in place of the default AttributeFactory.
+ */
+public final class OffHeapAttributeFactory implements AttributeFactory {
+    public static final String DIRECTORY = "trurl.store.off-heap.directory";
+    public static final String SEGMENT_ROWS = "trurl.store.off-heap.segment-rows";
+
+    private final Path directory;
+    private final int segmentShift;
+    private final SegmentFactory directSegmentFactory = new DirectSegmentFactory();
+    private final Map<String, Integer> fileNames = new HashMap<>();
+
+    @WithFactory
+    public OffHeapAttributeFactory(@ByName(value = DIRECTORY, fallbackValue = "") String directory,
+                                   @ByName(value = SEGMENT_ROWS, fallbackValue = "65536") int segmentRows) {
+        if (segmentRows <= 0 || segmentRows > (1 << 24)) {
+            throw new IllegalArgumentException("Segment rows must be between 1 and 2^24, got: " + segmentRows);
+        }
+        this.segmentShift = 32 - Integer.numberOfLeadingZeros(segmentRows - 1);
+        this.directory = directory.isEmpty() ? null : Paths.get(directory);
+        if (this.directory != null) {
+            try {
+                Files.createDirectories(this.directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public OffHeapAttributeFactory() {
+        this("", 65536);
+    }
+
+    @Override
+    public BooleanAttribute createBoolean(String name, int capacity) {
+        return new OffHeapBooleanAttribute(segmentsFor(name), name, segmentShift, capacity);
+    }
+
+    @Override
+    public ByteAttribute createByte(String name, int capacity) {
+        return new OffHeapByteAttribute(segmentsFor(name), name, segmentShift, capacity);
+    }
+
+    @Override
+    public DoubleAttribute createDouble(String name, int capacity) {
+        return new OffHeapDoubleAttribute(segmentsFor(name), name, segmentShift, capacity);
+    }
+
+    @Override
+    public <E extends Enum<E>> EnumAttribute<E> createEnum(String name, Class<E> enumType, int capacity) {
+        return new OffHeapEnumAttribute<>(segmentsFor(name), enumType, name, segmentShift, capacity);
+    }
+
+    @Override
+    public <E extends Category> CategoryAttribute<E> createCategory(String name, CategoryManager<E> enumType, int capacity) {
+        return new OffHeapCategoryAttribute<>(segmentsFor(name), enumType, name, segmentShift, capacity);
+    }
+
+    @Override
+    public FloatAttribute createFloat(String name, int capacity) {
+        return new OffHeapFloatAttribute(segmentsFor(name), name, segmentShift, capacity);
+    }
+
+    @Override
+    public IntAttribute createInt(String name, int capacity) {
+        return new OffHeapIntAttribute(segmentsFor(name), name, segmentShift, capacity);
+    }
+
+    @Override
+    public ObjectAttribute createObject(String name, int capacity) {
+        return new BasicObjectAttribute(name, capacity);
+    }
+
+    @Override
+    public ShortAttribute createShort(String name, int capacity) {
+        return new OffHeapShortAttribute(segmentsFor(name), name, segmentShift, capacity);
+    }
+
+    @Override
+    public StringAttribute createString(String name, int capacity) {
+        return new BasicStringAttribute(name, capacity);
+    }
+
+    @Override
+    public IntListAttribute createIntList(String name, int capacity) {
+        return new BasicIntListAttribute(name, capacity);
+    }
+
+    private synchronized SegmentFactory segmentsFor(String name) {
+        if (directory == null) {
+            return directSegmentFactory;
+        }
+        // attributes of different substores may share names; later ones get a numbered file
+        String base = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        int occurrence = fileNames.merge(base, 1, Integer::sum);
+        String fileName = occurrence == 1 ? base + ".col" : base + "." + occurrence + ".col";
+        return new MappedSegmentFactory(directory.resolve(fileName));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+
+import java.nio.ByteBuffer;
+
+final class OffHeapBooleanAttribute extends OffHeapAttribute implements BooleanAttribute {
+    private final static byte NULL = Byte.MIN_VALUE;
+
+    OffHeapBooleanAttribute(SegmentFactory segmentFactory, String name, int segmentShift, int capacity) {
+        super(segmentFactory, name, segmentShift, 0);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return raw(row) == NULL;
+    }
+
+    @Override
+    void clear(ByteBuffer segment, int fromByte) {
+        OffHeapByteAttribute.clearBytes(segment, fromByte);
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        segments[row >>> shift].put(row & mask, NULL);
+    }
+
+    @Override
+    public String getString(int row) {
+        switch (raw(row)) {
+            case 0:
+                return "false";
+            case 1:
+                return "true";
+            default:
+                return "";
+        }
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        switch (value == null ? "" : value) {
+            case "true":
+                setBoolean(row, true);
+                break;
+            case "false":
+                setBoolean(row, false);
+                break;
+            default:
+                setEmpty(row);
+                break;
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int row) {
+        return raw(row) == 1;
+    }
+
+    @Override
+    public void setBoolean(int row, boolean value) {
+        segments[row >>> shift].put(row & mask, (byte) (value ? 1 : 0));
+    }
+
+    private byte raw(int row) {
+        return segments[row >>> shift].get(row & mask);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import pl.edu.icm.trurl.store.attribute.ByteAttribute;
+
+import java.nio.ByteBuffer;
+
+final class OffHeapByteAttribute extends OffHeapAttribute implements ByteAttribute {
+
+    OffHeapByteAttribute(SegmentFactory segmentFactory, String name, int segmentShift, int capacity) {
+        super(segmentFactory, name, segmentShift, 0);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return getByte(row) == NULL;
+    }
+
+    @Override
+    void clear(ByteBuffer segment, int fromByte) {
+        clearBytes(segment, fromByte);
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        setByte(row, NULL);
+    }
+
+    @Override
+    public String getString(int row) {
+        return Byte.toString(getByte(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setByte(row, isNullOrEmpty(value) ? NULL : Byte.parseByte(value));
+    }
+
+    @Override
+    public byte getByte(int row) {
+        return segments[row >>> shift].get(row & mask);
+    }
+
+    @Override
+    public void setByte(int row, byte value) {
+        segments[row >>> shift].put(row & mask, value);
+    }
+
+    static void clearBytes(ByteBuffer segment, int fromByte) {
+        for (int i = fromByte; i < segment.capacity(); i++) {
+            segment.put(i, Byte.MIN_VALUE);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import net.snowyhollows.bento.category.Category;
+import net.snowyhollows.bento.category.CategoryManager;
+import pl.edu.icm.trurl.store.attribute.CategoryAttribute;
+
+import java.nio.ByteBuffer;
+
+final class OffHeapCategoryAttribute<T extends Category> extends OffHeapAttribute implements CategoryAttribute<T> {
+    private final CategoryManager<T> manager;
+    private final T[] instances;
+
+    OffHeapCategoryAttribute(SegmentFactory segmentFactory, CategoryManager<T> manager, String name, int segmentShift, int capacity) {
+        super(segmentFactory, name, segmentShift, 0);
+        this.manager = manager;
+        this.instances = manager.values().toArray(manager.emptyArray());
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return getOrdinal(row) == NULL_ORDINAL;
+    }
+
+    @Override
+    void clear(ByteBuffer segment, int fromByte) {
+        OffHeapByteAttribute.clearBytes(segment, fromByte);
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        setOrdinal(row, NULL_ORDINAL);
+    }
+
+    @Override
+    public String getString(int row) {
+        byte ordinal = getOrdinal(row);
+        return ordinal >= 0 ? instances[ordinal].name() : "";
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setOrdinal(row, isNullOrEmpty(value) ? NULL_ORDINAL : manager.getByName(value).ordinal());
+    }
+
+    @Override
+    public T getEnum(int row) {
+        byte ordinal = getOrdinal(row);
+        return ordinal == NULL_ORDINAL ? null : instances[ordinal];
+    }
+
+    @Override
+    public void setEnum(int row, T value) {
+        setOrdinal(row, value != null ? value.ordinal() : NULL_ORDINAL);
+    }
+
+    @Override
+    public byte getOrdinal(int row) {
+        return segments[row >>> shift].get(row & mask);
+    }
+
+    @Override
+    public void setOrdinal(int row, byte value) {
+        segments[row >>> shift].put(row & mask, value);
+    }
+
+    @Override
+    public T[] values() {
+        return instances;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+
+import java.nio.ByteBuffer;
+
+final class OffHeapDoubleAttribute extends OffHeapAttribute implements DoubleAttribute {
+    private final static double NULL = Double.NaN;
+
+    OffHeapDoubleAttribute(SegmentFactory segmentFactory, String name, int segmentShift, int capacity) {
+        super(segmentFactory, name, segmentShift, 3);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return Double.isNaN(getDouble(row));
+    }
+
+    @Override
+    void clear(ByteBuffer segment, int fromByte) {
+        for (int i = fromByte; i < segment.capacity(); i += Double.BYTES) {
+            segment.putDouble(i, NULL);
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        setDouble(row, NULL);
+    }
+
+    @Override
+    public String getString(int row) {
+        return Double.toString(getDouble(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setDouble(row, isNullOrEmpty(value) ? NULL : Double.parseDouble(value));
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return segments[row >>> shift].getDouble((row & mask) << 3);
+    }
+
+    @Override
+    public void setDouble(int row, double value) {
+        segments[row >>> shift].putDouble((row & mask) << 3, value);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+
+import java.nio.ByteBuffer;
+
+final class OffHeapIntAttribute extends OffHeapAttribute implements IntAttribute {
+
+    OffHeapIntAttribute(SegmentFactory segmentFactory, String name, int segmentShift, int capacity) {
+        super(segmentFactory, name, segmentShift, 2);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return getInt(row) == NULL;
+    }
+
+    @Override
+    void clear(ByteBuffer segment, int fromByte) {
+        for (int i = fromByte; i < segment.capacity(); i += Integer.BYTES) {
+            segment.putInt(i, NULL);
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        setInt(row, NULL);
+    }
+
+    @Override
+    public String getString(int row) {
+        return Integer.toString(getInt(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setInt(row, isNullOrEmpty(value) ? NULL : Integer.parseInt(value));
+    }
+
+    @Override
+    public int getInt(int row) {
+        return segments[row >>> shift].getInt((row & mask) << 2);
+    }
+
+    @Override
+    public void setInt(int row, int value) {
+        segments[row >>> shift].putInt((row & mask) << 2, value);
+    }
+}
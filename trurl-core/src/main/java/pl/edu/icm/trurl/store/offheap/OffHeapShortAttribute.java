@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import pl.edu.icm.trurl.store.attribute.ShortAttribute;
+
+import java.nio.ByteBuffer;
+
+final class OffHeapShortAttribute extends OffHeapAttribute implements ShortAttribute {
+
+    OffHeapShortAttribute(SegmentFactory segmentFactory, String name, int segmentShift, int capacity) {
+        super(segmentFactory, name, segmentShift, 1);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return getShort(row) == NULL;
+    }
+
+    @Override
+    void clear(ByteBuffer segment, int fromByte) {
+        for (int i = fromByte; i < segment.capacity(); i += Short.BYTES) {
+            segment.putShort(i, NULL);
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        setShort(row, NULL);
+    }
+
+    @Override
+    public String getString(int row) {
+        return Short.toString(getShort(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setShort(row, isNullOrEmpty(value) ? NULL : Short.parseShort(value));
+    }
+
+    @Override
+    public short getShort(int row) {
+        return segments[row >>> shift].getShort((row & mask) << 1);
+    }
+
+    @Override
+    public void setShort(int row, short value) {
+        segments[row >>> shift].putShort((row & mask) << 1, value);
+    }
+}
@@ -98,4 +98,21 @@ public final class ArrayReference implements Reference {
     public boolean isEmpty(int row) {
         return getId(row, 0) == Integer.MIN_VALUE;
     }
+
+    @Override
+    public void remapIds(int count, int[] mapping) {
+        for (int row = 0; row < count; row++) {
+            int[] array = values.getInts(row);
+            if (array == null) continue;
+            int size = 0;
+            for (int id : array) {
+                if (id == Integer.MIN_VALUE) break;
+                int newId = mapping[id];
+                if (newId != Integer.MIN_VALUE) {
+                    array[size++] = newId;
+                }
+            }
+            Arrays.fill(array, size, array.length, Integer.MIN_VALUE);
+        }
+    }
 }
@@ -72,4 +72,13 @@ public interface Reference {
      * @return
      */
     boolean isEmpty(int row);
+
+    /**
+     * Rewrites the identifiers after the top-level store was compacted;
+     * identifiers of removed entities are dropped.
+     *
+     * @param count number of rows of the store holding the reference
+     * @param mapping maps old identifiers to new ones (or to Integer.MIN_VALUE, if removed)
+     */
+    void remapIds(int count, int[] mapping);
 }
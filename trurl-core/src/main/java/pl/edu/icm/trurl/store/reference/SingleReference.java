@@ -68,4 +68,13 @@ public class SingleReference implements Reference {
     public boolean isEmpty(int row) {
         return getId(row, 0) == Integer.MIN_VALUE;
     }
+
+    @Override
+    public void remapIds(int count, int[] mapping) {
+        for (int row = 0; row < count; row++) {
+            if (!idAttribute.isEmpty(row)) {
+                idAttribute.setInt(row, mapping[idAttribute.getInt(row)]);
+            }
+        }
+    }
 }
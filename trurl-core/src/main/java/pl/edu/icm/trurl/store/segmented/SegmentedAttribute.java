@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.Attribute;
+
+/**
+ * Base class for attributes kept in fixed-size pages of rows.
+ *
+ * <p>Growing the attribute only allocates new pages; existing rows are never copied (only the small
+ * array of pages is). The row is located by splitting its index into a page index (the high bits)
+ * and an offset (the low bits), so the number of rows in a page is always a power of two.
+ */
+abstract class SegmentedAttribute implements Attribute {
+    private final String name;
+    final int shift;
+    final int mask;
+    int pages;
+
+    SegmentedAttribute(String name, int pageShift) {
+        this.name = name;
+        this.shift = pageShift;
+        this.mask = (1 << pageShift) - 1;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        int count = (int) (((long) capacity + mask) >>> shift);
+        if (count > pages) {
+            addPages(pages, count);
+            pages = count;
+        }
+    }
+
+    @Override
+    public boolean isEmpty(int row) {
+        return (row >>> shift) >= pages || isEmptyValue(row);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    abstract boolean isEmptyValue(int row);
+
+    /**
+     * Allocates pages from (inclusive) to (exclusive), filled with empty values.
+     */
+    abstract void addPages(int from, int to);
+
+    static boolean isNullOrEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import net.snowyhollows.bento.annotation.ByName;
+import net.snowyhollows.bento.annotation.WithFactory;
+import net.snowyhollows.bento.category.Category;
+import net.snowyhollows.bento.category.CategoryManager;
+import pl.edu.icm.trurl.store.attribute.*;
+
+/**
+ * Creates attributes which keep their values in pages of trurl.store.segmented.page-rows rows (rounded up
+ * to a power of two).
+ *
+ * <p>Unlike BasicAttributeFactory, growing a column allocates new pages and never copies the existing
+ * rows, so running out of headroom costs time proportional to the growth, not to the size of the store.
+ * The price is an additional indirection on every access.
+ */
+public final class SegmentedAttributeFactory implements AttributeFactory {
+    public static final String PAGE_ROWS = "trurl.store.segmented.page-rows";
+
+    private final int pageShift;
+
+    @WithFactory
+    public SegmentedAttributeFactory(@ByName(value = PAGE_ROWS, fallbackValue = "16384") int pageRows) {
+        if (pageRows <= 0 || pageRows > (1 << 24)) {
+            throw new IllegalArgumentException("Page rows must be between 1 and 2^24, got: " + pageRows);
+        }
+        this.pageShift = 32 - Integer.numberOfLeadingZeros(pageRows - 1);
+    }
+
+    public SegmentedAttributeFactory() {
+        this(16384);
+    }
+
+    @Override
+    public BooleanAttribute createBoolean(String name, int capacity) {
+        return new SegmentedBooleanAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public ByteAttribute createByte(String name, int capacity) {
+        return new SegmentedByteAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public DoubleAttribute createDouble(String name, int capacity) {
+        return new SegmentedDoubleAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public <E extends Enum<E>> EnumAttribute<E> createEnum(String name, Class<E> enumType, int capacity) {
+        return new SegmentedEnumAttribute<>(enumType, name, pageShift, capacity);
+    }
+
+    @Override
+    public <E extends Category> CategoryAttribute<E> createCategory(String name, CategoryManager<E> enumType, int capacity) {
+        return new SegmentedCategoryAttribute<>(enumType, name, pageShift, capacity);
+    }
+
+    @Override
+    public FloatAttribute createFloat(String name, int capacity) {
+        return new SegmentedFloatAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public IntAttribute createInt(String name, int capacity) {
+        return new SegmentedIntAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public ObjectAttribute createObject(String name, int capacity) {
+        return new SegmentedObjectAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public ShortAttribute createShort(String name, int capacity) {
+        return new SegmentedShortAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public StringAttribute createString(String name, int capacity) {
+        return new SegmentedStringAttribute(name, pageShift, capacity);
+    }
+
+    @Override
+    public IntListAttribute createIntList(String name, int capacity) {
+        return new SegmentedIntListAttribute(name, pageShift, capacity);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedBooleanAttribute extends SegmentedAttribute implements BooleanAttribute {
+    private final static byte NULL = Byte.MIN_VALUE;
+    private byte[][] values = new byte[0][];
+
+    SegmentedBooleanAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == NULL;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            byte[] page = new byte[mask + 1];
+            Arrays.fill(page, NULL);
+            values[i] = page;
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = NULL;
+    }
+
+    @Override
+    public String getString(int row) {
+        switch (values[row >>> shift][row & mask]) {
+            case 0:
+                return "false";
+            case 1:
+                return "true";
+            default:
+                return "";
+        }
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        switch (value == null ? "" : value) {
+            case "true":
+                values[row >>> shift][row & mask] = 1;
+                break;
+            case "false":
+                values[row >>> shift][row & mask] = 0;
+                break;
+            default:
+                values[row >>> shift][row & mask] = NULL;
+                break;
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int row) {
+        return values[row >>> shift][row & mask] == 1;
+    }
+
+    @Override
+    public void setBoolean(int row, boolean value) {
+        values[row >>> shift][row & mask] = (byte) (value ? 1 : 0);
+    }
+}
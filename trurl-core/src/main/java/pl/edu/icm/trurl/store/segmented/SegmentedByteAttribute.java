@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.ByteAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedByteAttribute extends SegmentedAttribute implements ByteAttribute {
+    private final static byte NULL = Byte.MIN_VALUE;
+    private byte[][] values = new byte[0][];
+
+    SegmentedByteAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == NULL;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            byte[] page = new byte[mask + 1];
+            Arrays.fill(page, NULL);
+            values[i] = page;
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = NULL;
+    }
+
+    @Override
+    public String getString(int row) {
+        return Byte.toString(getByte(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setByte(row, isNullOrEmpty(value) ? NULL : Byte.parseByte(value));
+    }
+
+    @Override
+    public byte getByte(int row) {
+        return values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setByte(int row, byte value) {
+        values[row >>> shift][row & mask] = value;
+    }
+}
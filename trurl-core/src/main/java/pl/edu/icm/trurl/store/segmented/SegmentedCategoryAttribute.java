@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import net.snowyhollows.bento.category.Category;
+import net.snowyhollows.bento.category.CategoryManager;
+import pl.edu.icm.trurl.store.attribute.CategoryAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedCategoryAttribute<T extends Category> extends SegmentedAttribute implements CategoryAttribute<T> {
+    private final CategoryManager<T> manager;
+    private final T[] instances;
+    private byte[][] values = new byte[0][];
+
+    SegmentedCategoryAttribute(CategoryManager<T> manager, String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        this.manager = manager;
+        this.instances = manager.values().toArray(manager.emptyArray());
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == NULL_ORDINAL;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            byte[] page = new byte[mask + 1];
+            Arrays.fill(page, NULL_ORDINAL);
+            values[i] = page;
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = NULL_ORDINAL;
+    }
+
+    @Override
+    public String getString(int row) {
+        byte ordinal = getOrdinal(row);
+        return ordinal >= 0 ? instances[ordinal].name() : "";
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setOrdinal(row, isNullOrEmpty(value) ? NULL_ORDINAL : manager.getByName(value).ordinal());
+    }
+
+    @Override
+    public T getEnum(int row) {
+        byte ordinal = getOrdinal(row);
+        return ordinal == NULL_ORDINAL ? null : instances[ordinal];
+    }
+
+    @Override
+    public void setEnum(int row, T value) {
+        setOrdinal(row, value != null ? value.ordinal() : NULL_ORDINAL);
+    }
+
+    @Override
+    public byte getOrdinal(int row) {
+        return values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setOrdinal(int row, byte value) {
+        values[row >>> shift][row & mask] = value;
+    }
+
+    @Override
+    public T[] values() {
+        return instances;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatColumn;
+
+import java.util.Arrays;
+
+final class SegmentedFloatAttribute extends SegmentedAttribute implements FloatAttribute {
+    private final static float NULL = Float.NaN;
+    private float[][] values = new float[0][];
+
+    SegmentedFloatAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return Float.isNaN(values[row >>> shift][row & mask]);
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            float[] page = new float[mask + 1];
+            Arrays.fill(page, NULL);
+            values[i] = page;
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = NULL;
+    }
+
+    @Override
+    public String getString(int row) {
+        return Float.toString(getFloat(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setFloat(row, isNullOrEmpty(value) ? NULL : Float.parseFloat(value));
+    }
+
+    @Override
+    public float getFloat(int row) {
+        return values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setFloat(int row, float value) {
+        values[row >>> shift][row & mask] = value;
+    }
+
+    /**
+     * Works directly on the page if the range does not cross page boundaries.
+     */
+    @Override
+    public FloatColumn column(int fromRow, int toRow) {
+        int page = fromRow >>> shift;
+        if (toRow > fromRow && page == (toRow - 1) >>> shift && page < pages) {
+            return FloatColumn.wrap(values[page], page << shift);
+        }
+        return FloatColumn.copyOf(this, fromRow, toRow);
+    }
+}
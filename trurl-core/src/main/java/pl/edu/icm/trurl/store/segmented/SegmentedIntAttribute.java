@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.IntColumn;
+
+import java.util.Arrays;
+
+final class SegmentedIntAttribute extends SegmentedAttribute implements IntAttribute {
+    private final static int NULL = Integer.MIN_VALUE;
+    private int[][] values = new int[0][];
+
+    SegmentedIntAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == NULL;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            int[] page = new int[mask + 1];
+            Arrays.fill(page, NULL);
+            values[i] = page;
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = NULL;
+    }
+
+    @Override
+    public String getString(int row) {
+        return Integer.toString(getInt(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setInt(row, isNullOrEmpty(value) ? NULL : Integer.parseInt(value));
+    }
+
+    @Override
+    public int getInt(int row) {
+        return values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setInt(int row, int value) {
+        values[row >>> shift][row & mask] = value;
+    }
+
+    /**
+     * Works directly on the page if the range does not cross page boundaries.
+     */
+    @Override
+    public IntColumn column(int fromRow, int toRow) {
+        int page = fromRow >>> shift;
+        if (toRow > fromRow && page == (toRow - 1) >>> shift && page < pages) {
+            return IntColumn.wrap(values[page], page << shift);
+        }
+        return IntColumn.copyOf(this, fromRow, toRow);
+    }
+}
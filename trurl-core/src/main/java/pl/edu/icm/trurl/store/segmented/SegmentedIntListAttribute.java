@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.ecs.Entity;
+import pl.edu.icm.trurl.store.IntSink;
+import pl.edu.icm.trurl.store.IntSource;
+import pl.edu.icm.trurl.store.attribute.IntListAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedIntListAttribute extends SegmentedAttribute implements IntListAttribute {
+    private int[][][] values = new int[0][][];
+
+    SegmentedIntListAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == null;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            values[i] = new int[mask + 1][];
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = null;
+    }
+
+    @Override
+    public String getString(int row) {
+        int[] ints = values[row >>> shift][row & mask];
+        if (ints == null || ints.length == 0) return "";
+        StringBuilder sb = new StringBuilder();
+        sb.append(encode(ints[0]));
+        for (int i = 1; i < ints.length; i++) {
+            sb.append(',');
+            sb.append(encode(ints[i]));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        if (!isNullOrEmpty(value)) {
+            int valueSize = 1;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == ',') valueSize++;
+            }
+            int[] result = sized(row, valueSize);
+            int current = 0;
+            for (int i = 0; i < valueSize; i++) {
+                int next = value.indexOf(',', current);
+                result[i] = decode(value.substring(current, next == -1 ? value.length() : next));
+                current = next + 1;
+            }
+        } else {
+            setEmpty(row);
+        }
+    }
+
+    @Override
+    public int getSize(int row) {
+        int[] result = values[row >>> shift][row & mask];
+        return result == null ? 0 : result.length;
+    }
+
+    @Override
+    public void loadInts(int row, IntSink ints) {
+        int[] result = values[row >>> shift][row & mask];
+        if (result != null) {
+            for (int i = 0; i < result.length; i++) {
+                ints.setInt(i, result[i]);
+            }
+        }
+    }
+
+    @Override
+    public void saveInts(int row, int size, IntSource ints) {
+        int[] result = sized(row, size);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ints.getInt(i);
+        }
+    }
+
+    @Override
+    public int[] getInts(int row) {
+        return values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setInts(int row, int[] values) {
+        this.values[row >>> shift][row & mask] = values;
+    }
+
+    @Override
+    public boolean isEqual(int row, int size, IntSource ints) {
+        int[] result = values[row >>> shift][row & mask];
+        if (result == null || result.length != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (result[i] != ints.getInt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] sized(int row, int size) {
+        int[] result = values[row >>> shift][row & mask];
+        if (result == null || result.length != size) {
+            result = new int[size];
+            values[row >>> shift][row & mask] = result;
+        }
+        return result;
+    }
+
+    private static String encode(int id) {
+        return id == Entity.NULL_ID ? "" : Integer.toString(id, 36);
+    }
+
+    private static int decode(String id) {
+        return isNullOrEmpty(id) ? Entity.NULL_ID : Integer.parseInt(id, 36);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.ObjectAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedObjectAttribute extends SegmentedAttribute implements ObjectAttribute {
+    private Object[][] values = new Object[0][];
+
+    SegmentedObjectAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == null;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            values[i] = new Object[mask + 1];
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getObject(int row) {
+        return (T) values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setObject(int row, Object value) {
+        values[row >>> shift][row & mask] = value;
+    }
+
+    @Override
+    public String getString(int row) {
+        // noop
+        return null;
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        // noop
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.ShortAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedShortAttribute extends SegmentedAttribute implements ShortAttribute {
+    private final static short NULL = Short.MIN_VALUE;
+    private short[][] values = new short[0][];
+
+    SegmentedShortAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return values[row >>> shift][row & mask] == NULL;
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            short[] page = new short[mask + 1];
+            Arrays.fill(page, NULL);
+            values[i] = page;
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = NULL;
+    }
+
+    @Override
+    public String getString(int row) {
+        return Short.toString(getShort(row));
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        setShort(row, isNullOrEmpty(value) ? NULL : Short.parseShort(value));
+    }
+
+    @Override
+    public short getShort(int row) {
+        return values[row >>> shift][row & mask];
+    }
+
+    @Override
+    public void setShort(int row, short value) {
+        values[row >>> shift][row & mask] = value;
+    }
+}
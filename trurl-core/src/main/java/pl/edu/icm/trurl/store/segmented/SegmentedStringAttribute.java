@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import pl.edu.icm.trurl.store.attribute.StringAttribute;
+
+import java.util.Arrays;
+
+final class SegmentedStringAttribute extends SegmentedAttribute implements StringAttribute {
+    private String[][] values = new String[0][];
+
+    SegmentedStringAttribute(String name, int pageShift, int capacity) {
+        super(name, pageShift);
+        ensureCapacity(capacity);
+    }
+
+    @Override
+    boolean isEmptyValue(int row) {
+        return isNullOrEmpty(values[row >>> shift][row & mask]);
+    }
+
+    @Override
+    void addPages(int from, int to) {
+        values = Arrays.copyOf(values, to);
+        for (int i = from; i < to; i++) {
+            values[i] = new String[mask + 1];
+        }
+    }
+
+    @Override
+    public void setEmpty(int row) {
+        values[row >>> shift][row & mask] = null;
+    }
+
+    @Override
+    public String getString(int row) {
+        String value = values[row >>> shift][row & mask];
+        return isNullOrEmpty(value) ? "" : value;
+    }
+
+    @Override
+    public void setString(int row, String value) {
+        values[row >>> shift][row & mask] = value;
+    }
+}
@@ -23,10 +23,14 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import net.snowyhollows.bento.category.CategoryManager;
 import pl.edu.icm.trurl.ecs.Session;
 import pl.edu.icm.trurl.ecs.Entity;
+import pl.edu.icm.trurl.collection.Backoff;
+import pl.edu.icm.trurl.collection.ConcurrentIntArray;
 import pl.edu.icm.trurl.ecs.dao.Dao;
 import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.ecs.dao.DenseDao;
 import pl.edu.icm.trurl.ecs.dao.LifecycleEvent;
 import pl.edu.icm.trurl.store.IntSink;
+import pl.edu.icm.trurl.store.PresenceIndex;
 import pl.edu.icm.trurl.store.Store;
 import pl.edu.icm.trurl.store.StoreConfig;
 import pl.edu.icm.trurl.store.attribute.*;
@@ -35,7 +39,6 @@ import pl.edu.icm.trurl.store.reference.ArrayReference;
 import pl.edu.icm.trurl.store.reference.SingleReference;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Function;
 
 public class CommonTypes {
@@ -43,7 +46,9 @@ public class CommonTypes {
     public static final ClassName STORE = ClassName.get(Store.class);
     public static final ClassName LIFECYCLE_EVENT = ClassName.get(LifecycleEvent.class);
     public static final ClassName INT_SINK = ClassName.get(IntSink.class);
+    public static final ClassName PRESENCE_INDEX = ClassName.get(PresenceIndex.class);
     public static final ClassName DAO = ClassName.get(Dao.class);
+    public static final ClassName DENSE_DAO = ClassName.get(DenseDao.class);
     public static final ClassName DAOS = ClassName.get(DaoProducer.class);
     public static final ClassName ARRAY_JOIN = ClassName.get(ArrayJoin.class);
     public static final ClassName RANGED_JOIN = ClassName.get(RangedJoin.class);
@@ -64,7 +69,8 @@ public class CommonTypes {
     public static final ClassName ENTITY = ClassName.get(Entity.class);
     public static final ParameterizedTypeName ENTITY_MAPPER = ParameterizedTypeName.get(ClassName.get(Function.class), ENTITY, ENTITY);
     public static final ParameterizedTypeName ENTITY_LIST_ITERATOR = ParameterizedTypeName.get(ClassName.get(ListIterator.class), ENTITY);
-    public static final ClassName ATOMIC_INTEGER_ARRAY = ClassName.get(AtomicIntegerArray.class);
+    public static final ClassName CONCURRENT_INT_ARRAY = ClassName.get(ConcurrentIntArray.class);
+    public static final ClassName BACKOFF = ClassName.get(Backoff.class);
     public static final ClassName INT_COLUMN = ClassName.get(IntAttribute.class);
     public static final ClassName DOUBLE_COLUMN = ClassName.get(DoubleAttribute.class);
     public static final ClassName FLOAT_COLUMN = ClassName.get(FloatAttribute.class);
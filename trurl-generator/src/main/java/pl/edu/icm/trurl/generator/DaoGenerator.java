@@ -18,6 +18,7 @@
 
 package pl.edu.icm.trurl.generator;
 
+import pl.edu.icm.trurl.ecs.dao.annotation.RootDao;
 import pl.edu.icm.trurl.ecs.dao.annotation.WithDao;
 import pl.edu.icm.trurl.generator.writer.DaoWriter;
 
@@ -64,7 +65,10 @@ public class DaoGenerator extends AbstractProcessor {
                     .findBeans(processingEnvironment, roundEnv)
                     .forEach(beanMetadata -> {
                         daoWriter.writeDao(processingEnvironment, beanMetadata);
-                        daoWriter.writeDenseDao(processingEnvironment, beanMetadata);
+                        RootDao rootDao = beanMetadata.componentClass.getAnnotation(RootDao.class);
+                        if (rootDao == null || rootDao.includeDense()) {
+                            daoWriter.writeDenseDao(processingEnvironment, beanMetadata);
+                        }
                     });
 
 
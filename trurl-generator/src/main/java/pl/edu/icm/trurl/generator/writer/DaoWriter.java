@@ -36,14 +36,14 @@ import java.util.List;
 public class DaoWriter {
 
     public void writeDenseDao(ProcessingEnvironment processingEnvironment, BeanMetadata beanMetadata) {
-        ParameterizedTypeName superInterface = ParameterizedTypeName.get(CommonTypes.DAO, beanMetadata.componentName);
+        ParameterizedTypeName superClass = ParameterizedTypeName.get(CommonTypes.DENSE_DAO, beanMetadata.componentName);
         ClassName denseDaoName = denseDaoNameFor(beanMetadata.componentName);
         ClassName daoName = daoNameFor(beanMetadata.componentName);
 
         TypeSpec.Builder mapper =
                 TypeSpec.classBuilder(denseDaoName)
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                        .addSuperinterface(superInterface);
+                        .superclass(superClass);
         Feature denseDaoFeature = new DenseDaoFeature(beanMetadata, daoName);
 
         denseDaoFeature.fields().forEach(field -> mapper.addField(field));
@@ -76,12 +76,15 @@ public class DaoWriter {
                 new IsPresentFeature(beanMetadata),
                 new LoadFeature(beanMetadata),
                 new SaveFeature(beanMetadata),
+                new LoadAllFeature(beanMetadata),
+                new SaveAllFeature(beanMetadata),
                 new GetAttributesFeature(beanMetadata),
                 new ColumnarAccessFeature(beanMetadata),
                 new EraseFeature(beanMetadata),
                 new GetChildDaosFeature(beanMetadata),
                 new MapEntitiesFeature(beanMetadata),
-                new FireEventFeature(beanMetadata));
+                new FireEventFeature(beanMetadata),
+                new CursorFeature(beanMetadata, daoName));
 
         features.stream()
                 .flatMap(Feature::fields)
@@ -91,6 +94,10 @@ public class DaoWriter {
                 .flatMap(Feature::methods)
                 .forEach(method -> dao.addMethod(method));
 
+        features.stream()
+                .flatMap(Feature::types)
+                .forEach(type -> dao.addType(type));
+
         try {
             String packageName = ClassName.get(beanMetadata.componentClass).packageName();
             JavaFile.builder(packageName, dao.build()).build().writeTo(processingEnvironment.getFiler());
@@ -66,6 +66,8 @@ public class AttachStoreFeature implements Feature {
                 .addParameter(CommonTypes.STORE, "store");
 
         methodSpec.addStatement("this.store = store");
+        methodSpec.addStatement("presenceIndex = store.getPresenceIndex(daoPrefix + $S, this::isPresent)",
+                beanMetadata.componentName.reflectionName());
 
         for (ComponentProperty property : properties) {
             switch (property.type) {
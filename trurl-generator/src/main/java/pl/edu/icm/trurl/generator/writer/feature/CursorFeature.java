@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.generator.writer.feature;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import pl.edu.icm.trurl.generator.CommonTypes;
+import pl.edu.icm.trurl.generator.model.BeanMetadata;
+import pl.edu.icm.trurl.generator.model.ComponentProperty;
+import pl.edu.icm.trurl.generator.model.PropertyType;
+
+import javax.lang.model.element.Modifier;
+import java.util.stream.Stream;
+
+public class CursorFeature implements Feature {
+    private final BeanMetadata beanMetadata;
+    private final ClassName daoName;
+    private final ClassName cursorName;
+
+    public CursorFeature(BeanMetadata beanMetadata, ClassName daoName) {
+        this.beanMetadata = beanMetadata;
+        this.daoName = daoName;
+        this.cursorName = daoName.nestedClass("Cursor");
+    }
+
+    @Override
+    public Stream<FieldSpec> fields() {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<MethodSpec> methods() {
+        return Stream.of(MethodSpec.methodBuilder("cursor")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(cursorName)
+                .addStatement("return new Cursor()")
+                .build());
+    }
+
+    @Override
+    public Stream<TypeSpec> types() {
+        TypeSpec.Builder cursor = TypeSpec.classBuilder(cursorName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addJavadoc("A movable view of a single row. Setters write straight to the store: they bypass sessions and\n")
+                .addJavadoc("the parallel mode. Cursors of children are reused, so each of them only points to the last child asked for.\n")
+                .addField(FieldSpec.builder(TypeName.INT, "row", Modifier.PRIVATE).build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("moveTo")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, "row")
+                        .returns(cursorName)
+                        .addStatement("this.row = row")
+                        .addStatement("return this")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getRow")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addStatement("return row")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("isPresent")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.BOOLEAN)
+                        .addStatement("return $T.this.isPresent(row)", daoName)
+                        .build());
+
+        for (ComponentProperty property : beanMetadata.getComponentProperties()) {
+            switch (property.type) {
+                case EMBEDDED_PROP:
+                    addEmbedded(cursor, property);
+                    break;
+                case EMBEDDED_DENSE_PROP:
+                    addEmbeddedDense(cursor, property);
+                    break;
+                case EMBEDDED_LIST_PROP:
+                    addEmbeddedList(cursor, property);
+                    break;
+                case ENTITY_PROP:
+                    addEntity(cursor, property);
+                    break;
+                case ENTITY_LIST_PROP:
+                    addEntityList(cursor, property);
+                    break;
+                default:
+                    addAttribute(cursor, property);
+            }
+        }
+        return Stream.of(cursor.build());
+    }
+
+    private void addAttribute(TypeSpec.Builder cursor, ComponentProperty property) {
+        String accessor = accessorFor(property);
+        CodeBlock read = property.type == PropertyType.ENUM_PROP || property.type == PropertyType.SOFT_ENUM_PROP
+                ? CodeBlock.of("($T) $L.get$L(row)", property.unwrappedTypeName, property.fieldName, accessor)
+                : CodeBlock.of("$L.get$L(row)", property.fieldName, accessor);
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(property.typeName)
+                .addStatement("return $L", read)
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.setterName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(property.typeName, "value")
+                .addStatement("$L.set$L(row, value)", property.fieldName, accessor)
+                .addStatement("if (presenceIndex != null) presenceIndex.mark(row)")
+                .build());
+    }
+
+    private void addEmbedded(TypeSpec.Builder cursor, ComponentProperty property) {
+        ClassName childCursor = childCursorFor(property);
+        String field = property.fieldName + "Cursor";
+        cursor.addField(FieldSpec.builder(childCursor, field, Modifier.PRIVATE).build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(childCursor)
+                .addStatement("if (!$L.isPresent(row)) return null", property.fieldName)
+                .addStatement("if ($L == null) $L = $L.cursor()", field, field, property.fieldName)
+                .addStatement("return $L.moveTo(row)", field)
+                .build());
+    }
+
+    private void addEmbeddedDense(TypeSpec.Builder cursor, ComponentProperty property) {
+        ClassName childCursor = childCursorFor(property);
+        String field = property.fieldName + "Cursor";
+        cursor.addField(FieldSpec.builder(childCursor, field, Modifier.PRIVATE).build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(childCursor)
+                .addStatement("int targetRow = $LJoin.getRow(row, 0)", property.fieldName)
+                .addStatement("if (targetRow == Integer.MIN_VALUE) return null")
+                .addStatement("if ($L == null) $L = $L.cursor()", field, field, property.fieldName)
+                .addStatement("return $L.moveTo(targetRow)", field)
+                .build());
+    }
+
+    private void addEmbeddedList(TypeSpec.Builder cursor, ComponentProperty property) {
+        ClassName childCursor = childCursorFor(property);
+        String field = property.fieldName + "Cursor";
+        cursor.addField(FieldSpec.builder(childCursor, field, Modifier.PRIVATE).build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName + "Count")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return $LJoin.getExactSize(row)", property.fieldName)
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .returns(childCursor)
+                .addStatement("if ($L == null) $L = $L.cursor()", field, field, property.fieldName)
+                .addStatement("return $L.moveTo($LJoin.getRow(row, index))", field, property.fieldName)
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.setterName + "Count")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "size")
+                .addStatement("$LJoin.setSize(row, size)", property.fieldName)
+                .addStatement("if (presenceIndex != null) presenceIndex.mark(row)")
+                .build());
+    }
+
+    private void addEntity(TypeSpec.Builder cursor, ComponentProperty property) {
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName + "Id")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return $L.isEmpty(row) ? $T.NULL_ID : $L.getId(row, 0)",
+                        property.fieldName, CommonTypes.ENTITY, property.fieldName)
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.setterName + "Id")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "id")
+                .beginControlFlow("if (id == $T.NULL_ID)", CommonTypes.ENTITY)
+                .addStatement("$L.setSize(row, 0)", property.fieldName)
+                .nextControlFlow("else")
+                .addStatement("$L.setId(row, 0, id)", property.fieldName)
+                .endControlFlow()
+                .addStatement("if (presenceIndex != null) presenceIndex.mark(row)")
+                .build());
+    }
+
+    private void addEntityList(TypeSpec.Builder cursor, ComponentProperty property) {
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName + "Count")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return $L.getExactSize(row)", property.fieldName)
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.getterName + "Id")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .returns(TypeName.INT)
+                .addStatement("return $L.getId(row, index)", property.fieldName)
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.setterName + "Count")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "size")
+                .addStatement("$L.setSize(row, size)", property.fieldName)
+                .addStatement("if (presenceIndex != null) presenceIndex.mark(row)")
+                .build());
+        cursor.addMethod(MethodSpec.methodBuilder(property.setterName + "Id")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .addParameter(TypeName.INT, "id")
+                .addStatement("$L.setId(row, index, id)", property.fieldName)
+                .addStatement("if (presenceIndex != null) presenceIndex.mark(row)")
+                .build());
+    }
+
+    private ClassName childCursorFor(ComponentProperty property) {
+        return property.getDaoType().nestedClass("Cursor");
+    }
+
+    private static String accessorFor(ComponentProperty property) {
+        switch (property.type) {
+            case INT_PROP:
+                return "Int";
+            case BOOLEAN_PROP:
+                return "Boolean";
+            case BYTE_PROP:
+                return "Byte";
+            case DOUBLE_PROP:
+                return "Double";
+            case ENUM_PROP: // fallthrough
+            case SOFT_ENUM_PROP:
+                return "Enum";
+            case FLOAT_PROP:
+                return "Float";
+            case OBJECT_PROP:
+                return "Object";
+            case SHORT_PROP:
+                return "Short";
+            case STRING_PROP:
+                return "String";
+            default:
+                throw new IllegalStateException("Unknown property type " + property.type);
+        }
+    }
+}
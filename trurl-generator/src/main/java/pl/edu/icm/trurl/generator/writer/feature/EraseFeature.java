@@ -68,6 +68,7 @@ public class EraseFeature implements Feature {
                     methodSpec.addStatement("$L.setEmpty(row)", property.fieldName);
             }
         }
+        methodSpec.addStatement("if (presenceIndex != null) presenceIndex.unmark(row)");
 
         return methodSpec.build();
     }
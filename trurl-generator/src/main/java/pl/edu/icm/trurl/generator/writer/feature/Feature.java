@@ -20,10 +20,15 @@ package pl.edu.icm.trurl.generator.writer.feature;
 
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
 
 import java.util.stream.Stream;
 
 public interface Feature {
     Stream<FieldSpec> fields();
     Stream<MethodSpec> methods();
+
+    default Stream<TypeSpec> types() {
+        return Stream.empty();
+    }
 }
@@ -57,7 +57,7 @@ public class FireEventFeature implements Feature {
         if (beanMetadata.componentFeatures.contains(ComponentFeature.CAN_RESOLVE_CONFLICTS)) {
             methodSpec.addCode(CodeBlock.builder()
                     .beginControlFlow("switch (event)")
-                    .addStatement("case PRE_PARALLEL_ITERATION: this.owners = new $T(this.store.getEnsuredCapacity()); this.parallelMode = true; break", CommonTypes.ATOMIC_INTEGER_ARRAY)
+                    .addStatement("case PRE_PARALLEL_ITERATION: this.versions = new $T(this.store.getEnsuredCapacity()); this.parallelMode = true; break", CommonTypes.CONCURRENT_INT_ARRAY)
                     .addStatement("case POST_PARALLEL_ITERATION: this.parallelMode = false; break")
                     .endControlFlow()
                     .build());
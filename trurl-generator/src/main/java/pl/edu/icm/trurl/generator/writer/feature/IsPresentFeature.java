@@ -22,6 +22,7 @@ import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
+import pl.edu.icm.trurl.generator.CommonTypes;
 import pl.edu.icm.trurl.generator.model.BeanMetadata;
 import pl.edu.icm.trurl.generator.model.ComponentProperty;
 import pl.edu.icm.trurl.generator.model.PropertyType;
@@ -40,12 +41,22 @@ public class IsPresentFeature implements Feature {
 
     @Override
     public Stream<FieldSpec> fields() {
-        return Stream.empty();
+        return Stream.of(FieldSpec.builder(CommonTypes.PRESENCE_INDEX, "presenceIndex", Modifier.PRIVATE).build());
     }
 
     @Override
     public Stream<MethodSpec> methods() {
-        return Stream.of(overrideIsPresent(beanMetadata));
+        return Stream.of(overrideIsPresent(beanMetadata), overrideGetPresenceIndex());
+    }
+
+    private MethodSpec overrideGetPresenceIndex() {
+        return MethodSpec
+                .methodBuilder("getPresenceIndex")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(CommonTypes.PRESENCE_INDEX)
+                .addStatement("return presenceIndex")
+                .build();
     }
 
     private MethodSpec overrideIsPresent(BeanMetadata beanMetadata) {
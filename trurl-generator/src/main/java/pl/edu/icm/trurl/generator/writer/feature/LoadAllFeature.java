@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.generator.writer.feature;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import pl.edu.icm.trurl.generator.CommonTypes;
+import pl.edu.icm.trurl.generator.model.BeanMetadata;
+import pl.edu.icm.trurl.generator.model.ComponentFeature;
+import pl.edu.icm.trurl.generator.model.ComponentProperty;
+
+import javax.lang.model.element.Modifier;
+import java.util.stream.Stream;
+
+public class LoadAllFeature implements Feature {
+    private final BeanMetadata beanMetadata;
+
+    public LoadAllFeature(BeanMetadata beanMetadata) {
+        this.beanMetadata = beanMetadata;
+    }
+
+    @Override
+    public Stream<FieldSpec> fields() {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<MethodSpec> methods() {
+        return Stream.of(overrideLoadAll(), fetchAllValues());
+    }
+
+    private MethodSpec overrideLoadAll() {
+        ClassName component = beanMetadata.componentName;
+        MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("loadAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(CommonTypes.SESSION, "session")
+                .addParameter(ArrayTypeName.of(TypeName.INT), "rows")
+                .addParameter(ArrayTypeName.of(component), "into")
+                .addAnnotation(Override.class)
+                .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                .addStatement("if (into[i] == null) into[i] = create()")
+                .endControlFlow();
+
+        if (beanMetadata.componentFeatures.contains(ComponentFeature.CAN_RESOLVE_CONFLICTS)) {
+            methodSpec
+                    .beginControlFlow("if (parallelMode)")
+                    .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                    .addStatement("load(session, into[i], rows[i])")
+                    .endControlFlow()
+                    .addStatement("return")
+                    .endControlFlow();
+        }
+
+        methodSpec.addStatement("fetchAllValues(session, rows, into)");
+
+        CodeBlock.Builder afterFetch = CodeBlock.builder();
+        if (beanMetadata.componentFeatures.contains(ComponentFeature.REQUIRES_ORIGINAL_COPY)) {
+            afterFetch
+                    .addStatement("$T copy = create()", component)
+                    .addStatement("fetchValues(session, copy, rows[i])")
+                    .addStatement("into[i].setOriginalCopy(copy)");
+        }
+        if (beanMetadata.componentFeatures.contains(ComponentFeature.IS_DIRTY_MARKED)) {
+            afterFetch.addStatement("into[i].markAsClean()");
+        }
+        if (beanMetadata.componentFeatures.contains(ComponentFeature.REQUIRES_SETUP)) {
+            afterFetch.addStatement("into[i].setup()");
+        }
+        CodeBlock afterFetchCode = afterFetch.build();
+        if (!afterFetchCode.isEmpty()) {
+            methodSpec
+                    .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                    .addCode(afterFetchCode)
+                    .endControlFlow();
+        }
+
+        return methodSpec.build();
+    }
+
+    private MethodSpec fetchAllValues() {
+        ClassName component = beanMetadata.componentName;
+        MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("fetchAllValues")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(CommonTypes.SESSION, "session")
+                .addParameter(ArrayTypeName.of(TypeName.INT), "rows")
+                .addParameter(ArrayTypeName.of(component), "into");
+
+        for (ComponentProperty property : beanMetadata.getComponentProperties()) {
+            methodSpec.beginControlFlow("for (int i = 0; i < rows.length; i++)");
+            switch (property.type) {
+                case INT_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getInt(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case BOOLEAN_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getBoolean(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case BYTE_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getByte(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case DOUBLE_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getDouble(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case ENUM_PROP: // fallthrough
+                case SOFT_ENUM_PROP:
+                    methodSpec.addStatement("into[i].$L(($T)$L.getEnum(rows[i]))", property.setterName, property.unwrappedTypeName, property.fieldName);
+                    break;
+                case FLOAT_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getFloat(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case OBJECT_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getObject(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case SHORT_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getShort(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case STRING_PROP:
+                    methodSpec.addStatement("into[i].$L($L.getString(rows[i]))", property.setterName, property.fieldName);
+                    break;
+                case EMBEDDED_PROP:
+                    methodSpec.addCode(loadEmbedded(property, "rows[i]", CodeBlock.of("$L.isPresent(rows[i])", property.fieldName)));
+                    break;
+                case EMBEDDED_DENSE_PROP:
+                    methodSpec.addStatement("int targetRow = $LJoin.getRow(rows[i], 0)", property.fieldName);
+                    methodSpec.addCode(loadEmbedded(property, "targetRow", CodeBlock.of("targetRow != Integer.MIN_VALUE")));
+                    break;
+                case EMBEDDED_LIST_PROP:
+                    methodSpec
+                            .addStatement("into[i].$L().clear()", property.getterName)
+                            .beginControlFlow("for (int idx = 0;;idx++)")
+                            .addStatement("int embeddedRow = $LJoin.getRow(rows[i], idx)", property.fieldName)
+                            .addStatement("if (embeddedRow == Integer.MIN_VALUE || !$L.isPresent(embeddedRow)) break", property.fieldName)
+                            .addStatement("into[i].$L().add($L.createAndLoad(session, embeddedRow))", property.getterName, property.fieldName)
+                            .endControlFlow();
+                    break;
+                case ENTITY_LIST_PROP:
+                    methodSpec
+                            .addStatement("into[i].$L().clear()", property.getterName)
+                            .beginControlFlow("for (int idx = 0;;idx++)")
+                            .addStatement("int embeddedId = $L.getId(rows[i], idx)", property.fieldName)
+                            .addStatement("if (embeddedId == Integer.MIN_VALUE) break")
+                            .addStatement("into[i].$L().add(session.getEntity(embeddedId))", property.getterName)
+                            .endControlFlow();
+                    break;
+                case ENTITY_PROP:
+                    methodSpec.addStatement("into[i].$L($L.isEmpty(rows[i]) ? null : session.getEntity($L.getId(rows[i], 0)))",
+                            property.setterName, property.fieldName, property.fieldName);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown entity type " + property.type);
+            }
+            methodSpec.endControlFlow();
+        }
+
+        return methodSpec.build();
+    }
+
+    private CodeBlock loadEmbedded(ComponentProperty property, String row, CodeBlock isPresent) {
+        return CodeBlock.builder()
+                .beginControlFlow("if ($L)", isPresent)
+                .addStatement("$T embedded = into[i].$L()", property.unwrappedTypeName, property.getterName)
+                .addStatement("if (embedded == null) embedded = $L.create()", property.fieldName)
+                .addStatement("$L.load(session, embedded, $L)", property.fieldName, row)
+                .addStatement("into[i].$L(embedded)", property.setterName)
+                .nextControlFlow("else")
+                .addStatement("into[i].$L(null)", property.setterName)
+                .endControlFlow()
+                .build();
+    }
+}
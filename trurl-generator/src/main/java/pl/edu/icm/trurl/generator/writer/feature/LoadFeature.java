@@ -38,8 +38,8 @@ public class LoadFeature implements Feature {
     @Override
     public Stream<FieldSpec> fields() {
         return beanMetadata.componentFeatures.contains(ComponentFeature.CAN_RESOLVE_CONFLICTS)
-                ? Stream.of(FieldSpec.builder(CommonTypes.ATOMIC_INTEGER_ARRAY, "owners", Modifier.PRIVATE, Modifier.VOLATILE)
-                        .initializer("new $T(0)", CommonTypes.ATOMIC_INTEGER_ARRAY).build(),
+                ? Stream.of(FieldSpec.builder(CommonTypes.CONCURRENT_INT_ARRAY, "versions", Modifier.PRIVATE, Modifier.VOLATILE)
+                        .initializer("new $T()", CommonTypes.CONCURRENT_INT_ARRAY).build(),
                 FieldSpec.builder(ClassName.BOOLEAN, "parallelMode").build())
                 : Stream.empty();
     }
@@ -68,13 +68,16 @@ public class LoadFeature implements Feature {
                             .add(callFetchValues())
                             .addStatement("return")
                             .endControlFlow()
+                            .addStatement("int attempt = 0")
                             .beginControlFlow("while (true)")
-                            .addStatement("int currentOwner = owners.get(row)")
-                            .addStatement("if (currentOwner < 0) continue")
-//                            .addStatement("if (currentOwner == 0 && !owners.compareAndSet(row, 0, currentOwner)) continue")
+                            .addStatement("int version = versions.get(row)")
+                            .beginControlFlow("if (version < 0)")
+                            .addStatement("$T.pause(attempt++)", CommonTypes.BACKOFF)
+                            .addStatement("continue")
+                            .endControlFlow()
                             .add(callFetchValues())
-                            .beginControlFlow("if (owners.get(row) == currentOwner)")
-                            .addStatement("component.setOwnerId(currentOwner)")
+                            .beginControlFlow("if (versions.get(row) == version)")
+                            .addStatement("component.setOwnerId(version)")
                             .addStatement("break")
                             .endControlFlow()
                             .endControlFlow()
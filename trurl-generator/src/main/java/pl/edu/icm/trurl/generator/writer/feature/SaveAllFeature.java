@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.generator.writer.feature;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import pl.edu.icm.trurl.generator.CommonTypes;
+import pl.edu.icm.trurl.generator.model.BeanMetadata;
+import pl.edu.icm.trurl.generator.model.ComponentFeature;
+import pl.edu.icm.trurl.generator.model.ComponentProperty;
+
+import javax.lang.model.element.Modifier;
+import java.util.stream.Stream;
+
+public class SaveAllFeature implements Feature {
+    private final BeanMetadata beanMetadata;
+
+    public SaveAllFeature(BeanMetadata beanMetadata) {
+        this.beanMetadata = beanMetadata;
+    }
+
+    @Override
+    public Stream<FieldSpec> fields() {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<MethodSpec> methods() {
+        return Stream.of(overrideSaveAll(), storeAllValues());
+    }
+
+    private MethodSpec overrideSaveAll() {
+        ClassName component = beanMetadata.componentName;
+        MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("saveAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(CommonTypes.SESSION, "session")
+                .addParameter(ArrayTypeName.of(component), "components")
+                .addParameter(ArrayTypeName.of(TypeName.INT), "rows")
+                .addAnnotation(Override.class);
+
+        if (beanMetadata.componentFeatures.contains(ComponentFeature.CAN_RESOLVE_CONFLICTS)) {
+            methodSpec
+                    .beginControlFlow("if (parallelMode)")
+                    .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                    .addStatement("save(session, components[i], rows[i])")
+                    .endControlFlow()
+                    .addStatement("return")
+                    .endControlFlow();
+        }
+
+        return methodSpec
+                .addStatement("storeAllValues(components, rows)")
+                .build();
+    }
+
+    private MethodSpec storeAllValues() {
+        MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("storeAllValues")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(ArrayTypeName.of(beanMetadata.componentName), "components")
+                .addParameter(ArrayTypeName.of(TypeName.INT), "rows");
+
+        if (beanMetadata.componentFeatures.contains(ComponentFeature.CAN_BE_NORMALIZED)) {
+            methodSpec
+                    .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                    .addStatement("components[i].normalize()")
+                    .endControlFlow();
+        }
+
+        for (ComponentProperty property : beanMetadata.getComponentProperties()) {
+            switch (property.type) {
+                case INT_PROP:
+                    storeColumn(methodSpec, property, "Int");
+                    break;
+                case BOOLEAN_PROP:
+                    storeColumn(methodSpec, property, "Boolean");
+                    break;
+                case BYTE_PROP:
+                    storeColumn(methodSpec, property, "Byte");
+                    break;
+                case DOUBLE_PROP:
+                    storeColumn(methodSpec, property, "Double");
+                    break;
+                case ENUM_PROP: // fallthrough
+                case SOFT_ENUM_PROP:
+                    storeColumn(methodSpec, property, "Enum");
+                    break;
+                case FLOAT_PROP:
+                    storeColumn(methodSpec, property, "Float");
+                    break;
+                case OBJECT_PROP:
+                    storeColumn(methodSpec, property, "Object");
+                    break;
+                case SHORT_PROP:
+                    storeColumn(methodSpec, property, "Short");
+                    break;
+                case STRING_PROP:
+                    storeColumn(methodSpec, property, "String");
+                    break;
+                case EMBEDDED_PROP:
+                    methodSpec
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .beginControlFlow("if (components[i].$L() != null)", property.getterName)
+                            .addStatement("$L.save(components[i].$L(), rows[i])", property.fieldName, property.getterName)
+                            .nextControlFlow("else")
+                            .addStatement("$L.erase(rows[i])", property.fieldName)
+                            .endControlFlow()
+                            .endControlFlow();
+                    break;
+                case EMBEDDED_DENSE_PROP:
+                    methodSpec
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .addStatement("$LJoin.setSize(rows[i], components[i].$L() != null ? 1 : 0)", property.fieldName, property.getterName)
+                            .endControlFlow()
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .beginControlFlow("if (components[i].$L() != null)", property.getterName)
+                            .addStatement("$L.save(components[i].$L(), $LJoin.getRow(rows[i], 0))", property.fieldName, property.getterName, property.fieldName)
+                            .endControlFlow()
+                            .endControlFlow();
+                    break;
+                case EMBEDDED_LIST_PROP:
+                    methodSpec
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .addStatement("$LJoin.setSize(rows[i], components[i].$L().size())", property.fieldName, property.getterName)
+                            .endControlFlow()
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .beginControlFlow("for (int idx = 0; idx < components[i].$L().size(); idx++)", property.getterName)
+                            .addStatement("$L.save(components[i].$L().get(idx), $LJoin.getRow(rows[i], idx))", property.fieldName, property.getterName, property.fieldName)
+                            .endControlFlow()
+                            .endControlFlow();
+                    break;
+                case ENTITY_LIST_PROP:
+                    methodSpec
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .addStatement("$L.setSize(rows[i], components[i].$L().size())", property.fieldName, property.getterName)
+                            .endControlFlow()
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .beginControlFlow("for (int idx = 0; idx < components[i].$L().size(); idx++)", property.getterName)
+                            .addStatement("$L.setId(rows[i], idx, components[i].$L().get(idx).getId())", property.fieldName, property.getterName)
+                            .endControlFlow()
+                            .endControlFlow();
+                    break;
+                case ENTITY_PROP:
+                    methodSpec
+                            .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                            .beginControlFlow("if (components[i].$L() != null)", property.getterName)
+                            .addStatement("$L.setId(rows[i], 0, components[i].$L().getId())", property.fieldName, property.getterName)
+                            .nextControlFlow("else")
+                            .addStatement("$L.setSize(rows[i], 0)", property.fieldName)
+                            .endControlFlow()
+                            .endControlFlow();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown property type " + property.type);
+            }
+        }
+
+        return methodSpec
+                .beginControlFlow("if (presenceIndex != null)")
+                .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                .addStatement("presenceIndex.mark(rows[i])")
+                .endControlFlow()
+                .endControlFlow()
+                .build();
+    }
+
+    private void storeColumn(MethodSpec.Builder methodSpec, ComponentProperty property, String accessor) {
+        methodSpec
+                .beginControlFlow("for (int i = 0; i < rows.length; i++)")
+                .addStatement("$L.set$L(rows[i], components[i].$L())", property.fieldName, accessor, property.getterName)
+                .endControlFlow();
+    }
+}
@@ -28,6 +28,7 @@ import pl.edu.icm.trurl.generator.model.ComponentFeature;
 import pl.edu.icm.trurl.generator.model.ComponentProperty;
 
 import javax.lang.model.element.Modifier;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 public class SaveFeature implements Feature {
@@ -63,18 +64,24 @@ public class SaveFeature implements Feature {
                     .addStatement("return")
                     .endControlFlow()
                     .addStatement("int ownerId = session.getOwnerId()")
+                    .beginControlFlow("if (ownerId <= 0)")
+                    .addStatement("throw new $T($S + ownerId)", IllegalStateException.class, "Saving in the parallel mode requires a session with a positive owner id, got: ")
+                    .endControlFlow()
+                    .addStatement("int attempt = 0")
                     .beginControlFlow("while (true)")
-                    .addStatement("int currentOwnerId = owners.get(row)")
-                    .addStatement("if (currentOwnerId < 0) continue")
-                    .beginControlFlow("if (owners.compareAndSet(row, currentOwnerId, -ownerId))")
+                    .addStatement("int version = versions.get(row)")
+                    .beginControlFlow("if (version < 0)")
+                    .addStatement("$T.pause(attempt++)", CommonTypes.BACKOFF)
+                    .addStatement("continue")
+                    .endControlFlow()
+                    .beginControlFlow("if (versions.compareAndSet(row, version, -ownerId))")
                     .addStatement("$T resolved = component", beanMetadata.componentName)
-                    .beginControlFlow("if (currentOwnerId != component.getOwnerId())")
+                    .beginControlFlow("if (version != component.getOwnerId())")
                     .addStatement("$T other = create()", beanMetadata.componentName)
                     .addStatement("fetchValues(session, other, row)")
                     .addStatement("resolved = component.resolve(other)")
                     .endControlFlow()
-                    .addStatement("storeValues(resolved, row)")
-                    .addStatement("owners.set(row, ownerId)")
+                    .addStatement("versions.set(row, storeValues(resolved, row) ? (version + 1) & $T.MAX_VALUE : version)", Integer.class)
                     .addStatement("break")
                     .endControlFlow()
                     .endControlFlow()
@@ -91,69 +98,90 @@ public class SaveFeature implements Feature {
         MethodSpec.Builder methodSpec = MethodSpec
                 .methodBuilder("storeValues")
                 .addModifiers(Modifier.PRIVATE)
+                .returns(TypeName.BOOLEAN)
                 .addParameter(beanMetadata.componentName, "component")
                 .addParameter(TypeName.INT, "row");
 
         if (beanMetadata.componentFeatures.contains(ComponentFeature.CAN_BE_NORMALIZED)) {
             methodSpec.addStatement("component.normalize()");
         }
+        methodSpec.addStatement("boolean changed = false");
 
         for (ComponentProperty property : beanMetadata.getComponentProperties()) {
             switch (property.type) {
                 case INT_PROP:
-                    methodSpec.addStatement("$L.setInt(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Int", CodeBlock.of("$L.getInt(row) != component.$L()", property.fieldName, property.getterName));
                     break;
                 case BOOLEAN_PROP:
-                    methodSpec.addStatement("$L.setBoolean(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Boolean", CodeBlock.of("$L.getBoolean(row) != component.$L()", property.fieldName, property.getterName));
                     break;
                 case BYTE_PROP:
-                    methodSpec.addStatement("$L.setByte(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Byte", CodeBlock.of("$L.getByte(row) != component.$L()", property.fieldName, property.getterName));
                     break;
                 case DOUBLE_PROP:
-                    methodSpec.addStatement("$L.setDouble(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Double", CodeBlock.of("$T.compare($L.getDouble(row), component.$L()) != 0", Double.class, property.fieldName, property.getterName));
                     break;
                 case ENUM_PROP:
-                    methodSpec.addStatement("$L.setEnum(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Enum", CodeBlock.of("$L.getEnum(row) != component.$L()", property.fieldName, property.getterName));
                     break;
                 case SOFT_ENUM_PROP:
-                    methodSpec.addStatement("$L.setEnum(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Enum", CodeBlock.of("!$T.equals($L.getEnum(row), component.$L())", Objects.class, property.fieldName, property.getterName));
                     break;
                 case FLOAT_PROP:
-                    methodSpec.addStatement("$L.setFloat(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Float", CodeBlock.of("$T.compare($L.getFloat(row), component.$L()) != 0", Float.class, property.fieldName, property.getterName));
                     break;
                 case OBJECT_PROP:
-                    methodSpec.addStatement("$L.setObject(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Object", CodeBlock.of("!$T.equals($L.getObject(row), component.$L())", Objects.class, property.fieldName, property.getterName));
                     break;
                 case SHORT_PROP:
-                    methodSpec.addStatement("$L.setShort(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "Short", CodeBlock.of("$L.getShort(row) != component.$L()", property.fieldName, property.getterName));
                     break;
                 case STRING_PROP:
-                    methodSpec.addStatement("$L.setString(row, component.$L())", property.fieldName, property.getterName);
+                    storeIfChanged(methodSpec, property, "String", CodeBlock.of("!$T.equals($L.getString(row), component.$L())", Objects.class, property.fieldName, property.getterName));
                     break;
                 case EMBEDDED_PROP:
                     createEmbedded(methodSpec, property);
+                    methodSpec.addStatement("changed = true");
                     break;
                 case EMBEDDED_DENSE_PROP:
                     createEmbeddedDense(methodSpec, property);
+                    methodSpec.addStatement("changed = true");
                     break;
                 case EMBEDDED_LIST_PROP:
                     createEmbeddedList(methodSpec, property);
+                    methodSpec.addStatement("changed = true");
                     break;
                 case ENTITY_LIST_PROP:
                     createEntityList(methodSpec, property);
+                    methodSpec.addStatement("changed = true");
                     break;
                 case ENTITY_PROP:
                     createEntity(methodSpec, property);
+                    methodSpec.addStatement("changed = true");
                     break;
                 default:
                     throw new IllegalStateException("Unknown property type " + property.type);
             }
         }
+        methodSpec.addStatement("if (changed && presenceIndex != null) presenceIndex.mark(row)");
+        methodSpec.addStatement("return changed");
 
         return methodSpec
                 .build();
     }
 
+    /**
+     * Columns holding a single value are compared with the stored one and only written if it differs,
+     * so saving a component which was not modified writes nothing (and marks nothing as changed).
+     */
+    private void storeIfChanged(MethodSpec.Builder methodSpec, ComponentProperty property, String type, CodeBlock differs) {
+        methodSpec
+                .beginControlFlow("if ($L)", differs)
+                .addStatement("$L.set$L(row, component.$L())", property.fieldName, type, property.getterName)
+                .addStatement("changed = true")
+                .endControlFlow();
+    }
+
     private void createEmbeddedDense(MethodSpec.Builder methodSpec, ComponentProperty property) {
         String targetRow = "$" + property.name + "TargetRow";
         methodSpec
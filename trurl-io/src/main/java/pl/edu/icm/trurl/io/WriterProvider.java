@@ -22,7 +22,10 @@ import net.snowyhollows.bento.annotation.GwtIncompatible;
 import net.snowyhollows.bento.annotation.WithFactory;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 public class WriterProvider {
     @WithFactory
@@ -42,6 +45,19 @@ public class WriterProvider {
         }
     }
 
+    /**
+     * Opens the file for writing raw bytes (replacing its contents), for writers which do their own
+     * buffering and encoding.
+     */
+    @GwtIncompatible
+    public FileChannel channelForFile(String path) {
+        try {
+            return FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private Writer createWriter(Object path, int bufferSize) {
         throw new RuntimeException("Not implemented in GWT; no good means of writing files.");
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+import pl.edu.icm.trurl.store.attribute.ByteAttribute;
+import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+import pl.edu.icm.trurl.store.attribute.EnumAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.ShortAttribute;
+
+import java.io.IOException;
+
+/**
+ * Writes cells of a CSV column from an attribute into a CsvOutput; the counterpart of CsvCellParser.
+ * <p>
+ * Numeric attributes are formatted from their typed getters straight into the output buffer, giving the same text
+ * as getString would. Cells which cannot contain separators or quotes (numbers, booleans and enums) are never checked
+ * for escaping; all the other kinds of attributes are written as escaped strings. Empty cells are written as nothing.
+ */
+abstract class CsvCellFormatter {
+    private final Attribute attribute;
+
+    private CsvCellFormatter(Attribute attribute) {
+        this.attribute = attribute;
+    }
+
+    void format(int row, CsvOutput output) throws IOException {
+        if (!attribute.isEmpty(row)) {
+            formatValue(row, output);
+        }
+    }
+
+    abstract void formatValue(int row, CsvOutput output) throws IOException;
+
+    static CsvCellFormatter forAttribute(Attribute attribute) {
+        if (attribute instanceof IntAttribute) {
+            IntAttribute intAttribute = (IntAttribute) attribute;
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.appendInt(intAttribute.getInt(row));
+                }
+            };
+        } else if (attribute instanceof ShortAttribute) {
+            ShortAttribute shortAttribute = (ShortAttribute) attribute;
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.appendInt(shortAttribute.getShort(row));
+                }
+            };
+        } else if (attribute instanceof ByteAttribute) {
+            ByteAttribute byteAttribute = (ByteAttribute) attribute;
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.appendInt(byteAttribute.getByte(row));
+                }
+            };
+        } else if (attribute instanceof FloatAttribute) {
+            FloatAttribute floatAttribute = (FloatAttribute) attribute;
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.appendFloat(floatAttribute.getFloat(row));
+                }
+            };
+        } else if (attribute instanceof DoubleAttribute) {
+            DoubleAttribute doubleAttribute = (DoubleAttribute) attribute;
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.appendDouble(doubleAttribute.getDouble(row));
+                }
+            };
+        } else if (attribute instanceof BooleanAttribute) {
+            BooleanAttribute booleanAttribute = (BooleanAttribute) attribute;
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.append(booleanAttribute.getBoolean(row) ? "true" : "false");
+                }
+            };
+        } else if (attribute instanceof EnumAttribute) {
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.append(attribute.getString(row));
+                }
+            };
+        } else {
+            return new CsvCellFormatter(attribute) {
+                @Override
+                void formatValue(int row, CsvOutput output) throws IOException {
+                    output.appendEscaped(attribute.getString(row));
+                }
+            };
+        }
+    }
+}
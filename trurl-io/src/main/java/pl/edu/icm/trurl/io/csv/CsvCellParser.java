@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+import pl.edu.icm.trurl.store.attribute.ByteAttribute;
+import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.ShortAttribute;
+
+/**
+ * Writes cells of a CSV column (given as ranges of a char buffer, see CsvTokenizer) into an attribute.
+ * <p>
+ * Numeric and boolean attributes are parsed in place and set with their typed setters, giving the same values
+ * as setString would; empty cells are set empty. Numbers which cannot be parsed exactly without the JDK
+ * (e.g. floats with exponents or too many digits) fall back to a string, as do all the other kinds of attributes.
+ */
+abstract class CsvCellParser {
+    static final CsvCellParser SKIP = new CsvCellParser() {
+        @Override
+        void parse(int row, char[] chars, int from, int to) {
+        }
+
+        @Override
+        void parseString(int row, String value) {
+        }
+    };
+
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final float[] FLOAT_POWERS = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+    abstract void parse(int row, char[] chars, int from, int to);
+
+    abstract void parseString(int row, String value);
+
+    static CsvCellParser forAttribute(Attribute attribute) {
+        if (attribute == null) {
+            return SKIP;
+        } else if (attribute instanceof IntAttribute) {
+            IntAttribute intAttribute = (IntAttribute) attribute;
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    if (from == to) {
+                        intAttribute.setEmpty(row);
+                    } else {
+                        intAttribute.setInt(row, (int) parseLong(chars, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE));
+                    }
+                }
+            };
+        } else if (attribute instanceof ShortAttribute) {
+            ShortAttribute shortAttribute = (ShortAttribute) attribute;
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    if (from == to) {
+                        shortAttribute.setEmpty(row);
+                    } else {
+                        shortAttribute.setShort(row, (short) parseLong(chars, from, to, Short.MIN_VALUE, Short.MAX_VALUE));
+                    }
+                }
+            };
+        } else if (attribute instanceof ByteAttribute) {
+            ByteAttribute byteAttribute = (ByteAttribute) attribute;
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    if (from == to) {
+                        byteAttribute.setEmpty(row);
+                    } else {
+                        byteAttribute.setByte(row, (byte) parseLong(chars, from, to, Byte.MIN_VALUE, Byte.MAX_VALUE));
+                    }
+                }
+            };
+        } else if (attribute instanceof FloatAttribute) {
+            FloatAttribute floatAttribute = (FloatAttribute) attribute;
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    if (from == to) {
+                        floatAttribute.setEmpty(row);
+                    } else {
+                        floatAttribute.setFloat(row, parseFloat(chars, from, to));
+                    }
+                }
+            };
+        } else if (attribute instanceof DoubleAttribute) {
+            DoubleAttribute doubleAttribute = (DoubleAttribute) attribute;
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    if (from == to) {
+                        doubleAttribute.setEmpty(row);
+                    } else {
+                        doubleAttribute.setDouble(row, parseDouble(chars, from, to));
+                    }
+                }
+            };
+        } else if (attribute instanceof BooleanAttribute) {
+            BooleanAttribute booleanAttribute = (BooleanAttribute) attribute;
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    if (matches(chars, from, to, "true")) {
+                        booleanAttribute.setBoolean(row, true);
+                    } else if (matches(chars, from, to, "false")) {
+                        booleanAttribute.setBoolean(row, false);
+                    } else {
+                        booleanAttribute.setEmpty(row);
+                    }
+                }
+            };
+        } else {
+            return new TypedParser(attribute) {
+                @Override
+                void parse(int row, char[] chars, int from, int to) {
+                    attribute.setString(row, new String(chars, from, to - from));
+                }
+            };
+        }
+    }
+
+    /**
+     * Parses a decimal integer from the given range, throwing NumberFormatException (like Integer.parseInt)
+     * if it is malformed or out of [min, max].
+     */
+    static long parseLong(char[] chars, int from, int to, long min, long max) {
+        int i = from;
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+        if (i == to || to - i > 18) {
+            return parseOutOfRange(chars, from, to, min, max);
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw numberFormatException(chars, from, to);
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < min || value > max) {
+            throw numberFormatException(chars, from, to);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a float from the given range; plain decimals which fit in the mantissa of a float (along with
+     * the power of ten) are computed exactly, the rest go through Float.parseFloat.
+     */
+    static float parseFloat(char[] chars, int from, int to) {
+        long mantissa = 0;
+        int fractionDigits = -1;
+        int i = from;
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+        int digits = 0;
+        for (; i < to; i++) {
+            char current = chars[i];
+            if (current >= '0' && current <= '9') {
+                mantissa = mantissa * 10 + (current - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+                if (++digits > 18) {
+                    break;
+                }
+            } else if (current == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (i != to || digits == 0 || mantissa >= MAX_EXACT_FLOAT || fractionDigits >= FLOAT_POWERS.length) {
+            return Float.parseFloat(new String(chars, from, to - from));
+        }
+        float value = fractionDigits > 0 ? mantissa / FLOAT_POWERS[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a double from the given range; plain decimals which fit in the mantissa of a double (along with
+     * the power of ten) are computed exactly, the rest go through Double.parseDouble.
+     */
+    static double parseDouble(char[] chars, int from, int to) {
+        long mantissa = 0;
+        int fractionDigits = -1;
+        int i = from;
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+        int digits = 0;
+        for (; i < to; i++) {
+            char current = chars[i];
+            if (current >= '0' && current <= '9') {
+                mantissa = mantissa * 10 + (current - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+                if (++digits > 18) {
+                    break;
+                }
+            } else if (current == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (i != to || digits == 0 || mantissa >= MAX_EXACT_DOUBLE || fractionDigits >= DOUBLE_POWERS.length) {
+            return Double.parseDouble(new String(chars, from, to - from));
+        }
+        double value = fractionDigits > 0 ? mantissa / DOUBLE_POWERS[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static long parseOutOfRange(char[] chars, int from, int to, long min, long max) {
+        long value = Long.parseLong(new String(chars, from, to - from));
+        if (value < min || value > max) {
+            throw numberFormatException(chars, from, to);
+        }
+        return value;
+    }
+
+    private static NumberFormatException numberFormatException(char[] chars, int from, int to) {
+        return new NumberFormatException("For input string: \"" + new String(chars, from, to - from) + "\"");
+    }
+
+    private static boolean matches(char[] chars, int from, int to, String expected) {
+        if (to - from != expected.length()) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (chars[i] != expected.charAt(i - from)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private abstract static class TypedParser extends CsvCellParser {
+        private final Attribute attribute;
+
+        TypedParser(Attribute attribute) {
+            this.attribute = attribute;
+        }
+
+        @Override
+        void parseString(int row, String value) {
+            attribute.setString(row, value);
+        }
+    }
+}
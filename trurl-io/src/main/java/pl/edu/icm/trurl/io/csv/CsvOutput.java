@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import pl.edu.icm.trurl.ecs.dao.annotation.GwtIncompatible;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A reusable char buffer for CsvWriter, into which values are formatted without creating strings.
+ * <p>
+ * The buffer is only flushed when a cell does not fit (see ensure()), so flushed parts always end between
+ * cells and never split a surrogate pair.
+ */
+abstract class CsvOutput implements Closeable {
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_NUMBER_LENGTH = 32;
+
+    private char[] chars;
+    private int length;
+    private final StringBuilder scratch = new StringBuilder(MAX_NUMBER_LENGTH);
+
+    CsvOutput(int bufferSize) {
+        this.chars = new char[bufferSize];
+    }
+
+    static CsvOutput of(Writer writer) {
+        return new WriterOutput(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    @GwtIncompatible
+    static CsvOutput of(FileChannel channel) {
+        return new ChannelOutput(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    void append(char c) throws IOException {
+        ensure(1);
+        chars[length++] = c;
+    }
+
+    void append(String value) throws IOException {
+        int valueLength = value.length();
+        ensure(valueLength);
+        value.getChars(0, valueLength, chars, length);
+        length += valueLength;
+    }
+
+    void appendInt(int value) throws IOException {
+        ensure(MAX_NUMBER_LENGTH);
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                append("-2147483648");
+                return;
+            }
+            chars[length++] = '-';
+            value = -value;
+        }
+        int end = length + digits(value);
+        int position = end;
+        do {
+            chars[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        length = end;
+    }
+
+    /**
+     * Appends the value as Float.toString would.
+     */
+    void appendFloat(float value) throws IOException {
+        scratch.setLength(0);
+        scratch.append(value);
+        appendScratch();
+    }
+
+    /**
+     * Appends the value as Double.toString would.
+     */
+    void appendDouble(double value) throws IOException {
+        scratch.setLength(0);
+        scratch.append(value);
+        appendScratch();
+    }
+
+    /**
+     * Appends the value, quoted if it contains commas, quotes or line breaks; quotes are doubled
+     * and line breaks are written as "\n".
+     */
+    void appendEscaped(String value) throws IOException {
+        int valueLength = value.length();
+        if (!needsEscape(value, valueLength)) {
+            append(value);
+            return;
+        }
+        ensure(valueLength * 2 + 2);
+        chars[length++] = '"';
+        for (int i = 0; i < valueLength; i++) {
+            char current = value.charAt(i);
+            switch (current) {
+                case '"':
+                    chars[length++] = '"';
+                    chars[length++] = '"';
+                    break;
+                case '\n':
+                case '\r':
+                    chars[length++] = '\\';
+                    chars[length++] = 'n';
+                    break;
+                default:
+                    chars[length++] = current;
+            }
+        }
+        chars[length++] = '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            closeTarget();
+        }
+    }
+
+    protected abstract void write(char[] chars, int length) throws IOException;
+
+    protected abstract void closeTarget() throws IOException;
+
+    private void appendScratch() throws IOException {
+        int scratchLength = scratch.length();
+        ensure(scratchLength);
+        scratch.getChars(0, scratchLength, chars, length);
+        length += scratchLength;
+    }
+
+    private void ensure(int needed) throws IOException {
+        if (length + needed > chars.length) {
+            flush();
+            if (needed > chars.length) {
+                chars = Arrays.copyOf(chars, needed);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        if (length > 0) {
+            write(chars, length);
+            length = 0;
+        }
+    }
+
+    private static boolean needsEscape(String value, int valueLength) {
+        for (int i = 0; i < valueLength; i++) {
+            char current = value.charAt(i);
+            if (current == ',' || current == '"' || current == '\n' || current == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static final class WriterOutput extends CsvOutput {
+        private final Writer writer;
+
+        WriterOutput(Writer writer, int bufferSize) {
+            super(bufferSize);
+            this.writer = writer;
+        }
+
+        @Override
+        protected void write(char[] chars, int length) throws IOException {
+            writer.write(chars, 0, length);
+        }
+
+        @Override
+        protected void closeTarget() throws IOException {
+            writer.close();
+        }
+    }
+
+    @GwtIncompatible
+    private static final class ChannelOutput extends CsvOutput {
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer bytes;
+
+        ChannelOutput(FileChannel channel, int bufferSize) {
+            super(bufferSize);
+            this.channel = channel;
+            this.bytes = ByteBuffer.allocateDirect(bufferSize * 3);
+        }
+
+        @Override
+        protected void write(char[] chars, int length) throws IOException {
+            CharBuffer input = CharBuffer.wrap(chars, 0, length);
+            encoder.reset();
+            CoderResult result;
+            while ((result = encoder.encode(input, bytes, true)).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        }
+
+        @Override
+        protected void closeTarget() throws IOException {
+            channel.close();
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+    }
+}
@@ -18,32 +18,108 @@
 
 package pl.edu.icm.trurl.io.csv;
 
+import net.snowyhollows.bento.annotation.ByName;
 import net.snowyhollows.bento.annotation.WithFactory;
 import pl.edu.icm.trurl.io.ReaderProvider;
-import pl.edu.icm.trurl.io.parser.Parser;
+import pl.edu.icm.trurl.ecs.dao.annotation.GwtIncompatible;
 import pl.edu.icm.trurl.io.store.SingleStoreReader;
 import pl.edu.icm.trurl.store.StoreAccess;
-import pl.edu.icm.trurl.store.attribute.Attribute;
-import pl.edu.icm.trurl.store.attribute.StubAttribute;
 
+import java.io.IOException;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class CsvReader implements SingleStoreReader {
+    public static final String PARALLELISM = "trurl.io.csv.parallelism";
+    private static final long MIN_CHUNK_BYTES = 4L << 20;
+    private static final long MAX_CHUNK_BYTES = 64L << 20;
 
     private final ReaderProvider readerProvider;
+    private final int parallelism;
+    @GwtIncompatible
+    private volatile ExecutorService executor;
 
-    private final Attribute SKIP = new StubAttribute();
+    public CsvReader(ReaderProvider readerProvider) {
+        this(readerProvider, 1);
+    }
 
+    /**
+     * @param parallelism number of threads parsing a single file; 1 means reading it sequentially
+     *                    (through the ReaderProvider), 0 or less means "all available cores".
+     */
     @WithFactory
-    public CsvReader(ReaderProvider readerProvider) {
+    public CsvReader(ReaderProvider readerProvider, @ByName(value = PARALLELISM, fallbackValue = "1") int parallelism) {
         this.readerProvider = readerProvider;
+        this.parallelism = parallelism;
     }
 
 
     @Override
     public void read(String file, StoreAccess store) {
-        load(readerProvider.readerForFile(file), store, Collections.emptyMap());
+        if (parallelism != 1) {
+            readInParallel(file, store);
+        } else {
+            readSequentially(file, store);
+        }
+    }
+
+    private void readSequentially(String file, StoreAccess store) {
+        try (Reader reader = readerProvider.readerForFile(file)) {
+            load(reader, store, Collections.emptyMap());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads a file written by CsvWriter::writeChanges; the rows must already be allocated.
+     */
+    @Override
+    public void readChanges(String file, StoreAccess store) {
+        try (Reader reader = readerProvider.readerForFile(file)) {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader);
+            List<String> header = readHeader(tokenizer);
+            if (header.isEmpty() || !header.get(0).equals(CsvWriter.ROW_COLUMN)) {
+                throw new IllegalStateException("Expected the " + CsvWriter.ROW_COLUMN + " column first in " + file);
+            }
+            final int columnCount = header.size();
+            CsvCellParser[] parsers = new CsvCellParser[columnCount];
+            for (int i = 1; i < columnCount; i++) {
+                parsers[i] = CsvCellParser.forAttribute(store.get(header.get(i)));
+            }
+
+            while (tokenizer.nextRow()) {
+                checkCellCount(tokenizer, columnCount);
+                int row = Integer.parseInt(tokenizer.getString(0));
+                for (int i = 1; i < columnCount; i++) {
+                    tokenizer.parse(i, row, parsers[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads a file written by CsvWriter::writeRange into the given rows, which must already be allocated.
+     */
+    @Override
+    public void readRange(String file, StoreAccess store, int fromInclusive, int toExclusive) {
+        try (Reader reader = readerProvider.readerForFile(file)) {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader);
+            CsvCellParser[] parsers = createParsers(readHeader(tokenizer), store, Collections.emptyMap());
+            readRows(tokenizer, parsers, fromInclusive, toExclusive, file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     public void load(Reader reader, StoreAccess store, String... columns) {
@@ -52,33 +128,148 @@ public class CsvReader implements SingleStoreReader {
 
 
     private void load(Reader reader, StoreAccess store, Map<String, String> mappings, String... columns) {
-        Parser parser = new Parser(reader);
+        try {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader);
+            CsvCellParser[] parsers = createParsers(readHeader(tokenizer), store, mappings);
+            final int columnCount = parsers.length;
 
-        List<String> header = new ArrayList<>();
-        parser.nextCsvRow(header);
-        parser.nextLine();
-        Attribute[] attributes = new Attribute[header.size()];
+            // TODO: there is assumption here that the CSV file begins with the same
+            // row as the store, i.e. an empty store is used to load a full CSV dump.
+            // It is possible that the CSV file was created by saving only a part of the
+            // store or that the store wasn't empty; in those cases we need to offset
+            // values of references and joins.
+            while (tokenizer.nextRow()) {
+                checkCellCount(tokenizer, columnCount);
+                int next = store.getCounter().next();
+                for (int i = 0; i < columnCount; i++) {
+                    tokenizer.parse(i, next, parsers[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        final int columnCount = header.size();
-        for (int i = 0; i < columnCount; i++) {
-            String attributeName = mappings.getOrDefault(header.get(i), header.get(i));
-            attributes[i] = Optional.<Attribute>ofNullable(store.get(attributeName)).orElse(SKIP);
+    /**
+     * Splits the file into chunks of rows (see CsvSplitter), allocates a block of rows for each chunk, in the order
+     * of the file, and parses the chunks concurrently. The file is decoded as UTF-8, as written by CsvWriter.
+     * Since the blocks are allocated with Counter.next(delta), freed single rows of the store are not reused.
+     */
+    @GwtIncompatible
+    private void readInParallel(String file, StoreAccess store) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            long chunkBytes = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, channel.size() / (threads * 4L)));
+            CsvSplitter splitter = CsvSplitter.split(channel, chunkBytes);
+            CsvCellParser[] parsers;
+            try (Reader reader = CsvSplitter.open(channel, 0, splitter.getHeaderEnd())) {
+                parsers = createParsers(readHeader(new CsvTokenizer(reader)), store, Collections.emptyMap());
+            }
+            List<Callable<Void>> tasks = new ArrayList<>(splitter.getChunks().size());
+            for (CsvSplitter.Chunk chunk : splitter.getChunks()) {
+                int firstRow = store.getCounter().next(chunk.rows);
+                tasks.add(() -> {
+                    readChunk(channel, chunk, firstRow, parsers);
+                    return null;
+                });
+            }
+            await(getExecutor().invokeAll(tasks));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading " + file, e);
+        }
+    }
+
+    private void readInParallel(Object file, StoreAccess store) {
+        readSequentially((String) file, store);
+    }
+
+    @GwtIncompatible
+    private static void readChunk(FileChannel channel, CsvSplitter.Chunk chunk, int firstRow, CsvCellParser[] parsers) throws IOException {
+        try (Reader reader = CsvSplitter.open(channel, chunk.from, chunk.to)) {
+            readRows(new CsvTokenizer(reader), parsers, firstRow, firstRow + chunk.rows, "bytes " + chunk.from + "-" + chunk.to);
         }
+    }
 
-        // TODO: there is assumption here that the CSV file begins with the same
-        // row as the store, i.e. an empty store is used to load a full CSV dump.
-        // It is possible that the CSV file was created by saving only a part of the
-        // store or that the store wasn't empty; in those cases we need to offset
-        // values of references and joins.
-        List<String> line = new ArrayList<>();
-        while (parser.hasMore()) {
-            parser.nextCsvRow(line);
-            parser.nextLine();
-            int next = store.getCounter().next();
+    private static void readRows(CsvTokenizer tokenizer, CsvCellParser[] parsers, int fromRow, int toRow, String source) throws IOException {
+        int columnCount = parsers.length;
+        int row = fromRow;
+        while (tokenizer.nextRow()) {
+            if (row == toRow) {
+                throw new IllegalStateException("More rows than expected in " + source);
+            }
+            checkCellCount(tokenizer, columnCount);
             for (int i = 0; i < columnCount; i++) {
-                attributes[i].setString(next, line.get(i));
+                tokenizer.parse(i, row, parsers[i]);
+            }
+            row++;
+        }
+        if (row != toRow) {
+            throw new IllegalStateException("Fewer rows than expected in " + source);
+        }
+    }
+
+    @GwtIncompatible
+    private static void await(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for parallel reading", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
             }
         }
     }
+
+    @GwtIncompatible
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), runnable -> {
+                        Thread thread = new Thread(runnable, "trurl-csv-reader");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static CsvCellParser[] createParsers(List<String> header, StoreAccess store, Map<String, String> mappings) {
+        CsvCellParser[] parsers = new CsvCellParser[header.size()];
+        for (int i = 0; i < parsers.length; i++) {
+            String attributeName = mappings.getOrDefault(header.get(i), header.get(i));
+            parsers[i] = CsvCellParser.forAttribute(store.get(attributeName));
+        }
+        return parsers;
+    }
+
+    private static List<String> readHeader(CsvTokenizer tokenizer) throws IOException {
+        List<String> header = new ArrayList<>();
+        if (tokenizer.nextRow()) {
+            for (int i = 0; i < tokenizer.cellCount(); i++) {
+                header.add(tokenizer.getString(i));
+            }
+        }
+        return header;
+    }
+
+    private static void checkCellCount(CsvTokenizer tokenizer, int columnCount) {
+        if (tokenizer.cellCount() < columnCount) {
+            throw new IllegalStateException("Expected " + columnCount + " values in a row, got: " + tokenizer.cellCount());
+        }
+    }
 }
 
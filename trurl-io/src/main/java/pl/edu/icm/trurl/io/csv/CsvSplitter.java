@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import pl.edu.icm.trurl.ecs.dao.annotation.GwtIncompatible;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits a CSV file into chunks of whole rows, of roughly the given number of bytes, and counts the rows
+ * of each chunk, so that the chunks can be parsed independently, each into its own block of rows.
+ * <p>
+ * The file is scanned without decoding it, following the quotes, so line breaks in quoted cells do not
+ * end rows; this works for UTF-8, in which quotes and line breaks are single bytes and never part of
+ * another character. Empty lines are not counted, just like CsvTokenizer skips them.
+ */
+@GwtIncompatible
+final class CsvSplitter {
+    private static final int SCAN_BUFFER_SIZE = 8 << 20;
+
+    static final class Chunk {
+        final long from;
+        final long to;
+        final int rows;
+
+        Chunk(long from, long to, int rows) {
+            this.from = from;
+            this.to = to;
+            this.rows = rows;
+        }
+    }
+
+    private final long headerEnd;
+    private final List<Chunk> chunks;
+
+    private CsvSplitter(long headerEnd, List<Chunk> chunks) {
+        this.headerEnd = headerEnd;
+        this.chunks = chunks;
+    }
+
+    static CsvSplitter split(FileChannel channel, long chunkBytes) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(SCAN_BUFFER_SIZE, Math.max(size, 1)));
+        byte[] bytes = buffer.array();
+        List<Chunk> chunks = new ArrayList<>();
+        long headerEnd = -1;
+        long chunkStart = 0;
+        int rows = 0;
+        boolean inQuotes = false;
+        boolean inRow = false;
+        long position = 0;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte current = bytes[i];
+                if (inQuotes) {
+                    if (current == '"') {
+                        inQuotes = false;
+                    }
+                } else if (current == '"') {
+                    inQuotes = true;
+                    inRow = true;
+                } else if (current == '\n' || current == '\r') {
+                    if (inRow) {
+                        inRow = false;
+                        long end = position + i + 1;
+                        if (headerEnd < 0) {
+                            headerEnd = end;
+                            chunkStart = end;
+                        } else {
+                            rows++;
+                            if (end - chunkStart >= chunkBytes) {
+                                chunks.add(new Chunk(chunkStart, end, rows));
+                                chunkStart = end;
+                                rows = 0;
+                            }
+                        }
+                    }
+                } else {
+                    inRow = true;
+                }
+            }
+            position += read;
+        }
+        if (headerEnd < 0) {
+            return new CsvSplitter(size, Collections.emptyList());
+        }
+        if (inRow) {
+            rows++;
+        }
+        if (rows > 0) {
+            chunks.add(new Chunk(chunkStart, size, rows));
+        }
+        return new CsvSplitter(headerEnd, chunks);
+    }
+
+    /**
+     * Returns the end of the first row (the header), in bytes.
+     */
+    long getHeaderEnd() {
+        return headerEnd;
+    }
+
+    List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Reads the given range of the file into memory and returns a reader decoding it.
+     */
+    static Reader open(FileChannel channel, long from, long to) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(to - from)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, from + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at " + (from + buffer.position()));
+            }
+        }
+        return new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Splits CSV input into rows and cells without creating strings.
+ * <p>
+ * The input is read in large chunks into a buffer, and the cells of the current row are only kept as
+ * ranges of that buffer (valid until the next call to nextRow); they can be parsed in place (see
+ * CsvCellParser) or turned into strings on demand. A row which does not fit in the rest of the buffer
+ * is moved to its beginning (growing the buffer if needed) and tokenized again.
+ * <p>
+ * The dialect is the one of Parser: cells are separated with commas, quoted cells escape quotes by
+ * doubling them and may contain line breaks, and empty lines are skipped.
+ */
+final class CsvTokenizer {
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final int ROW = 0;
+    private static final int END = 1;
+    private static final int MORE = 2;
+
+    private final Reader reader;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private int cellCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] quoted = new boolean[16];
+    private final StringBuilder unescaped = new StringBuilder();
+
+    CsvTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    CsvTokenizer(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Moves to the next row.
+     *
+     * @return false if there are no more rows
+     */
+    boolean nextRow() throws IOException {
+        int result;
+        while ((result = tokenizeRow()) == MORE) {
+            fill();
+        }
+        return result == ROW;
+    }
+
+    int cellCount() {
+        return cellCount;
+    }
+
+    String getString(int cell) {
+        int start = starts[cell];
+        int end = ends[cell];
+        if (!quoted[cell]) {
+            return new String(buffer, start, end - start);
+        }
+        unescaped.setLength(0);
+        for (int i = start; i < end; i++) {
+            unescaped.append(buffer[i]);
+            if (buffer[i] == '"') {
+                i++;
+            }
+        }
+        return unescaped.toString();
+    }
+
+    void parse(int cell, int row, CsvCellParser parser) {
+        if (quoted[cell]) {
+            parser.parseString(row, getString(cell));
+        } else {
+            parser.parse(row, buffer, starts[cell], ends[cell]);
+        }
+    }
+
+    private int tokenizeRow() {
+        int i = position;
+        while (i < limit && isLineBreak(buffer[i])) {
+            i++;
+        }
+        position = i;
+        if (i == limit) {
+            return eof ? END : MORE;
+        }
+        cellCount = 0;
+        while (true) {
+            if (i < limit && buffer[i] == '"') {
+                int start = i + 1;
+                int j = start;
+                while (true) {
+                    if (j == limit) {
+                        if (eof) {
+                            throw new IllegalStateException("Unterminated quoted value");
+                        }
+                        return MORE;
+                    }
+                    if (buffer[j] == '"') {
+                        if (j + 1 == limit && !eof) {
+                            return MORE;
+                        }
+                        if (j + 1 < limit && buffer[j + 1] == '"') {
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                addCell(start, j, true);
+                i = j + 1;
+            } else {
+                int j = i;
+                while (j < limit && buffer[j] != ',' && !isLineBreak(buffer[j])) {
+                    j++;
+                }
+                if (j == limit && !eof) {
+                    return MORE;
+                }
+                addCell(i, j, false);
+                i = j;
+            }
+            if (i == limit) {
+                if (!eof) {
+                    return MORE;
+                }
+                position = i;
+                return ROW;
+            }
+            char current = buffer[i];
+            if (current == ',') {
+                i++;
+            } else if (isLineBreak(current)) {
+                position = i;
+                return ROW;
+            } else {
+                throw new IllegalStateException("Expected separator, got: " + current);
+            }
+        }
+    }
+
+    private void addCell(int start, int end, boolean isQuoted) {
+        if (cellCount == starts.length) {
+            starts = Arrays.copyOf(starts, cellCount * 2);
+            ends = Arrays.copyOf(ends, cellCount * 2);
+            quoted = Arrays.copyOf(quoted, cellCount * 2);
+        }
+        starts[cellCount] = start;
+        ends[cellCount] = end;
+        quoted[cellCount] = isQuoted;
+        cellCount++;
+    }
+
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+}
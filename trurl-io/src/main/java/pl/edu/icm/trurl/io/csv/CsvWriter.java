@@ -19,18 +19,21 @@
 package pl.edu.icm.trurl.io.csv;
 
 import net.snowyhollows.bento.annotation.WithFactory;
+import pl.edu.icm.trurl.ecs.dao.annotation.GwtIncompatible;
 import pl.edu.icm.trurl.io.WriterProvider;
 import pl.edu.icm.trurl.io.store.SingleStoreWriter;
+import pl.edu.icm.trurl.store.ChangeTracker;
 import pl.edu.icm.trurl.store.StoreAccess;
 import pl.edu.icm.trurl.store.attribute.Attribute;
 
 import java.io.IOException;
-import java.io.Writer;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Writes stores as CSV files. Cells are formatted by CsvCellFormatter into a reusable buffer, which (outside of GWT)
+ * is encoded as UTF-8 straight into a FileChannel.
+ */
 public class CsvWriter implements SingleStoreWriter {
-    private final Pattern NEEDS_ESCAPE = Pattern.compile("[,\\n\\r\"]");
+    public static final String ROW_COLUMN = "#row";
     private final WriterProvider writerProvider;
 
     @WithFactory
@@ -40,62 +43,75 @@ public class CsvWriter implements SingleStoreWriter {
 
     @Override
     public void write(String outputPath, StoreAccess store) throws IOException {
-        try (Writer bufferedWriter = writerProvider.writerForFile(outputPath, 1024 * 1024 * 128)) {
-            write(bufferedWriter, store, 0, store.getCounter().getCount());
-        }
+        writeRange(outputPath, store, 0, store.getCounter().getCount());
     }
 
-    private void write(Writer bufferedWriter, StoreAccess store, int fromInclusive, int toExclusive) throws IOException {
-        Attribute[] attributes = store.getAllAttributes().toArray(new Attribute[]{});
-
-        for (int i = 0; i < attributes.length; i++) {
-            if (i != 0) {
-                bufferedWriter.write(',');
+    @Override
+    public void writeRange(String outputPath, StoreAccess store, int fromInclusive, int toExclusive) throws IOException {
+        try (CsvOutput output = open(outputPath)) {
+            Attribute[] attributes = store.getAllAttributes().toArray(new Attribute[]{});
+            CsvCellFormatter[] formatters = createFormatters(attributes);
+            writeHeader(output, attributes);
+            for (int row = fromInclusive; row < toExclusive; row++) {
+                writeRow(output, formatters, row);
             }
-            writeCharacters(bufferedWriter, attributes[i].name());
         }
+    }
 
-        bufferedWriter.write('\n');
-
-        for (int row = fromInclusive; row < toExclusive; row++) {
-            for (int i = 0; i < attributes.length; i++) {
-                if (i != 0) {
-                    bufferedWriter.write(',');
-                }
-                if (!attributes[i].isEmpty(row)) {
-                    writeCharacters(bufferedWriter, attributes[i].getString(row));
-                }
+    /**
+     * Writes the rows of the changed pages, preceded by their row numbers (in the ROW_COLUMN column).
+     */
+    @Override
+    public void writeChanges(String outputPath, StoreAccess store, ChangeTracker changes) throws IOException {
+        try (CsvOutput output = open(outputPath)) {
+            Attribute[] attributes = store.getAllAttributes().toArray(new Attribute[]{});
+            CsvCellFormatter[] formatters = createFormatters(attributes);
+            output.append(ROW_COLUMN);
+            output.append(',');
+            writeHeader(output, attributes);
+            int count = store.getCounter().getCount();
+            for (int row = changes.nextChanged(0); row >= 0 && row < count; row = changes.nextChanged(row + 1)) {
+                output.appendInt(row);
+                output.append(',');
+                writeRow(output, formatters, row);
             }
-            bufferedWriter.write('\n');
         }
     }
 
+    @GwtIncompatible
+    private CsvOutput open(String outputPath) {
+        return CsvOutput.of(writerProvider.channelForFile(outputPath));
+    }
+
+    private CsvOutput open(Object outputPath) {
+        return CsvOutput.of(writerProvider.writerForFile((String) outputPath, CsvOutput.DEFAULT_BUFFER_SIZE));
+    }
+
+    private CsvCellFormatter[] createFormatters(Attribute[] attributes) {
+        CsvCellFormatter[] formatters = new CsvCellFormatter[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            formatters[i] = CsvCellFormatter.forAttribute(attributes[i]);
+        }
+        return formatters;
+    }
 
-    private void writeCharacters(Writer writer, String chars) throws IOException {
-        if (NEEDS_ESCAPE.matcher(chars).find()) {
-            writeEscaped(writer, chars);
-        } else {
-            writer.write(chars);
+    private void writeHeader(CsvOutput output, Attribute[] attributes) throws IOException {
+        for (int i = 0; i < attributes.length; i++) {
+            if (i != 0) {
+                output.append(',');
+            }
+            output.appendEscaped(attributes[i].name());
         }
+        output.append('\n');
     }
 
-    private void writeEscaped(Writer writer, String chars) throws IOException {
-        int length = chars.length();
-        writer.write('"');
-        for (int i = 0; i < length; i++) {
-            char current = chars.charAt(i);
-            switch (current) {
-                case '"':
-                    writer.write("\"\"");
-                    break;
-                case '\n':
-                case '\r':
-                    writer.write("\\n");
-                    break;
-                default:
-                    writer.write(current);
+    private void writeRow(CsvOutput output, CsvCellFormatter[] formatters, int row) throws IOException {
+        for (int i = 0; i < formatters.length; i++) {
+            if (i != 0) {
+                output.append(',');
             }
+            formatters[i].format(row, output);
         }
-        writer.write('"');
+        output.append('\n');
     }
 }
@@ -6,4 +6,19 @@ import java.io.IOException;
 
 public interface SingleStoreReader {
     void read(String file, StoreAccess store) throws IOException;
+
+    /**
+     * Reads the rows written by SingleStoreWriter::writeChanges into their original places.
+     */
+    default void readChanges(String file, StoreAccess store) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support incremental checkpoints");
+    }
+
+    /**
+     * Reads a file written by SingleStoreWriter::writeRange into the given rows, which must already be allocated;
+     * the file must hold exactly that many rows.
+     */
+    default void readRange(String file, StoreAccess store, int fromInclusive, int toExclusive) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support partitioned files");
+    }
 }
@@ -1,6 +1,7 @@
 package pl.edu.icm.trurl.io.store;
 
 import net.snowyhollows.bento.annotation.ImplementationSwitch;
+import pl.edu.icm.trurl.store.ChangeTracker;
 import pl.edu.icm.trurl.store.StoreAccess;
 
 import java.io.IOException;
@@ -8,4 +9,20 @@ import java.io.IOException;
 public interface SingleStoreWriter {
     void write(String file, StoreAccess store) throws IOException;
 
+    /**
+     * Writes only the rows of the pages marked as changed, each with its row number, so that they can be
+     * read over an older state of the store (see SingleStoreReader::readChanges).
+     */
+    default void writeChanges(String file, StoreAccess store, ChangeTracker changes) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support incremental checkpoints");
+    }
+
+    /**
+     * Writes only the rows in the given range, so that a store can be written as several part files at once
+     * (see SingleStoreReader::readRange).
+     */
+    default void writeRange(String file, StoreAccess store, int fromInclusive, int toExclusive) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support partitioned files");
+    }
+
 }
@@ -1,11 +1,14 @@
 package pl.edu.icm.trurl.io.store;
 
+import net.snowyhollows.bento.annotation.ByName;
 import net.snowyhollows.bento.annotation.GwtIncompatible;
 import net.snowyhollows.bento.annotation.WithFactory;
+import pl.edu.icm.trurl.ecs.Counter;
 import pl.edu.icm.trurl.io.ReaderProvider;
 import pl.edu.icm.trurl.io.WriterProvider;
 import pl.edu.icm.trurl.io.parser.Parser;
 import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.Attribute;
 
 import java.io.File;
 import java.io.IOException;
@@ -13,35 +16,61 @@ import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.util.Arrays.asList;
 
 public class StoreIO {
+    public static final String PARALLELISM = "trurl.io.parallelism";
     private static final String PROPERTIES_EXTENSION = "properties";
     private static final String METADATA_FORMAT_FIELD = "format";
     private static final String METADATA_BASE_NAME_FIELD = "base-name";
     private static final String METADATA_SUBSTORES_FIELD = "substores";
+    private static final String METADATA_PARENT_FIELD = "parent";
+    private static final String METADATA_COUNT_FIELD = "count";
+    private static final String METADATA_PART_ROWS_FIELD = "part-rows";
+    private static final String METADATA_FREE_FIELD = "free";
     private final SingleStoreIOProvider singleStoreIOProvider;
     private final ReaderProvider readerProvider;
     private final WriterProvider writerProvider;
+    private final int parallelism;
+    @GwtIncompatible
+    private volatile ExecutorService executor;
 
-    @WithFactory
     public StoreIO(SingleStoreIOProvider singleStoreIOProvider, ReaderProvider readerProvider, WriterProvider writerProvider) {
+        this(singleStoreIOProvider, readerProvider, writerProvider, 1);
+    }
+
+    /**
+     * @param parallelism number of files (the top-level store and its substores) read or written concurrently;
+     *                    1 means one after another, 0 or less means "all available cores". Each concurrently
+     *                    written file holds its own output buffer.
+     */
+    @WithFactory
+    public StoreIO(SingleStoreIOProvider singleStoreIOProvider, ReaderProvider readerProvider, WriterProvider writerProvider,
+                   @ByName(value = PARALLELISM, fallbackValue = "1") int parallelism) {
         this.singleStoreIOProvider = singleStoreIOProvider;
         this.readerProvider = readerProvider;
         this.writerProvider = writerProvider;
+        this.parallelism = parallelism;
     }
 
     public void readStoreFromFiles(String metadataFile, Store store) throws IOException {
         Map<String, String> properties = loadProperties(metadataFile);
         String parentPath = getParentPath(metadataFile);
+        if (properties.containsKey(METADATA_PARENT_FIELD)) {
+            throw new IllegalArgumentException(metadataFile + " is an incremental checkpoint, use readCheckpoint");
+        }
 
         String format = properties.get(METADATA_FORMAT_FIELD);
         String baseName = properties.get(METADATA_BASE_NAME_FIELD);
-        String substores = properties.get(METADATA_SUBSTORES_FIELD);
 
         SingleStoreReader singleStoreReader = singleStoreIOProvider.getReaderFor(format);
-        loadFiles(store, singleStoreReader, parentPath, format, baseName, substores);
+        loadFiles(store, singleStoreReader, parentPath, format, baseName, properties);
+        store.resync();
     }
 
     private static String getParentPath(String metadataFile) {
@@ -50,22 +79,90 @@ public class StoreIO {
     }
 
     public void writeStoreToFiles(String metadataFile, String baseName, Store store, String format) throws IOException {
+        writeFiles(metadataFile, baseName, store, format, null, 0);
+    }
+
+    /**
+     * Like writeStoreToFiles, but splits each store into part files (baseName.part-0000.format,
+     * baseName.part-0001.format, ...) of rowsPerPart rows each, so that a single large store can be written
+     * and read by several threads (see the parallelism of this StoreIO). readStoreFromFiles reads the parts back
+     * into consecutive rows of an empty store.
+     *
+     * @param rowsPerPart the number of rows in a part file; 0 or less means a single file per store
+     */
+    public void writeStoreToFiles(String metadataFile, String baseName, Store store, String format, int rowsPerPart) throws IOException {
+        writeFiles(metadataFile, baseName, store, format, null, rowsPerPart);
+    }
+
+    /**
+     * Writes a checkpoint of the store, to be read with readCheckpoint. A checkpoint without a parent is a full
+     * snapshot, like the one written by writeStoreToFiles; any other only holds the pages of rows changed since
+     * its parent was written (see ChangeTracker), so restoring it reads the whole chain. The change trackers
+     * of the store are reset afterwards.
+     * <p>
+     * Nothing may write to the store in the meantime; all the sessions should be flushed before.
+     *
+     * @param parentMetadataFile the metadata file of the previous checkpoint (absolute, or relative to the directory
+     *                           of metadataFile), or null for a full snapshot
+     */
+    public void writeCheckpoint(String metadataFile, String baseName, Store store, String format, String parentMetadataFile) throws IOException {
+        writeFiles(metadataFile, baseName, store, format, parentMetadataFile, 0);
+        resetChanges(store);
+    }
+
+    /**
+     * Reads a checkpoint written by writeCheckpoint, starting from the full snapshot at the beginning of its chain,
+     * into an empty store.
+     */
+    public void readCheckpoint(String metadataFile, Store store) throws IOException {
+        Map<String, String> properties = loadProperties(metadataFile);
+        String parentPath = getParentPath(metadataFile);
+
+        String format = properties.get(METADATA_FORMAT_FIELD);
+        String baseName = properties.get(METADATA_BASE_NAME_FIELD);
+        String parent = properties.get(METADATA_PARENT_FIELD);
+
+        SingleStoreReader singleStoreReader = singleStoreIOProvider.getReaderFor(format);
+        if (parent == null) {
+            loadFiles(store, singleStoreReader, parentPath, format, baseName, properties);
+        } else {
+            readCheckpoint(resolve(parentPath, parent), store);
+            loadChanges(store, singleStoreReader, parentPath, format, baseName, properties);
+        }
+        resetChanges(store);
+        store.resync();
+    }
+
+    private void writeFiles(String metadataFile, String baseName, Store store, String format, String parentMetadataFile, int rowsPerPart) throws IOException {
         String parentDir = getParent(metadataFile);
         checkFileExtension(metadataFile);
 
         Map<String, String> properties = new HashMap<>();
         properties.put(METADATA_BASE_NAME_FIELD, baseName);
         properties.put(METADATA_FORMAT_FIELD, format);
+        properties.put(METADATA_COUNT_FIELD, Integer.toString(store.getCounter().getCount()));
+        putFree(properties, METADATA_FREE_FIELD, store.getCounter());
+        if (parentMetadataFile != null) {
+            properties.put(METADATA_PARENT_FIELD, parentMetadataFile);
+        }
+        if (rowsPerPart > 0) {
+            properties.put(METADATA_PART_ROWS_FIELD, Integer.toString(rowsPerPart));
+        }
 
         SingleStoreWriter singleStoreWriter = singleStoreIOProvider.getWriterFor(format);
-        singleStoreWriter.write(getFile(parentDir, baseName, format), store);
+        boolean changesOnly = parentMetadataFile != null;
+        ArrayList<IOTask> tasks = new ArrayList<>();
+        addWriteTasks(tasks, singleStoreWriter, parentDir, baseName, format, store, changesOnly, rowsPerPart);
 
         List<String> substoresNamespaces = new LinkedList<>();
         for (Store substore : store.allDescendants()) {
             String namespace = substore.getName();
             substoresNamespaces.add(namespace);
-            singleStoreWriter.write(getFile(parentDir, baseName + "." + namespace, format), substore);
+            properties.put(METADATA_COUNT_FIELD + "." + namespace, Integer.toString(substore.getCounter().getCount()));
+            putFree(properties, METADATA_FREE_FIELD + "." + namespace, substore.getCounter());
+            addWriteTasks(tasks, singleStoreWriter, parentDir, baseName + "." + namespace, format, substore, changesOnly, rowsPerPart);
         }
+        runAll(tasks);
 
         properties.put(METADATA_SUBSTORES_FIELD, String.join(",", substoresNamespaces));
         try (Writer writer = writerProvider.writerForFile(metadataFile, 1024)) {
@@ -77,24 +174,271 @@ public class StoreIO {
         }
     }
 
+    private static void addWriteTasks(ArrayList<IOTask> tasks, SingleStoreWriter singleStoreWriter, String parentDir, String name, String format,
+                                      Store store, boolean changesOnly, int rowsPerPart) {
+        if (rowsPerPart <= 0) {
+            String file = getFile(parentDir, name, format);
+            tasks.add(() -> writeFile(singleStoreWriter, file, store, changesOnly));
+            return;
+        }
+        int count = store.getCounter().getCount();
+        int parts = getPartCount(count, rowsPerPart);
+        for (int part = 0; part < parts; part++) {
+            String file = getFile(parentDir, getPartName(name, part), format);
+            int from = part * rowsPerPart;
+            int to = Math.min(count, from + rowsPerPart);
+            tasks.add(() -> singleStoreWriter.writeRange(file, store, from, to));
+        }
+    }
+
+    private static void writeFile(SingleStoreWriter singleStoreWriter, String file, Store store, boolean changesOnly) throws IOException {
+        if (changesOnly) {
+            singleStoreWriter.writeChanges(file, store, store.getChangeTracker());
+        } else {
+            singleStoreWriter.write(file, store);
+        }
+    }
+
     private String getParent(String metadataFile) {
         return getParentPath(metadataFile);
     }
 
-    private void loadFiles(Store store, SingleStoreReader singleStoreReader, String parentDir, String format, String baseName, String substores) throws IOException {
-        List<String> substoreNames = new ArrayList<>(asList(substores.split(",")));
-        singleStoreReader.read(getFile(parentDir, baseName, format), store);
+    private void loadFiles(Store store, SingleStoreReader singleStoreReader, String parentDir, String format, String baseName, Map<String, String> properties) throws IOException {
+        List<String> substoreNames = new ArrayList<>(asList(properties.get(METADATA_SUBSTORES_FIELD).split(",")));
+        String partRows = properties.get(METADATA_PART_ROWS_FIELD);
+        int rowsPerPart = partRows == null ? 0 : Integer.parseInt(partRows);
+        ArrayList<IOTask> tasks = new ArrayList<>();
+        ArrayList<Runnable> frees = new ArrayList<>();
+        addReadTasks(tasks, singleStoreReader, parentDir, baseName, format, store, properties.get(METADATA_COUNT_FIELD), rowsPerPart);
+        addFree(frees, store, properties.get(METADATA_FREE_FIELD));
         for (Store substore : store.allDescendants()) {
             String namespace = substore.getName();
             if (!substoreNames.contains(namespace)) {
                 throw new IllegalStateException("No loading candidate found for substore: " + namespace);
             }
-            singleStoreReader.read(getFile(parentDir, baseName + "." + namespace, format), substore);
+            addReadTasks(tasks, singleStoreReader, parentDir, baseName + "." + namespace, format, substore,
+                    properties.get(METADATA_COUNT_FIELD + "." + namespace), rowsPerPart);
+            addFree(frees, substore, properties.get(METADATA_FREE_FIELD + "." + namespace));
             substoreNames.remove(namespace);
         }
         if (!substoreNames.isEmpty()) {
             System.out.println("Some substores are available to load, but were not loaded. Omitted substores: " + String.join(", ", substoreNames));
         }
+        runAll(tasks);
+        for (Runnable free : frees) {
+            free.run();
+        }
+    }
+
+    /**
+     * Schedules freeing the rows which were free when the store was written, once it is read; the store is
+     * read after the rows it already had (if any), so the freed rows are moved by their number.
+     */
+    private static void addFree(ArrayList<Runnable> frees, Store store, String free) {
+        if (free != null) {
+            int first = store.getCounter().getCount();
+            frees.add(() -> free(store.getCounter(), first, free));
+        }
+    }
+
+    /**
+     * Saves the ids freed in the counter as a list of ranges ("from-to" or a single id, separated by commas),
+     * so that they are not taken as used when the store is read back.
+     */
+    private static void putFree(Map<String, String> properties, String key, Counter counter) {
+        StringBuilder free = new StringBuilder();
+        int count = counter.getCount();
+        int id = counter.nextFree(0);
+        while (id >= 0) {
+            int end = counter.nextUsed(id);
+            if (end < 0 || end > count) {
+                end = count;
+            }
+            if (free.length() > 0) {
+                free.append(',');
+            }
+            free.append(id);
+            if (end - id > 1) {
+                free.append('-').append(end - 1);
+            }
+            id = counter.nextFree(end);
+        }
+        if (free.length() > 0) {
+            properties.put(key, free.toString());
+        }
+    }
+
+    private static void free(Counter counter, int offset, String free) {
+        for (String range : free.split(",")) {
+            int dash = range.indexOf('-');
+            int from = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+            int to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1));
+            counter.free(offset + from, to - from + 1);
+        }
+    }
+
+    /**
+     * Adds the tasks reading a single store; the store is grown up front to the recorded row count (e.g. a
+     * substore of a DenseJoin, which starts small), and the rows of all its parts are allocated up front,
+     * in the order of the parts, so the parts can be read concurrently.
+     */
+    private static void addReadTasks(ArrayList<IOTask> tasks, SingleStoreReader singleStoreReader, String parentDir, String name, String format,
+                                     Store store, String count, int rowsPerPart) {
+        if (rowsPerPart <= 0) {
+            if (count != null) {
+                int capacity = store.getCounter().getCount() + Integer.parseInt(count);
+                if (capacity > store.getEnsuredCapacity()) {
+                    store.ensureCapacity(capacity);
+                }
+            }
+            String file = getFile(parentDir, name, format);
+            tasks.add(() -> singleStoreReader.read(file, store));
+            return;
+        }
+        if (count == null) {
+            throw new IllegalStateException("No row count found for the parts of " + name);
+        }
+        int rows = Integer.parseInt(count);
+        int first = rows > 0 ? store.getCounter().next(rows) : store.getCounter().getCount();
+        if (first + rows > store.getEnsuredCapacity()) {
+            store.ensureCapacity(first + rows);
+        }
+        int parts = getPartCount(rows, rowsPerPart);
+        for (int part = 0; part < parts; part++) {
+            String file = getFile(parentDir, getPartName(name, part), format);
+            int from = first + part * rowsPerPart;
+            int to = Math.min(first + rows, from + rowsPerPart);
+            tasks.add(() -> singleStoreReader.readRange(file, store, from, to));
+        }
+    }
+
+    /**
+     * An empty store still gets a single (empty) part, so that its file exists.
+     */
+    private static int getPartCount(int count, int rowsPerPart) {
+        return Math.max(1, (int) ((count + (long) rowsPerPart - 1) / rowsPerPart));
+    }
+
+    private static String getPartName(String name, int part) {
+        String number = Integer.toString(part);
+        return name + ".part-" + "0000".substring(Math.min(4, number.length())) + number;
+    }
+
+    private void loadChanges(Store store, SingleStoreReader singleStoreReader, String parentDir, String format, String baseName, Map<String, String> properties) throws IOException {
+        resize(store, Integer.parseInt(properties.get(METADATA_COUNT_FIELD)), properties.get(METADATA_FREE_FIELD));
+        ArrayList<IOTask> tasks = new ArrayList<>();
+        String rootFile = getFile(parentDir, baseName, format);
+        tasks.add(() -> singleStoreReader.readChanges(rootFile, store));
+        for (Store substore : store.allDescendants()) {
+            String namespace = substore.getName();
+            String count = properties.get(METADATA_COUNT_FIELD + "." + namespace);
+            if (count == null) {
+                throw new IllegalStateException("No loading candidate found for substore: " + namespace);
+            }
+            resize(substore, Integer.parseInt(count), properties.get(METADATA_FREE_FIELD + "." + namespace));
+            String file = getFile(parentDir, baseName + "." + namespace, format);
+            tasks.add(() -> singleStoreReader.readChanges(file, substore));
+        }
+        runAll(tasks);
+    }
+
+    /**
+     * Runs the tasks concurrently, unless the parallelism is 1; the files of different stores are independent.
+     * (GWT, lacking threads, only sees the sequential overload below.)
+     */
+    @GwtIncompatible
+    private void runAll(ArrayList<IOTask> tasks) throws IOException {
+        if (parallelism == 1 || tasks.size() == 1) {
+            runAll((List<IOTask>) tasks);
+            return;
+        }
+        List<Future<Void>> futures = new ArrayList<>(tasks.size());
+        for (IOTask task : tasks) {
+            futures.add(getExecutor().submit(() -> {
+                task.run();
+                return null;
+            }));
+        }
+        await(futures);
+    }
+
+    private void runAll(List<IOTask> tasks) throws IOException {
+        for (IOTask task : tasks) {
+            task.run();
+        }
+    }
+
+    @GwtIncompatible
+    private void await(List<Future<Void>> futures) throws IOException {
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for store files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @GwtIncompatible
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), runnable -> {
+                        Thread thread = new Thread(runnable, "trurl-store-io");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private interface IOTask {
+        void run() throws IOException;
+    }
+
+    /**
+     * Makes the store use exactly count rows, like it did when the checkpoint was written, with the same
+     * rows free; the rows past the count (left after a compaction) are emptied.
+     */
+    private static void resize(Store store, int count, String free) {
+        int current = store.getCounter().getCount();
+        if (count > store.getEnsuredCapacity()) {
+            store.ensureCapacity(count);
+        }
+        for (Attribute attribute : store.getAllAttributes()) {
+            for (int row = count; row < current; row++) {
+                attribute.setEmpty(row);
+            }
+        }
+        store.getCounter().reset(count);
+        if (free != null) {
+            free(store.getCounter(), 0, free);
+        }
+    }
+
+    private static void resetChanges(Store store) {
+        store.getChangeTracker().reset();
+        for (Store substore : store.allDescendants()) {
+            substore.getChangeTracker().reset();
+        }
     }
 
     private Map<String, String> loadProperties(String path) throws IOException {
@@ -120,6 +464,15 @@ public class StoreIO {
        return parentDir + "/" + name + "." + format;
     }
 
+    @GwtIncompatible
+    private static String resolve(String parentDir, String path) {
+        return Paths.get(parentDir).resolve(path).toString();
+    }
+
+    private static String resolve(Object parentDir, String path) {
+        return path.startsWith("/") ? path : parentDir + "/" + path;
+    }
+
 
     private static String getExtensionFromPath(String path) {
         return Optional.ofNullable(path)
@@ -1,7 +1,11 @@
 package pl.edu.icm.trurl.io.orc;
 
 import net.snowyhollows.bento.annotation.WithFactory;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.orc.Reader;
 import org.apache.orc.RecordReader;
@@ -11,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import pl.edu.icm.trurl.io.orc.wrapper.AbstractColumnWrapper;
 import pl.edu.icm.trurl.io.store.SingleStoreReader;
 import pl.edu.icm.trurl.store.StoreAccess;
+import pl.edu.icm.trurl.store.attribute.Attribute;
 
 import java.io.File;
 import java.io.IOException;
@@ -36,25 +41,155 @@ public class OrcReader implements SingleStoreReader {
 
     @Override
     public void read(String fileName, StoreAccess store) throws IOException {
-        File file = new File(fileName);
-        TypeDescription schema;
-        VectorizedRowBatch batch;
-        RecordReader rows;
-        try (Reader reader = orcImplementationsService.createReader(file.getAbsolutePath())) {
-            schema = reader.getSchema();
-            batch = schema.createRowBatch();
-            rows = reader.rows();
-            store.getAllAttributes().forEach(attribute -> attribute.ensureCapacity((int) reader.getNumberOfRows()));
+        read(fileName, store, null);
+    }
+
+    /**
+     * Appends the rows of the file accepted by the filter to the store; the rows are allocated with
+     * store.getCounter(), in the order of the file.
+     *
+     * @param filter  the rows to read, or null for all of them; the columns it refers to are read from the file
+     *                even if not listed. Whole stripes and row groups are skipped using the statistics of the file.
+     * @param columns the attributes to fill; none means all the attributes of the store found in the file.
+     *                The other columns are not read from the file at all.
+     */
+    public void read(String fileName, StoreAccess store, SearchArgument filter, String... columns) throws IOException {
+        try (Reader reader = orcImplementationsService.createReader(new File(fileName).getAbsolutePath())) {
+            TypeDescription schema = reader.getSchema();
+            VectorizedRowBatch batch = schema.createRowBatch();
+            List<AbstractColumnWrapper> wrappers = createWrappers(schema, batch, store, columns);
+
+            boolean[] include = new boolean[schema.getMaximumId() + 1];
+            include[schema.getId()] = true;
+            for (AbstractColumnWrapper wrapper : wrappers) {
+                includeColumn(include, schema, wrapper.getName());
+            }
+            Reader.Options options = reader.options().include(include);
+            if (filter != null) {
+                for (PredicateLeaf leaf : filter.getLeaves()) {
+                    includeColumn(include, schema, leaf.getColumnName());
+                }
+                options.searchArgument(filter, schema.getFieldNames().toArray(new String[0]))
+                        .allowSARGToFilter(true)
+                        .useSelected(true);
+            }
+
+            int capacity = store.getCounter().getCount() + (int) reader.getNumberOfRows();
+            store.getAllAttributes().forEach(attribute -> attribute.ensureCapacity(capacity));
+
+            try (RecordReader rows = reader.rows(options)) {
+                while (rows.nextBatch(batch)) {
+                    if (batch.size == 0) {
+                        continue;
+                    }
+                    int first = store.getCounter().next(batch.size);
+                    int[] selected = batch.selectedInUse ? batch.selected : null;
+                    for (AbstractColumnWrapper wrapper : wrappers) {
+                        wrapper.readFromColumnVector(first, selected, batch.size);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a file written by OrcWriter::writeRange into the given rows, which must already be allocated.
+     */
+    @Override
+    public void readRange(String fileName, StoreAccess store, int fromInclusive, int toExclusive) throws IOException {
+        try (Reader reader = orcImplementationsService.createReader(new File(fileName).getAbsolutePath())) {
+            if (reader.getNumberOfRows() != toExclusive - fromInclusive) {
+                throw new IllegalStateException("Expected " + (toExclusive - fromInclusive) + " rows in " + fileName + ", found " + reader.getNumberOfRows());
+            }
+            TypeDescription schema = reader.getSchema();
+            VectorizedRowBatch batch = schema.createRowBatch();
+            List<AbstractColumnWrapper> wrappers = createWrappers(schema, batch, store);
+            int targetRow = fromInclusive;
+            try (RecordReader rows = reader.rows()) {
+                while (rows.nextBatch(batch)) {
+                    for (AbstractColumnWrapper wrapper : wrappers) {
+                        wrapper.readFromColumnVector(targetRow, batch.size);
+                    }
+                    targetRow += batch.size;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a file written by OrcWriter::writeChanges; the rows must already be allocated.
+     */
+    @Override
+    public void readChanges(String fileName, StoreAccess store) throws IOException {
+        try (Reader reader = orcImplementationsService.createReader(new File(fileName).getAbsolutePath())) {
+            TypeDescription schema = reader.getSchema();
+            List<String> fieldNames = schema.getFieldNames();
+            if (fieldNames.isEmpty() || !fieldNames.get(0).equals(OrcWriter.ROW_COLUMN)) {
+                throw new IllegalStateException("Expected the " + OrcWriter.ROW_COLUMN + " column first in " + fileName);
+            }
+            VectorizedRowBatch batch = schema.createRowBatch();
+            List<AbstractColumnWrapper> wrappers = new ArrayList<>();
+            for (int i = 1; i < fieldNames.size(); i++) {
+                Attribute attribute = store.get(fieldNames.get(i));
+                if (attribute == null) {
+                    throw new IllegalStateException("No attribute " + fieldNames.get(i) + " in the store");
+                }
+                AbstractColumnWrapper wrapper = AbstractColumnWrapper.create(attribute);
+                wrapper.setColumnVector(batch.cols[i]);
+                wrappers.add(wrapper);
+            }
+
+            LongColumnVector rowNumbers = (LongColumnVector) batch.cols[0];
+            int[] selected = new int[batch.getMaxSize()];
+            try (RecordReader rows = reader.rows()) {
+                while (rows.nextBatch(batch)) {
+                    rowNumbers.flatten(false, null, batch.size);
+                    int start = 0;
+                    while (start < batch.size) {
+                        int firstRow = (int) rowNumbers.vector[start];
+                        int size = 0;
+                        while (start + size < batch.size && rowNumbers.vector[start + size] == firstRow + size) {
+                            selected[size] = start + size;
+                            size++;
+                        }
+                        for (AbstractColumnWrapper wrapper : wrappers) {
+                            wrapper.readFromColumnVector(firstRow, selected, size);
+                        }
+                        start += size;
+                    }
+                }
+            }
         }
+    }
+
+    /**
+     * Creates the wrappers of the given attributes (all the attributes of the store present in the file, if none
+     * are given), reading from the batch; the other columns of the file are ignored.
+     */
+    private List<AbstractColumnWrapper> createWrappers(TypeDescription schema, VectorizedRowBatch batch, StoreAccess store, String... columns) {
         List<AbstractColumnWrapper> wrappers = new ArrayList<>();
-        List<String> unusedFieldNames = new ArrayList<>(schema.getFieldNames());
+        List<String> fieldNames = schema.getFieldNames();
 
+        if (columns.length > 0) {
+            for (String column : columns) {
+                Attribute attribute = store.get(column);
+                if (attribute == null) {
+                    throw new IllegalArgumentException("No attribute " + column + " in the store");
+                }
+                int iof = fieldNames.indexOf(column);
+                if (iof < 0) {
+                    throw new IllegalArgumentException("No column " + column + " in the file");
+                }
+                wrappers.add(createWrapper(attribute, batch.cols[iof]));
+            }
+            return wrappers;
+        }
+
+        List<String> unusedFieldNames = new ArrayList<>(fieldNames);
         store.getAllAttributes().forEach(attribute -> {
-            int iof = schema.getFieldNames().indexOf(attribute.name());
+            int iof = fieldNames.indexOf(attribute.name());
             if (iof >= 0) {
-                AbstractColumnWrapper wrapper = AbstractColumnWrapper.create(attribute);
-                wrapper.setColumnVector(batch.cols[iof]);
-                wrappers.add(wrapper);
+                wrappers.add(createWrapper(attribute, batch.cols[iof]));
                 unusedFieldNames.remove(attribute.name());
             }
         });
@@ -62,16 +197,19 @@ public class OrcReader implements SingleStoreReader {
         if (!unusedFieldNames.isEmpty()) {
             logger.warn("ignoring columns: " + unusedFieldNames);
         }
+        return wrappers;
+    }
 
-        int targetRow = 0;
-        while (rows.nextBatch(batch)) {
-            for (AbstractColumnWrapper wrapper : wrappers) {
-                wrapper.readFromColumnVector(targetRow, batch.size);
-            }
-            targetRow += batch.size;
-        }
+    private static AbstractColumnWrapper createWrapper(Attribute attribute, ColumnVector columnVector) {
+        AbstractColumnWrapper wrapper = AbstractColumnWrapper.create(attribute);
+        wrapper.setColumnVector(columnVector);
+        return wrapper;
+    }
 
-        // TODO
-//        store.fireUnderlyingDataChanged(0, targetRow);
+    private static void includeColumn(boolean[] include, TypeDescription schema, String name) {
+        TypeDescription column = schema.findSubtype(name);
+        for (int id = column.getId(); id <= column.getMaximumId(); id++) {
+            include[id] = true;
+        }
     }
 }
@@ -20,12 +20,14 @@ package pl.edu.icm.trurl.io.orc;
 
 import com.google.common.io.Files;
 import net.snowyhollows.bento.annotation.WithFactory;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.orc.TypeDescription;
 import org.apache.orc.Writer;
 import pl.edu.icm.trurl.io.orc.wrapper.AbstractColumnWrapper;
 import pl.edu.icm.trurl.io.store.SingleStoreWriter;
+import pl.edu.icm.trurl.store.ChangeTracker;
 import pl.edu.icm.trurl.store.StoreAccess;
 
 import java.io.File;
@@ -37,6 +39,7 @@ import java.util.stream.Collectors;
  * Service for persisting data stores to a local file system as ORC files.
  */
 public class OrcWriter implements SingleStoreWriter {
+    public static final String ROW_COLUMN = "#row";
     private final OrcImplementationsService orcImplementationsService;
 
     public OrcWriter(OrcImplementationsService orcImplementationsService) {
@@ -52,9 +55,35 @@ public class OrcWriter implements SingleStoreWriter {
 
     @Override
     public void write(String fileName, StoreAccess store) throws IOException {
+        write(fileName, store, 0, store.getCounter().getCount(), null);
+    }
+
+    /**
+     * Writes the rows of the given range, to be read with OrcReader::readRange.
+     */
+    @Override
+    public void writeRange(String fileName, StoreAccess store, int fromInclusive, int toExclusive) throws IOException {
+        write(fileName, store, fromInclusive, toExclusive, null);
+    }
+
+    /**
+     * Writes the rows of the changed pages, with their row numbers in the first (ROW_COLUMN) column.
+     */
+    @Override
+    public void writeChanges(String fileName, StoreAccess store, ChangeTracker changes) throws IOException {
+        write(fileName, store, 0, store.getCounter().getCount(), changes);
+    }
+
+    /**
+     * Writes the rows from the given range, or only the changed ones (preceded by their row numbers) if
+     * changes are given; every batch holds consecutive rows.
+     */
+    private void write(String fileName, StoreAccess store, int fromInclusive, int toExclusive, ChangeTracker changes) throws IOException {
         File file = new File(fileName);
-        int count = store.getCounter().getCount();
         TypeDescription typeDescription = TypeDescription.createStruct();
+        if (changes != null) {
+            typeDescription.addField(ROW_COLUMN, TypeDescription.createInt());
+        }
         List<AbstractColumnWrapper> wrappers = store.getAllAttributes().stream().map(AbstractColumnWrapper::create).collect(Collectors.toList());
 
         wrappers.forEach(wrapper -> typeDescription.addField(wrapper.getName(), wrapper.getTypeDescription()));
@@ -62,27 +91,37 @@ public class OrcWriter implements SingleStoreWriter {
         VectorizedRowBatch batch = typeDescription.createRowBatch();
         batch.reset();
         int maxSize = batch.getMaxSize();
-        for (int i = 0; i < batch.cols.length; i++) {
-            wrappers.get(i).setColumnVector(batch.cols[i]);
+        int firstColumn = changes != null ? 1 : 0;
+        for (int i = 0; i < wrappers.size(); i++) {
+            wrappers.get(i).setColumnVector(batch.cols[firstColumn + i]);
         }
 
         Files.createParentDirs(file);
         Writer writer = orcImplementationsService.createWriter(file.toString(), typeDescription);
         batch.reset();
 
-        int fullBatches = count / maxSize;
-        int rest = count % maxSize;
-
-        for (int row = 0; row < fullBatches * maxSize; row += maxSize) {
-            writeSingleBatch(wrappers, batch, maxSize, writer, row);
-        }
-        if (rest > 0) {
-            writeSingleBatch(wrappers, batch, rest, writer, fullBatches * maxSize);
+        if (changes == null) {
+            for (int row = fromInclusive; row < toExclusive; row += maxSize) {
+                writeSingleBatch(wrappers, batch, Math.min(maxSize, toExclusive - row), writer, row);
+            }
+        } else {
+            LongColumnVector rows = (LongColumnVector) batch.cols[0];
+            int row = changes.nextChanged(fromInclusive);
+            while (row >= 0 && row < toExclusive) {
+                int size = 1;
+                while (size < maxSize && row + size < toExclusive && changes.isChanged(row + size)) {
+                    size++;
+                }
+                for (int i = 0; i < size; i++) {
+                    rows.vector[i] = row + i;
+                }
+                writeSingleBatch(wrappers, batch, size, writer, row);
+                row = changes.nextChanged(row + size);
+            }
         }
         writer.close();
     }
 
-
     private void writeSingleBatch(List<AbstractColumnWrapper> wrappers,
                                   VectorizedRowBatch batch,
                                   int size,
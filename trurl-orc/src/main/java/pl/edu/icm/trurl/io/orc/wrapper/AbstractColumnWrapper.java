@@ -81,11 +81,40 @@ public abstract class AbstractColumnWrapper<T extends ColumnVector, A extends At
      * @param fromRow
      * @param numberOfRows
      */
-    public abstract void readFromColumnVector(int fromRow, int numberOfRows);
+    public final void readFromColumnVector(int fromRow, int numberOfRows) {
+        readFromColumnVector(fromRow, null, numberOfRows);
+    }
 
+    /**
+     * Copies the selected entries of the columnVector into consecutive rows of the attribute
+     * @param fromRow
+     * @param selected ascending indexes of the entries (e.g. the rows of a batch accepted by a filter), or null
+     *                 for the first numberOfRows entries
+     * @param numberOfRows
+     */
+    public final void readFromColumnVector(int fromRow, int[] selected, int numberOfRows) {
+        if (columnVector == null) {
+            for (int i = 0; i < numberOfRows; i++) {
+                attribute.setEmpty(fromRow + i);
+            }
+            return;
+        }
+        columnVector.flatten(false, null, selected == null || numberOfRows == 0 ? numberOfRows : selected[numberOfRows - 1] + 1);
+        for (int i = 0; i < numberOfRows; i++) {
+            int vectorIndex = selected == null ? i : selected[i];
+            int targetRow = fromRow + i;
+            if (columnVector.isNull[vectorIndex]) {
+                attribute.setEmpty(targetRow);
+            } else {
+                readValue(vectorIndex, targetRow);
+            }
+        }
+    }
 
     abstract void handleValue(int vectorIndex, int attributeRow);
 
+    abstract void readValue(int vectorIndex, int attributeRow);
+
     abstract void rememberFirstValue(int attributeRow);
 
     /**
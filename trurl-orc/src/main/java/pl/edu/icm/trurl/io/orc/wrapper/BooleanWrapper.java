@@ -50,15 +50,7 @@ final class BooleanWrapper extends AbstractColumnWrapper<LongColumnVector, Boole
     }
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        columnVector.flatten(false, null, numberOfRows);
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                attribute.setBoolean(targetRow, columnVector.vector[i] == 1);
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setBoolean(attributeRow, columnVector.vector[vectorIndex] == 1);
     }
 }
@@ -51,22 +51,7 @@ public final class ByteWrapper extends AbstractColumnWrapper<LongColumnVector, B
 
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        if (columnVector == null) {
-            for (int i = 0; i < numberOfRows; i++) {
-                int targetRow = fromRow + i;
-                attribute.setEmpty(targetRow);
-            }
-        } else {
-            columnVector.flatten(false, null, numberOfRows);
-            for (int i = 0; i < numberOfRows; i++) {
-                int targetRow = fromRow + i;
-                if (columnVector.isNull[i]) {
-                    attribute.setEmpty(targetRow);
-                } else {
-                    attribute.setByte(targetRow, (byte) columnVector.vector[i]);
-                }
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setByte(attributeRow, (byte) columnVector.vector[vectorIndex]);
     }
 }
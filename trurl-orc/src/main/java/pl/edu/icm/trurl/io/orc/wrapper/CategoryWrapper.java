@@ -52,21 +52,7 @@ final class CategoryWrapper<E extends Category> extends AbstractColumnWrapper<Lo
 
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        if (columnVector == null) {
-            for (int i = 0; i < numberOfRows; i++) {
-                int targetRow = fromRow + i;
-                attribute.setEmpty(targetRow);
-            }
-        } else {
-            for (int i = 0; i < numberOfRows; i++) {
-                int targetRow = fromRow + i;
-                if (columnVector.isNull[i]) {
-                    attribute.setEmpty(targetRow);
-                } else {
-                    attribute.setOrdinal(targetRow, (byte) columnVector.vector[i]);
-                }
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setOrdinal(attributeRow, (byte) columnVector.vector[vectorIndex]);
     }
 }
@@ -51,15 +51,7 @@ final class DoubleWrapper extends AbstractColumnWrapper<DoubleColumnVector, Doub
 
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        columnVector.flatten(false, null, numberOfRows);
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                attribute.setDouble(targetRow, columnVector.vector[i]);
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setDouble(attributeRow, columnVector.vector[vectorIndex]);
     }
 }
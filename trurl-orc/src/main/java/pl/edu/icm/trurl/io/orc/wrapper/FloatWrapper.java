@@ -51,14 +51,7 @@ final class FloatWrapper extends AbstractColumnWrapper<DoubleColumnVector, Float
 
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                attribute.setFloat(targetRow, (float) columnVector.vector[i]);
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setFloat(attributeRow, (float) columnVector.vector[vectorIndex]);
     }
 }
@@ -67,20 +67,12 @@ final class IntListWrapper extends AbstractColumnWrapper<BytesColumnVector, IntL
     }
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        columnVector.flatten(false, null, numberOfRows);
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                bytes.clear();
-                bytes.put(columnVector.vector[i], columnVector.start[i], columnVector.length[i]);
-                ids.rewind();
-                int size = bytes.position() / 4;
-                ids.limit(size);
-                attribute.saveInts(targetRow, size, ids::get);
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        bytes.clear();
+        bytes.put(columnVector.vector[vectorIndex], columnVector.start[vectorIndex], columnVector.length[vectorIndex]);
+        ids.rewind();
+        int size = bytes.position() / 4;
+        ids.limit(size);
+        attribute.saveInts(attributeRow, size, ids::get);
     }
 }
@@ -50,15 +50,7 @@ final class IntWrapper extends AbstractColumnWrapper<LongColumnVector, IntAttrib
     }
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        columnVector.flatten(false, null, numberOfRows);
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                attribute.setInt(targetRow, (int) columnVector.vector[i]);
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setInt(attributeRow, (int) columnVector.vector[vectorIndex]);
     }
 }
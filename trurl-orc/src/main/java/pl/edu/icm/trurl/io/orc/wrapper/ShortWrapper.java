@@ -51,15 +51,7 @@ final class ShortWrapper extends AbstractColumnWrapper<LongColumnVector, ShortAt
 
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        columnVector.flatten(false, null, numberOfRows);
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                attribute.setShort(targetRow, (short) columnVector.vector[i]);
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setShort(attributeRow, (short) columnVector.vector[vectorIndex]);
     }
 }
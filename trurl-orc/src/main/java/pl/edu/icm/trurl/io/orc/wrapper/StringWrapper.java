@@ -54,19 +54,11 @@ final class StringWrapper extends AbstractColumnWrapper<BytesColumnVector, Strin
 
 
     @Override
-    public void readFromColumnVector(int fromRow, int numberOfRows) {
-        columnVector.flatten(false, null, numberOfRows);
-        for (int i = 0; i < numberOfRows; i++) {
-            int targetRow = fromRow + i;
-            if (columnVector.isNull[i]) {
-                attribute.setEmpty(targetRow);
-            } else {
-                attribute.setString(targetRow, new String(
-                        columnVector.vector[i],
-                        columnVector.start[i],
-                        columnVector.length[i],
-                        StandardCharsets.UTF_8));
-            }
-        }
+    void readValue(int vectorIndex, int attributeRow) {
+        attribute.setString(attributeRow, new String(
+                columnVector.vector[vectorIndex],
+                columnVector.start[vectorIndex],
+                columnVector.length[vectorIndex],
+                StandardCharsets.UTF_8));
     }
 }
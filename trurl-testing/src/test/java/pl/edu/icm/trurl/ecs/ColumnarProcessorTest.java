@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.ChangeTracker;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.AttributeFactory;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatColumn;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.IntColumn;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+import pl.edu.icm.trurl.store.segmented.SegmentedAttributeFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarProcessorTest {
+    static final int SIZE = 10_000;
+
+    EntityExecutor executor = new EntityExecutor(null, 2, 1000);
+
+    @Test
+    void executeColumnar() {
+        // given
+        Store store = createStore(new BasicAttributeFactory());
+        FloatAttribute x = store.get("x");
+        FloatAttribute dx = store.get("dx");
+
+        // execute
+        executor.executeColumnar(store, (columns, fromRow, toRow) -> {
+            FloatColumn xs = columns.floats(x);
+            FloatColumn dxs = columns.floats(dx);
+            for (int row = fromRow; row < toRow; row++) {
+                xs.set(row, xs.get(row) + dxs.get(row));
+            }
+        });
+
+        // assert
+        for (int row = 0; row < SIZE; row++) {
+            assertThat(x.getFloat(row)).isEqualTo(row * 3f);
+        }
+    }
+
+    @Test
+    void executeColumnarInParallel__segmented() {
+        // given
+        Store store = createStore(new SegmentedAttributeFactory(300));
+        FloatAttribute x = store.get("x");
+        FloatAttribute dx = store.get("dx");
+        IntAttribute steps = store.get("steps");
+
+        // execute
+        executor.executeColumnarInParallel(store, (columns, fromRow, toRow) -> {
+            FloatColumn xs = columns.floats(x);
+            FloatColumn dxs = columns.floats(dx);
+            IntColumn stepCounts = columns.ints(steps);
+            for (int row = fromRow; row < toRow; row++) {
+                xs.set(row, xs.get(row) + dxs.get(row));
+                stepCounts.set(row, 1);
+            }
+        });
+
+        // assert
+        for (int row = 0; row < SIZE; row++) {
+            assertThat(x.getFloat(row)).isEqualTo(row * 3f);
+            assertThat(steps.getInt(row)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void executeColumnar__changes() {
+        // given
+        Store store = createStore(new SegmentedAttributeFactory(300));
+        FloatAttribute x = store.get("x");
+        IntAttribute steps = store.get("steps");
+        store.getChangeTracker().reset();
+        double[] sum = new double[1];
+
+        // execute
+        executor.executeColumnar(store, (columns, fromRow, toRow) -> {
+            FloatColumn xs = columns.readFloats(x);
+            for (int row = fromRow; row < toRow; row++) {
+                sum[0] += xs.get(row);
+            }
+        });
+        int changedAfterRead = store.getChangeTracker().nextChanged(0);
+        executor.executeColumnar(store, (columns, fromRow, toRow) -> {
+            if (fromRow == 0) {
+                columns.ints(steps).set(0, 1);
+            }
+        });
+
+        // assert
+        assertThat(sum[0]).isEqualTo((SIZE - 1) * SIZE / 2.0);
+        assertThat(changedAfterRead).isEqualTo(-1);
+        assertThat(store.getChangeTracker().nextChanged(0)).isEqualTo(0);
+        assertThat(store.getChangeTracker().nextChanged(ChangeTracker.PAGE_SIZE)).isEqualTo(-1);
+    }
+
+    private Store createStore(AttributeFactory attributeFactory) {
+        Store store = new Store(attributeFactory, SIZE);
+        store.addFloat("x");
+        store.addFloat("dx");
+        store.addInt("steps");
+        FloatAttribute x = store.get("x");
+        FloatAttribute dx = store.get("dx");
+        store.getCounter().next(SIZE);
+        for (int row = 0; row < SIZE; row++) {
+            x.setFloat(row, row);
+            dx.setFloat(row, row * 2);
+        }
+        return store;
+    }
+}
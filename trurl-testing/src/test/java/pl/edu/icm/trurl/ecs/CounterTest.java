@@ -96,4 +96,86 @@ class CounterTest {
         assertThat(counter.next()).isEqualTo(slabStart + 1);
         assertThat(counter.next()).isEqualTo(slabStart);
     }
-}
\ No newline at end of file
+
+    @Test
+    void nextSlab__reusesFreedRange() {
+        // given
+        Counter counter = new Counter(100);
+        counter.next(10);
+        int slabStart = counter.next(5);
+        counter.next(10);
+
+        // execute
+        counter.free(slabStart, 5);
+        int reused = counter.next(5);
+
+        // assert
+        assertThat(reused).isEqualTo(slabStart);
+        assertThat(counter.getCount()).isEqualTo(25);
+    }
+
+    @Test
+    void nextSlab__splitsLongerRange() {
+        // given
+        Counter counter = new Counter(100);
+        int slabStart = counter.next(8);
+
+        // execute
+        counter.free(slabStart, 8);
+        int first = counter.next(3);
+        int second = counter.next(5);
+        int third = counter.next(2);
+
+        // assert
+        assertThat(first).isEqualTo(slabStart);
+        assertThat(second).isEqualTo(slabStart + 3);
+        assertThat(third).isEqualTo(8);
+        assertThat(counter.getCount()).isEqualTo(10);
+    }
+
+    @Test
+    void isUsed() {
+        // given
+        Counter counter = new Counter(100);
+        counter.next(10);
+        int slabStart = counter.next(5);
+
+        // execute
+        counter.free(3);
+        counter.free(slabStart, 5);
+        int reused = counter.next();
+
+        // assert
+        assertThat(counter.isUsed(reused)).isTrue();
+        assertThat(counter.isUsed(4)).isTrue();
+        assertThat(counter.isUsed(slabStart)).isFalse();
+        assertThat(counter.isUsed(15)).isFalse();
+    }
+
+    @Test
+    void nextUsed() {
+        // given
+        Counter counter = new Counter(100);
+        counter.next(10);
+        counter.free(2, 6);
+
+        // execute & assert
+        assertThat(counter.nextUsed(0)).isEqualTo(0);
+        assertThat(counter.nextUsed(2)).isEqualTo(8);
+        assertThat(counter.nextUsed(10)).isEqualTo(-1);
+    }
+
+    @Test
+    void nextFree() {
+        // given
+        Counter counter = new Counter(100);
+        counter.next(10);
+        counter.free(2, 3);
+        counter.free(7);
+
+        // execute & assert
+        assertThat(counter.nextFree(0)).isEqualTo(2);
+        assertThat(counter.nextFree(5)).isEqualTo(7);
+        assertThat(counter.nextFree(8)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package pl.edu.icm.trurl.ecs;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+import pl.edu.icm.trurl.store.join.DenseJoin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DenseSourceTest {
+    Store store = new Store(new BasicAttributeFactory(), 10_000);
+
+    @Test
+    void forEach() {
+        // given
+        store.addJoin("collider").denseTyped(16);
+        DenseJoin join = store.getJoin("collider");
+        join.setSize(9000, 1);
+        join.setSize(7, 1);
+        join.setSize(500, 1);
+        join.setSize(9000, 0);
+        DenseSource source = new DenseSource(join);
+        List<Integer> ids = new ArrayList<>();
+
+        // execute
+        source.forEach(ids::add);
+
+        // assert
+        assertThat(source.rangeSize()).isEqualTo(2);
+        assertThat(ids).containsExactly(500, 7);
+    }
+
+    @Test
+    void forEach__slices() {
+        // given
+        store.addJoin("collider").denseTyped(16);
+        DenseJoin join = store.getJoin("collider");
+        for (int row = 0; row < 100; row++) {
+            join.setSize(row * 3, 1);
+        }
+        DenseSource source = new DenseSource(join);
+        List<Integer> ids = new ArrayList<>();
+
+        // execute
+        source.forEach(0, 50, ids::add);
+        source.forEach(50, 100, ids::add);
+
+        // assert
+        assertThat(ids).hasSize(100);
+        assertThat(ids.get(99)).isEqualTo(297);
+    }
+
+    @Test
+    void forEach__remove() {
+        // given
+        store.addJoin("collider").denseTyped(16);
+        DenseJoin join = store.getJoin("collider");
+        for (int row = 0; row < 10; row++) {
+            join.setSize(row, 1);
+        }
+        DenseSource source = new DenseSource(join);
+        List<Integer> ids = new ArrayList<>();
+
+        // execute
+        source.forEach(row -> {
+            ids.add(row);
+            join.setSize(row, 0);
+            if (row == 0) {
+                join.setSize(5, 0);
+            }
+        });
+
+        // assert
+        assertThat(ids).containsExactly(0, 1, 2, 3, 4, 6, 7, 8, 9);
+        assertThat(join.size()).isEqualTo(0);
+    }
+}
@@ -20,13 +20,25 @@ package pl.edu.icm.trurl.ecs;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.icm.trurl.ecs.dao.Dao;
+import pl.edu.icm.trurl.ecs.dao.LifecycleEvent;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +53,12 @@ public class EntityExecutorTest {
     @Mock
     private Session session;
 
+    @Mock
+    private DaoManager daoManager;
+
+    @Mock
+    private Dao<?> dao;
+
     @Test
     public void testExecute() {
         // given
@@ -126,4 +144,165 @@ public class EntityExecutorTest {
         assertThat(processedEntities).containsExactly(10, 11, 20, 21, 22);
         verify(session).flush();
     }
+
+    @Test
+    public void testExecuteInParallel() {
+        // given
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        when(engine.getSession()).thenReturn(session);
+        when(engine.getDaoManager()).thenReturn(daoManager);
+        when(daoManager.getAllDaos()).thenReturn(List.of(dao));
+        EntityExecutor executor = new EntityExecutor(engineBuilder, 4, 3);
+        ConcurrentLinkedQueue<Integer> processed = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+        EntityProcessor processor = EntityProcessor.from(new EntityProcessor.StatefulProcessor<List<Integer>>() {
+            @Override
+            public void run(Session session, int entityId, Entity entity, List<Integer> context, EntityProcessor.InternalLink next) {
+                context.add(entityId);
+                processed.add(entityId);
+            }
+            @Override
+            public void onBegin(Session session) { events.add("begin"); }
+            @Override
+            public void onEnd(Session session) { events.add("end"); }
+        }, ArrayList::new);
+
+        // execute
+        executor.executeInParallel(range(10), processor);
+
+        // assert
+        List<Integer> sorted = new ArrayList<>(processed);
+        Collections.sort(sorted);
+        assertThat(sorted).containsExactly(100, 101, 102, 103, 104, 105, 106, 107, 108, 109);
+        assertThat(events).filteredOn("begin"::equals).hasSize(4);
+        assertThat(events).filteredOn("end"::equals).hasSize(4);
+        verify(session, times(4)).flush();
+        ArgumentCaptor<Integer> ownerIds = ArgumentCaptor.forClass(Integer.class);
+        verify(session, times(4)).setOwnerId(ownerIds.capture());
+        assertThat(ownerIds.getAllValues()).allMatch(id -> id > 0);
+        InOrder inOrder = inOrder(dao, session);
+        inOrder.verify(dao).fireEvent(LifecycleEvent.PRE_PARALLEL_ITERATION);
+        inOrder.verify(session, times(4)).flush();
+        inOrder.verify(dao).fireEvent(LifecycleEvent.POST_PARALLEL_ITERATION);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testExecuteInParallelWithExecutorService() {
+        // given
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        when(engine.getSession()).thenReturn(session);
+        when(engine.getDaoManager()).thenReturn(daoManager);
+        when(daoManager.getAllDaos()).thenReturn(List.of(dao));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        EntityExecutor executor = new EntityExecutor(engineBuilder, executorService, 3, 0);
+        ConcurrentLinkedQueue<Integer> processed = new ConcurrentLinkedQueue<>();
+
+        // execute
+        executor.executeInParallel(range(10), EntityProcessor.from((Session s, int id) -> processed.add(id)));
+        executor.shutdown();
+
+        // assert
+        assertThat(processed).containsExactly(100, 101, 102, 103, 104, 105, 106, 107, 108, 109);
+        ArgumentCaptor<Integer> ownerIds = ArgumentCaptor.forClass(Integer.class);
+        verify(session, times(4)).setOwnerId(ownerIds.capture());
+        assertThat(ownerIds.getAllValues()).containsOnly(ownerIds.getValue());
+        assertThat(executorService.isShutdown()).isFalse();
+        executorService.shutdown();
+    }
+
+    @Test
+    public void testExecuteInParallelOnCallerThread() {
+        // given
+        Session callerSession = mock(Session.class);
+        lenient().when(engine.getSession()).thenReturn(callerSession);
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        when(engine.createSession()).thenReturn(session);
+        when(engine.getDaoManager()).thenReturn(daoManager);
+        when(daoManager.getAllDaos()).thenReturn(List.of(dao));
+        ExecutorService callerRuns = new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+            @Override
+            public void shutdown() {}
+            @Override
+            public List<Runnable> shutdownNow() { return Collections.emptyList(); }
+            @Override
+            public boolean isShutdown() { return false; }
+            @Override
+            public boolean isTerminated() { return false; }
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) { return true; }
+        };
+        EntityExecutor executor = new EntityExecutor(engineBuilder, callerRuns, 3, 0);
+        ConcurrentLinkedQueue<Integer> processed = new ConcurrentLinkedQueue<>();
+
+        // execute
+        executor.executeInParallel(range(10), EntityProcessor.from((Session s, int id) -> processed.add(id)));
+
+        // assert
+        assertThat(processed).containsExactly(100, 101, 102, 103, 104, 105, 106, 107, 108, 109);
+        verify(engine).createSession();
+        verify(session, times(4)).flush();
+        verifyNoInteractions(callerSession);
+    }
+
+    @Test
+    public void testExecuteInParallelInBatches() {
+        // given
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        when(engine.getSession()).thenReturn(session);
+        when(engine.getDaoManager()).thenReturn(daoManager);
+        when(daoManager.getAllDaos()).thenReturn(List.of(dao));
+        when(session.size()).thenReturn(1, 2);
+        EntityExecutor executor = new EntityExecutor(engineBuilder, 1, 5, 2);
+
+        // execute
+        executor.executeInParallel(range(10), EntityProcessor.from((Session s, int id) -> {}));
+        executor.shutdown();
+
+        // assert
+        verify(session, times(10)).size();
+        verify(session, times(9 + 2)).flush();
+    }
+
+    @Test
+    public void testExecuteInParallelRethrows() {
+        // given
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        when(engine.getSession()).thenReturn(session);
+        when(engine.getDaoManager()).thenReturn(daoManager);
+        when(daoManager.getAllDaos()).thenReturn(List.of(dao));
+        EntityExecutor executor = new EntityExecutor(engineBuilder, 2, 5);
+        EntityProcessor processor = EntityProcessor.from((Session s, int id) -> {
+            if (id == 107) {
+                throw new IllegalArgumentException("boom");
+            }
+        });
+
+        // execute & assert
+        assertThatThrownBy(() -> executor.executeInParallel(range(10), processor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("boom");
+        verify(session, times(2)).flush();
+        verify(dao).fireEvent(LifecycleEvent.POST_PARALLEL_ITERATION);
+    }
+
+    private static RangedSource range(int size) {
+        return new RangedSource() {
+            @Override
+            public int rangeSize() {
+                return size;
+            }
+
+            @Override
+            public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+                for (int i = fromIndex; i < toIndex; i++) {
+                    consumer.accept(100 + i);
+                }
+            }
+        };
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.ecs.util.DynamicComponentAccessor;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionEvictionTest {
+    static final int CACHE_SIZE = 4;
+
+    Engine engine = new Engine(new Store(new BasicAttributeFactory(), 100), 10,
+            new DaoManager(new DynamicComponentAccessor(Collections.emptyList()), Collections.emptyMap(), new DaoProducer()),
+            CACHE_SIZE);
+    Session session = engine.getSession();
+
+    @Test
+    void createEntity__grows() {
+        // execute
+        for (int i = 0; i < CACHE_SIZE * 5; i++) {
+            session.createEntity();
+        }
+
+        // assert
+        assertThat(session.size()).isEqualTo(CACHE_SIZE * 5);
+        assertThat(session.findEntityInSession(CACHE_SIZE * 5 - 1).getId()).isEqualTo(CACHE_SIZE * 5 - 1);
+    }
+
+    @Test
+    void evictEntity() {
+        // given
+        Entity first = session.createEntity();
+        Entity second = session.createEntity();
+
+        // execute
+        session.evictEntity(first);
+        Entity third = session.createEntity();
+
+        // assert
+        assertThat(session.size()).isEqualTo(2);
+        assertThat(session.findEntityInSession(0)).isNull();
+        assertThat(session.findEntitiesInSession()).containsExactlyInAnyOrder(second, third);
+        assertThat(third.getId()).isEqualTo(2);
+    }
+
+    @Test
+    void findEntitiesInSession__copy() {
+        // given
+        Entity first = session.createEntity();
+        Entity second = session.createEntity();
+
+        // execute
+        Collection<Entity> found = session.findEntitiesInSession();
+        session.clear();
+        session.createEntity();
+
+        // assert
+        assertThat(found).containsExactly(first, second);
+    }
+
+    @Test
+    void evictEntity__staleHandle() {
+        // given
+        Entity first = session.createEntity();
+        session.evictEntity(first);
+
+        // execute
+        Entity second = session.createEntity();
+
+        // assert
+        assertThat(second.getId()).isEqualTo(1);
+        assertThatThrownBy(first::getId).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(first::delete).isInstanceOf(IllegalStateException.class);
+        assertThat(session.size()).isEqualTo(1);
+    }
+
+    @Test
+    void flushEntity__deleted() {
+        // given
+        Entity first = session.createEntity();
+        session.createEntity();
+        first.delete();
+
+        // execute
+        session.flushEntity(first);
+        session.flush();
+
+        // assert
+        assertThat(session.size()).isEqualTo(1);
+        assertThatThrownBy(first::getId).isInstanceOf(IllegalStateException.class);
+        assertThat(engine.getRootStore().getCounter().isUsed(0)).isFalse();
+        assertThat(engine.getRootStore().getCounter().next()).isEqualTo(0);
+        assertThat(engine.getRootStore().getCounter().next()).isEqualTo(2);
+    }
+}
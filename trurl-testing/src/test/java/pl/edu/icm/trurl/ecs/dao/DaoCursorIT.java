@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022-2023 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.ecs.Entity;
+import pl.edu.icm.trurl.exampledata.BunchOfData;
+import pl.edu.icm.trurl.exampledata.BunchOfDataDao;
+import pl.edu.icm.trurl.exampledata.Color;
+import pl.edu.icm.trurl.exampledata.Looks;
+import pl.edu.icm.trurl.exampledata.Stats;
+import pl.edu.icm.trurl.exampledata.Texture;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DaoCursorIT {
+    Store store = new Store(new BasicAttributeFactory(), 1000);
+    BunchOfDataDao dao;
+
+    @BeforeEach
+    void before() {
+        dao = (BunchOfDataDao) new DaoProducer().createDao(BunchOfData.class);
+        dao.configureStore(store);
+        dao.attachStore(store);
+    }
+
+    @Test
+    void read() {
+        // given
+        BunchOfData bunchOfData = createBunchOfData();
+        bunchOfData.setLooksProp(new Looks(Color.SILVER, Texture.SHINY));
+        bunchOfData.getStatsProp().add(new Stats(1, 2, 3));
+        bunchOfData.getStatsProp().add(new Stats(4, 5, 6));
+        dao.save(bunchOfData, 7);
+
+        // execute
+        BunchOfDataDao.Cursor cursor = dao.cursor().moveTo(7);
+
+        // assert
+        assertThat(cursor.isPresent()).isTrue();
+        assertThat(cursor.isBooleanProp()).isTrue();
+        assertThat(cursor.getByteProp()).isEqualTo((byte) 121);
+        assertThat(cursor.getDoubleProp()).isEqualTo(56.34);
+        assertThat(cursor.getEnumProp()).isEqualTo(Color.GOLD);
+        assertThat(cursor.getFloatProp()).isEqualTo(1.1f);
+        assertThat(cursor.getIntProp()).isEqualTo(-10);
+        assertThat(cursor.getShortProp()).isEqualTo((short) 78);
+        assertThat(cursor.getStringProp()).isEqualTo("blebleble");
+        assertThat(cursor.getEntityPropId()).isEqualTo(34);
+        assertThat(cursor.getEntitiesPropCount()).isEqualTo(2);
+        assertThat(cursor.getEntitiesPropId(1)).isEqualTo(5);
+        assertThat(cursor.getLooksProp().getColor()).isEqualTo(Color.SILVER);
+        assertThat(cursor.getLooksProp().getTexture()).isEqualTo(Texture.SHINY);
+        assertThat(cursor.getStatsPropCount()).isEqualTo(2);
+        assertThat(cursor.getStatsProp(1).getDex()).isEqualTo(5);
+    }
+
+    @Test
+    void write() {
+        // given
+        dao.save(createBunchOfData(), 3);
+
+        // execute
+        BunchOfDataDao.Cursor cursor = dao.cursor().moveTo(3);
+        cursor.setIntProp(100);
+        cursor.setEnumProp(Color.BLUE);
+        cursor.setEntityPropId(Entity.NULL_ID);
+        cursor.setEntitiesPropCount(1);
+        cursor.setEntitiesPropId(0, 12);
+
+        // assert
+        BunchOfDataDao.Cursor reread = dao.cursor().moveTo(3);
+        assertThat(reread.getIntProp()).isEqualTo(100);
+        assertThat(reread.getEnumProp()).isEqualTo(Color.BLUE);
+        assertThat(reread.getEntityPropId()).isEqualTo(Entity.NULL_ID);
+        assertThat(reread.getEntitiesPropCount()).isEqualTo(1);
+        assertThat(reread.getEntitiesPropId(0)).isEqualTo(12);
+    }
+
+    @Test
+    void write__entityListMarksRow() {
+        // given
+        dao.save(createBunchOfData(), 3);
+        store.getChangeTracker().reset();
+
+        // execute
+        dao.cursor().moveTo(3).setEntitiesPropId(1, 12);
+
+        // assert
+        assertThat(store.getChangeTracker().isChanged(3)).isTrue();
+        assertThat(dao.cursor().moveTo(3).getEntitiesPropId(1)).isEqualTo(12);
+    }
+
+    @Test
+    void moveTo() {
+        // given
+        BunchOfData first = createBunchOfData();
+        BunchOfData second = createBunchOfData();
+        second.setIntProp(20);
+        dao.save(first, 0);
+        dao.save(second, 1);
+        BunchOfDataDao.Cursor cursor = dao.cursor();
+
+        // execute
+        int sum = 0;
+        for (int row = 0; row < 2; row++) {
+            sum += cursor.moveTo(row).getIntProp();
+        }
+
+        // assert
+        assertThat(sum).isEqualTo(10);
+        assertThat(cursor.getRow()).isEqualTo(1);
+        assertThat(cursor.getLooksProp()).isNull();
+    }
+
+    private BunchOfData createBunchOfData() {
+        BunchOfData bunchOfData = new BunchOfData();
+        bunchOfData.setBooleanProp(true);
+        bunchOfData.setByteProp((byte) 121);
+        bunchOfData.setDoubleProp(56.34);
+        bunchOfData.setEnumProp(Color.GOLD);
+        bunchOfData.setFloatProp(1.1f);
+        bunchOfData.setIntProp(-10);
+        bunchOfData.setShortProp((short) 78);
+        bunchOfData.setStringProp("blebleble");
+        bunchOfData.setEntityProp(Entity.stub(34));
+        bunchOfData.getEntitiesProp().add(Entity.stub(4));
+        bunchOfData.getEntitiesProp().add(Entity.stub(5));
+        return bunchOfData;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs.dao;
+
+import net.snowyhollows.bento.BentoFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.ecs.DaoManager;
+import pl.edu.icm.trurl.ecs.Engine;
+import pl.edu.icm.trurl.ecs.Entity;
+import pl.edu.icm.trurl.ecs.Session;
+import pl.edu.icm.trurl.ecs.parallel.domain.ParallelCounter;
+import pl.edu.icm.trurl.ecs.util.DynamicComponentAccessor;
+import pl.edu.icm.trurl.exampledata.Coordinates;
+import pl.edu.icm.trurl.exampledata.CoordinatesDao;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DaoDirtyTrackingIT {
+    Store store = new Store(new BasicAttributeFactory(), 100);
+    CoordinatesDao coordinatesDao = new CoordinatesDao("");
+
+    @BeforeEach
+    void before() {
+        coordinatesDao.configureAndAttach(store);
+    }
+
+    @Test
+    void save__unchanged() {
+        // given
+        coordinatesDao.save(new Coordinates(1, 2), 5);
+        store.getChangeTracker().reset();
+
+        // execute
+        coordinatesDao.save(new Coordinates(1, 2), 5);
+
+        // assert
+        assertThat(store.getChangeTracker().nextChanged(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void save__changedColumn() {
+        // given
+        coordinatesDao.save(new Coordinates(1, 2), 5);
+        store.getChangeTracker().reset();
+
+        // execute
+        coordinatesDao.save(new Coordinates(1, 3), 5);
+
+        // assert
+        assertThat(store.getChangeTracker().isChanged(5)).isTrue();
+        assertThat(coordinatesDao.getX(5)).isEqualTo(1);
+        assertThat(coordinatesDao.getY(5)).isEqualTo(3);
+    }
+
+    @Test
+    void flush__cleanComponents() {
+        // given
+        Engine engine = createEngine(ParallelCounter.class, Coordinates.class);
+        Session session = engine.getSession();
+        ParallelCounter counter = new ParallelCounter();
+        counter.setA(7);
+        int id = session.createEntity(counter, new Coordinates(1, 2)).getId();
+        session.close();
+        engine.getRootStore().getChangeTracker().reset();
+
+        // execute
+        session = engine.getSession();
+        Entity entity = session.getEntity(id);
+        entity.get(ParallelCounter.class);
+        entity.get(Coordinates.class);
+        session.close();
+
+        // assert
+        assertThat(engine.getRootStore().getChangeTracker().nextChanged(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void flush__dirtyComponent() {
+        // given
+        Engine engine = createEngine(ParallelCounter.class);
+        Session session = engine.getSession();
+        int id = session.createEntity(new ParallelCounter()).getId();
+        session.close();
+        engine.getRootStore().getChangeTracker().reset();
+
+        // execute
+        session = engine.getSession();
+        session.getEntity(id).get(ParallelCounter.class).setB(3);
+        session.close();
+
+        // assert
+        assertThat(engine.getRootStore().getChangeTracker().isChanged(id)).isTrue();
+        assertThat(engine.getSession().getEntity(id).get(ParallelCounter.class).getB()).isEqualTo(3);
+    }
+
+    private Engine createEngine(Class<?>... componentClasses) {
+        DaoProducer daoProducer = new DaoProducer();
+        Map<Class<?>, BentoFactory<?>> factories = new HashMap<>();
+        for (Class<?> componentClass : componentClasses) {
+            factories.put(componentClass, daoProducer.createDaoFactory(componentClass));
+        }
+        DaoManager daoManager = new DaoManager(new DynamicComponentAccessor(Arrays.asList(componentClasses)), factories, daoProducer);
+        return new Engine(100, 0, daoManager, new BasicAttributeFactory(), 10);
+    }
+}
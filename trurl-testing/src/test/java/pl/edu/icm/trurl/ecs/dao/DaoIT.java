@@ -162,6 +162,47 @@ public class DaoIT {
         assertThat(copy).isEqualTo(original);
     }
 
+    @Test
+    public void saveRange() {
+        // given
+        BunchOfData first = withStats(new Stats(1, 2, 3));
+        BunchOfData second = createBunchOfData();
+        second.setIntProp(20);
+        second.setLooksProp(new Looks(Color.BLUE, Texture.SHINY));
+
+        // execute
+        dao.saveRange(session, new BunchOfData[]{first, second}, 20);
+
+        // assert
+        assertThat(intAttribute.getInt(20)).isEqualTo(-10);
+        assertThat(intAttribute.getInt(21)).isEqualTo(20);
+        assertThat(looksPropColor.getEnum(21)).isEqualTo(Color.BLUE);
+        assertThat(entitiesReference.getExactSize(21)).isEqualTo(3);
+        assertThat(dao.createAndLoad(session, 20)).isEqualTo(first);
+        assertThat(dao.createAndLoad(session, 21)).isEqualTo(second);
+    }
+
+    @Test
+    public void loadAll() {
+        // given
+        BunchOfData first = withStats(new Stats(1, 2, 3), new Stats(4, 5, 6));
+        BunchOfData second = createBunchOfData();
+        second.setLooksProp(new Looks(Color.BLUE, Texture.SHINY));
+        dao.save(first, 30);
+        dao.save(second, 40);
+        BunchOfData reused = withStats(new Stats(7, 8, 9));
+        reused.setLooksProp(new Looks(Color.GOLD, null));
+        BunchOfData[] into = new BunchOfData[]{reused, null};
+
+        // execute
+        dao.loadAll(session, new int[]{30, 40}, into);
+
+        // assert
+        assertThat(into[0]).isSameAs(reused);
+        assertThat(into[0]).isEqualTo(first);
+        assertThat(into[1]).isEqualTo(second);
+    }
+
     @Test
     public void load__embedded() {
         // given
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022-2023 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.exampledata.Person;
+import pl.edu.icm.trurl.exampledata.PersonDao;
+import pl.edu.icm.trurl.exampledata.PersonDenseDao;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DenseDaoIT {
+    Store store = new Store(new BasicAttributeFactory(), 10_000);
+    DenseDao<Person> dao;
+
+    @BeforeEach
+    void before() {
+        dao = new DenseDao<>(new DaoProducer().createDao(Person.class, "person"), "person", 16);
+        dao.configureAndAttach(store);
+    }
+
+    @Test
+    void configureStore() {
+        // assert
+        assertThat(store.getAllAttributes().stream().map(Attribute::name)).containsExactly("person");
+        assertThat(store.getSubstore("person").getDataAttributes().stream().map(Attribute::name)).containsExactly("person.name");
+    }
+
+    @Test
+    void generated__namedConstructor() {
+        // given
+        Store otherStore = new Store(new BasicAttributeFactory(), 100);
+        PersonDenseDao generated = new PersonDenseDao((PersonDao) new DaoProducer().createDao(Person.class, "person"), "ignored");
+        generated.configureAndAttach(otherStore);
+
+        // execute
+        generated.save(new Person("ann"), 7);
+
+        // assert
+        assertThat(otherStore.getSubstore("person").getCounter().getCount()).isEqualTo(1);
+        assertThat(generated.createAndLoad(7).getName()).isEqualTo("ANN");
+    }
+
+    @Test
+    void save() {
+        // execute
+        dao.save(new Person("ann"), 9000);
+        dao.save(new Person("bob"), 30);
+
+        // assert
+        assertThat(store.getSubstore("person").getCounter().getCount()).isEqualTo(2);
+        assertThat(dao.isPresent(9000)).isTrue();
+        assertThat(dao.isPresent(30)).isTrue();
+        assertThat(dao.isPresent(31)).isFalse();
+        assertThat(dao.createAndLoad(9000).getName()).isEqualTo("ANN");
+        assertThat(dao.createAndLoad(30).getName()).isEqualTo("BOB");
+    }
+
+    @Test
+    void save__overwrite() {
+        // given
+        dao.save(new Person("ann"), 40);
+
+        // execute
+        dao.save(new Person("cecil"), 40);
+
+        // assert
+        assertThat(store.getSubstore("person").getCounter().getCount()).isEqualTo(1);
+        assertThat(dao.createAndLoad(40).getName()).isEqualTo("CECIL");
+    }
+
+    @Test
+    void erase() {
+        // given
+        dao.save(new Person("ann"), 40);
+        dao.save(new Person("bob"), 50);
+
+        // execute
+        dao.erase(40);
+        dao.save(new Person("dave"), 60);
+
+        // assert
+        assertThat(dao.isPresent(40)).isFalse();
+        assertThat(dao.createAndLoad(60).getName()).isEqualTo("DAVE");
+        assertThat(store.getSubstore("person").getCounter().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getSource() {
+        // given
+        dao.save(new Person("ann"), 700);
+        dao.save(new Person("bob"), 5);
+        dao.save(new Person("cecil"), 9999);
+        List<Integer> ids = new ArrayList<>();
+
+        // execute
+        dao.getSource().forEach(ids::add);
+
+        // assert
+        assertThat(ids).containsExactly(700, 5, 9999);
+    }
+
+    @Test
+    void getSource__after_erase() {
+        // given
+        dao.save(new Person("ann"), 700);
+        dao.save(new Person("bob"), 5);
+        dao.save(new Person("cecil"), 9999);
+        List<Integer> ids = new ArrayList<>();
+
+        // execute
+        dao.erase(700);
+        dao.getSource().forEach(ids::add);
+
+        // assert
+        assertThat(ids).containsExactly(9999, 5);
+        assertThat(dao.createAndLoad(9999).getName()).isEqualTo("CECIL");
+    }
+}
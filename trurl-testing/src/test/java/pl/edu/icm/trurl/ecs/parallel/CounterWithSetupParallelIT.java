@@ -16,176 +16,159 @@
 // *
 // */
 //package pl.edu.icm.trurl.ecs.parallel;
-// TODO:
-//import org.junit.jupiter.api.Test;
-//import org.junit.jupiter.api.extension.ExtendWith;
-//import org.mockito.Mock;
-//import org.mockito.junit.jupiter.MockitoExtension;
-//import pl.edu.icm.trurl.ecs.*;
-//import pl.edu.icm.trurl.ecs.Session;
-//import pl.edu.icm.trurl.ecs.dao.Dao;
-//import pl.edu.icm.trurl.ecs.dao.LifecycleEvent;
-//import pl.edu.icm.trurl.ecs.parallel.domain.*;
-//import pl.edu.icm.trurl.ecs.parallel.domain.Counter;
-//import pl.edu.icm.trurl.ecs.parallel.domain.ParallelCounterDao;
-//import pl.edu.icm.trurl.store.Store;
-//import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
-//import pl.edu.icm.trurl.util.Status;
-//
-//import java.util.concurrent.ThreadLocalRandom;
-//import java.util.stream.IntStream;
-//
-//import static org.assertj.core.api.Assertions.*;
-//import static org.mockito.Mockito.when;
-//
-//@ExtendWith(MockitoExtension.class)
-//public class CounterWithSetupParallelIT {
-//    final int SIZE = 10_000;
-//    final int CONTENTION = 4;
-//    final int PER_SESSION = 1000;
-//    final int LOAD = 3;
-//
-//    @Mock
-//    Engine engine;
-//    @Mock
-//    DaoManager daoManager;
-//
-//    @Test
-//    void test_parallel() {
-//        // given
-//        when(engine.getDaoManager()).thenReturn(daoManager);
-//        Store store = new Store(new BasicAttributeFactory(), SIZE);
-//        ParallelCounterDao parallelDao = new ParallelCounterDao("");
-//        parallelDao.configureAndAttach(store);
-//        this.prepareZeroedCounters(parallelDao);
-//        parallelDao.fireEvent(LifecycleEvent.PRE_PARALLEL_ITERATION);
-//
-//        // execute
-//        Status status = Status.of("using counters in parallel: " + createMessage());
-//        SessionFactory sessionFactory = new SessionFactory(engine, 0);
-//
-//        IntStream.range(0, SIZE * CONTENTION).parallel().forEach(chunkId -> {
-//            int startId = ThreadLocalRandom.current().nextInt(0, SIZE);
-//            Session session = sessionFactory.createOrGet();
-//            session.setOwnerId(chunkId + 1);
-//            for (int i = 0; i < PER_SESSION; i++) {
-//                int id = (startId + i) % SIZE;
-//                ParallelCounter counter = parallelDao.create();
-//                parallelDao.load(session, counter, id);
-//                performLogicOnCounter(counter);
-//                parallelDao.save(session, counter, id);
-//            }
-//        });
-//        status.done();
-//
-//        // assert
-//        int problems = verifyAndDumpDebugInfo(parallelDao);
-//        assertThat(problems).isZero();
-//    }
-//
-//    @Test
-//    void test_sequential() {
-//        // given
-//        Store store = new Store(new BasicAttributeFactory(), SIZE);
-//        CounterDao counterDao = new CounterDao("");
-//        counterDao.configureAndAttach(store);
-//        prepareZeroedCounters(counterDao);
-//
-//        Status status = Status.of("using counters in sequence: " + createMessage());
-//        // execute
-//        IntStream.range(0, SIZE * CONTENTION).sequential().forEach(chunkId -> {
-//            int startId = ThreadLocalRandom.current().nextInt(0, SIZE);
-//
-//            for (int i = 0; i < PER_SESSION; i++) {
-//                int id = (startId + i) % SIZE;
-//                Counter counter = counterDao.create();
-//                counterDao.load(null, counter, id);
-//                performLogicOnCounter(counter);
-//                counterDao.save(counter, id);
-//            }
-//        });
-//
-//        status.done();
-//
-//        // assert
-//        int problems = verifyAndDumpDebugInfo(counterDao);
-//        assertThat(problems).isZero();
-//    }
-//
-//    @Test
-//    void test_sequential_incorrect_results() {
-//        // given
-//        Store store = new Store(new BasicAttributeFactory(), SIZE);
-//        CounterDao sequentialDao = new CounterDao("");
-//        sequentialDao.configureAndAttach(store);
-//        prepareZeroedCounters(sequentialDao);
-//
-//        // execute
-//        Status status = Status.of("using sequential dao in parallel (which is wrong): " + createMessage());
-//        IntStream.range(0, SIZE * CONTENTION).parallel().forEach(chunkId -> {
-//            int startId = ThreadLocalRandom.current().nextInt(0, SIZE);
-//
-//            for (int i = 0; i < PER_SESSION; i++) {
-//                int id = (startId + i) % SIZE;
-//                Counter counter = sequentialDao.createAndLoad(id);
-//                performLogicOnCounter(counter);
-//                sequentialDao.save(counter, id);
-//            }
-//        });
-//
-//        status.done();
-//
-//        // assert
-//        int problems = verifyAndDumpDebugInfo(sequentialDao);
-//        assertThat(problems).isNotZero();
-//    }
-//
-//    private void performLogicOnCounter(HasAAndB counter) {
-//        counter.setA(counter.getA() + 1);
-//        int a = counter.getA();
-//        counter.setB(counter.getB() - 1);
-//
-//        double calculations = 1 / a;
-//        for (int i = 0; i < LOAD; i++) {
-//            calculations *= Math.sin(calculations);
-//        }
-//
-//        // The check below is so that `calculations` can theoretically
-//        // have effect on execution; otherwise JIT
-//        // could optimize away the whole loop above.
-//        if (calculations > LOAD) {
-//            throw new IllegalStateException("sinus returned more than one");
-//        }
-//    }
-//
-//    private String createMessage() {
-//        return "(" + SIZE + " counters, " + (SIZE * CONTENTION * PER_SESSION) + " operations)";
-//    }
-//
-//    private <T> void prepareZeroedCounters(Dao<T> dao) {
-//        Status status = Status.of("creating counters");
-//        T counter = dao.create();
-//        for (int i = 0; i < SIZE; i++) {
-//            dao.save(counter, i);
-//        }
-//        status.done();
-//    }
-//
-//    private <T extends HasAAndB> int verifyAndDumpDebugInfo(Dao<T> dao) {
-//        int sum = 0;
-//        int corrupt = 0;
-//        for (int i = 0; i < SIZE; i++) {
-//            T counter = dao.create();
-//            dao.load(null, counter, i);
-//            sum += counter.getA();
-//            if (counter.getA() != -counter.getB()) {
-//                corrupt++;
-//            }
-//        }
-//        int off = Math.abs((SIZE * CONTENTION * PER_SESSION) - sum);
-//        System.out.println("off by: " + off + "; corrupt: " + corrupt);
-//        return off + corrupt;
-//    }
-//
-//
-//}
+package pl.edu.icm.trurl.ecs.parallel;
+
+import net.snowyhollows.bento.BentoFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.edu.icm.trurl.ecs.*;
+import pl.edu.icm.trurl.ecs.dao.Dao;
+import pl.edu.icm.trurl.ecs.dao.DaoProducer;
+import pl.edu.icm.trurl.ecs.parallel.domain.Counter;
+import pl.edu.icm.trurl.ecs.parallel.domain.HasAAndB;
+import pl.edu.icm.trurl.ecs.parallel.domain.ParallelCounter;
+import pl.edu.icm.trurl.ecs.util.DynamicComponentAccessor;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+import pl.edu.icm.trurl.util.Status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Contention benchmark of the ownership-based parallel mode: every counter is incremented
+ * by CONTENTION sessions, which (being adjacent chunks) are likely to run at the same time.
+ * Each session handles PER_SESSION counters, and LOAD controls the amount of computation per counter.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CounterWithSetupParallelIT {
+    final int SIZE = 10_000;
+    final int CONTENTION = 4;
+    final int PER_SESSION = 1000;
+    final int LOAD = 3;
+    final int THREADS = 4;
+
+    @Mock
+    EngineBuilder engineBuilder;
+
+    @Test
+    void test_parallel() {
+        // given
+        Engine engine = createEngine(ParallelCounter.class);
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        Dao<ParallelCounter> parallelDao = engine.getDaoManager().classToDao(ParallelCounter.class);
+        prepareZeroedCounters(engine, parallelDao);
+        EntityExecutor executor = new EntityExecutor(engineBuilder, THREADS, PER_SESSION);
+
+        // execute
+        Status status = Status.of("using counters in parallel: " + createMessage(THREADS));
+        long start = System.nanoTime();
+        executor.executeInParallel(new ContendedSource(),
+                EntityProcessor.from((Entity entity) -> performLogicOnCounter(entity.get(ParallelCounter.class))));
+        status.done("%.0f operations/s", throughput(start));
+
+        // assert
+        assertCountersConsistent(parallelDao);
+    }
+
+    @Test
+    void test_sequential() {
+        // given
+        Engine engine = createEngine(Counter.class);
+        when(engineBuilder.getEngine()).thenReturn(engine);
+        Dao<Counter> counterDao = engine.getDaoManager().classToDao(Counter.class);
+        prepareZeroedCounters(engine, counterDao);
+        EntityExecutor executor = new EntityExecutor(engineBuilder, 1, PER_SESSION);
+
+        // execute
+        Status status = Status.of("using counters in sequence: " + createMessage(1));
+        long start = System.nanoTime();
+        executor.executeInParallel(new ContendedSource(),
+                EntityProcessor.from((Entity entity) -> performLogicOnCounter(entity.get(Counter.class))));
+        status.done("%.0f operations/s", throughput(start));
+
+        // assert
+        assertCountersConsistent(counterDao);
+    }
+
+    /**
+     * Maps CONTENTION consecutive chunks of PER_SESSION indices onto the same range of counters.
+     */
+    private class ContendedSource implements RangedSource {
+        @Override
+        public int rangeSize() {
+            return SIZE * CONTENTION;
+        }
+
+        @Override
+        public void forEach(int fromIndex, int toIndex, IntConsumer consumer) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                int chunk = i / PER_SESSION;
+                consumer.accept(((chunk / CONTENTION) * PER_SESSION + i % PER_SESSION) % SIZE);
+            }
+        }
+    }
+
+    private Engine createEngine(Class<?> componentClass) {
+        DaoProducer daoProducer = new DaoProducer();
+        Map<Class<?>, BentoFactory<?>> factories = Map.of(componentClass, daoProducer.createDaoFactory(componentClass));
+        DaoManager daoManager = new DaoManager(new DynamicComponentAccessor(List.of(componentClass)), factories, daoProducer);
+        return new Engine(SIZE, 0, daoManager, new BasicAttributeFactory(), PER_SESSION);
+    }
+
+    private void performLogicOnCounter(HasAAndB counter) {
+        counter.setA(counter.getA() + 1);
+        int a = counter.getA();
+        counter.setB(counter.getB() - 1);
+
+        double calculations = 1.0 / a;
+        for (int i = 0; i < LOAD; i++) {
+            calculations *= Math.sin(calculations);
+        }
+
+        // The check below is so that `calculations` can theoretically
+        // have effect on execution; otherwise JIT
+        // could optimize away the whole loop above.
+        if (calculations > LOAD) {
+            throw new IllegalStateException("sinus returned more than one");
+        }
+    }
+
+    private String createMessage(int threads) {
+        return "(" + SIZE + " counters, " + (SIZE * CONTENTION) + " operations, " + threads + " thread(s))";
+    }
+
+    private double throughput(long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return SIZE * CONTENTION / seconds;
+    }
+
+    private <T> void prepareZeroedCounters(Engine engine, Dao<T> dao) {
+        Status status = Status.of("creating counters");
+        engine.getRootStore().getCounter().next(SIZE);
+        T counter = dao.create();
+        for (int i = 0; i < SIZE; i++) {
+            dao.save(counter, i);
+        }
+        status.done();
+    }
+
+    private <T extends HasAAndB> void assertCountersConsistent(Dao<T> dao) {
+        int sum = 0;
+        int corrupt = 0;
+        for (int i = 0; i < SIZE; i++) {
+            T counter = dao.createAndLoad(i);
+            sum += counter.getA();
+            if (counter.getA() != -counter.getB()) {
+                corrupt++;
+            }
+        }
+        assertThat(sum).isEqualTo(SIZE * CONTENTION);
+        assertThat(corrupt).isZero();
+    }
+}
@@ -75,11 +75,14 @@ public class ParallelCounter implements ComponentWithOriginalCopy<ParallelCounte
 
     @Override
     public boolean isDirty() {
-        return true;
+        return originalCopy == null || a != originalCopy.a || b != originalCopy.b;
     }
 
     @Override
     public void markAsClean() {
-
+        if (originalCopy != null) {
+            originalCopy.a = a;
+            originalCopy.b = b;
+        }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs.util;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.collection.ConcurrentBitSet;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentBitSetTest {
+
+    @Test
+    void setAndGet() {
+        // given
+        ConcurrentBitSet bits = new ConcurrentBitSet();
+
+        // execute
+        bits.set(3);
+        bits.set(100_000);
+
+        // assert
+        assertThat(bits.get(3)).isTrue();
+        assertThat(bits.get(4)).isFalse();
+        assertThat(bits.get(100_000)).isTrue();
+        assertThat(bits.get(10_000_000)).isFalse();
+    }
+
+    @Test
+    void setRange__clearRange() {
+        // given
+        ConcurrentBitSet bits = new ConcurrentBitSet();
+
+        // execute
+        bits.set(10, 200);
+        bits.clear(31, 65);
+
+        // assert
+        IntStream.range(0, 250).forEach(i ->
+                assertThat(bits.get(i)).isEqualTo(i >= 10 && i < 200 && (i < 31 || i >= 65)));
+    }
+
+    @Test
+    void nextSetBit() {
+        // given
+        ConcurrentBitSet bits = new ConcurrentBitSet();
+        bits.set(5);
+        bits.set(64);
+        bits.set(70_000);
+
+        // execute & assert
+        assertThat(bits.nextSetBit(0)).isEqualTo(5);
+        assertThat(bits.nextSetBit(5)).isEqualTo(5);
+        assertThat(bits.nextSetBit(6)).isEqualTo(64);
+        assertThat(bits.nextSetBit(65)).isEqualTo(70_000);
+        assertThat(bits.nextSetBit(70_001)).isEqualTo(-1);
+        assertThat(bits.nextSetBit(1_000_000)).isEqualTo(-1);
+    }
+
+    @Test
+    void nextClearBit() {
+        // given
+        ConcurrentBitSet bits = new ConcurrentBitSet();
+        bits.set(0, 40);
+        bits.set(41, 70_000);
+
+        // execute & assert
+        assertThat(bits.nextClearBit(0)).isEqualTo(40);
+        assertThat(bits.nextClearBit(41)).isEqualTo(70_000);
+        assertThat(bits.nextClearBit(1_000_000)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void set__parallel() {
+        // given
+        ConcurrentBitSet bits = new ConcurrentBitSet();
+
+        // execute
+        IntStream.range(0, 1_000_000).parallel().filter(i -> i % 3 == 0).forEach(bits::set);
+
+        // assert
+        int count = 0;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            assertThat(i % 3).isEqualTo(0);
+            count++;
+        }
+        assertThat(count).isEqualTo(333_334);
+    }
+}
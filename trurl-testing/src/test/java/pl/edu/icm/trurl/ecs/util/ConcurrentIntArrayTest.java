@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.ecs.util;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.collection.ConcurrentIntArray;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentIntArrayTest {
+
+    @Test
+    void setAndGet() {
+        // given
+        ConcurrentIntArray array = new ConcurrentIntArray(10);
+
+        // execute
+        array.set(3, 7);
+        array.set(100_000, -1);
+
+        // assert
+        assertThat(array.get(3)).isEqualTo(7);
+        assertThat(array.get(4)).isZero();
+        assertThat(array.get(100_000)).isEqualTo(-1);
+        assertThat(array.get(10_000_000)).isZero();
+    }
+
+    @Test
+    void compareAndSet() {
+        // given
+        ConcurrentIntArray array = new ConcurrentIntArray();
+
+        // execute
+        boolean first = array.compareAndSet(50_000, 0, 5);
+        boolean second = array.compareAndSet(50_000, 0, 6);
+
+        // assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(array.get(50_000)).isEqualTo(5);
+    }
+
+    @Test
+    void compareAndSet__parallel() {
+        // given
+        ConcurrentIntArray array = new ConcurrentIntArray();
+
+        // execute
+        IntStream.range(0, 1_000_000).parallel().forEach(i -> {
+            int row = (int) ((i * 7919L) % 100_000);
+            while (true) {
+                int value = array.get(row);
+                if (array.compareAndSet(row, value, value + 1)) {
+                    break;
+                }
+            }
+        });
+
+        // assert
+        IntStream.range(0, 100_000).forEach(row -> assertThat(array.get(row)).isEqualTo(10));
+    }
+}
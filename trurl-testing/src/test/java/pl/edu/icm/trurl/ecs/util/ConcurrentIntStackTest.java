@@ -69,6 +69,53 @@ class ConcurrentIntStackTest {
 
     }
 
+    @Test
+    @DisplayName("Range push should push values in order and stop at capacity")
+    void pushRange() {
+        // given
+        ConcurrentIntStack concurrentIntStack = new ConcurrentIntStack(5);
+        concurrentIntStack.push(100);
+
+        // execute
+        int pushed = concurrentIntStack.pushRange(10, 3);
+        int overflow = concurrentIntStack.pushRange(20, 3);
+
+        // assert
+        assertThat(pushed).isEqualTo(3);
+        assertThat(overflow).isEqualTo(1);
+        assertThat(concurrentIntStack.size()).isEqualTo(5);
+        assertThat(concurrentIntStack.shift()).isEqualTo(20);
+        assertThat(concurrentIntStack.shift()).isEqualTo(12);
+        assertThat(concurrentIntStack.shift()).isEqualTo(11);
+        assertThat(concurrentIntStack.shift()).isEqualTo(10);
+        assertThat(concurrentIntStack.shift()).isEqualTo(100);
+        assertThat(concurrentIntStack.shift()).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test
+    @DisplayName("Interleaved pushes and shifts should neither lose nor duplicate values")
+    void pushAndShift__interleaved() {
+        // given
+        int count = 1_000_000;
+        ConcurrentIntStack concurrentIntStack = new ConcurrentIntStack(count);
+        int[] output = new int[count];
+
+        // execute
+        IntStream.range(0, count).parallel().forEach(e -> {
+            concurrentIntStack.push(e);
+            int value = concurrentIntStack.shift();
+            synchronized (output) {
+                output[value]++;
+            }
+        });
+
+        // assert
+        assertThat(concurrentIntStack.shift()).isEqualTo(Integer.MIN_VALUE);
+        for (int i = 0; i < count; i++) {
+            assertThat(output[i]).isEqualTo(1);
+        }
+    }
+
     int size = 10_000_000;
 
     @Test
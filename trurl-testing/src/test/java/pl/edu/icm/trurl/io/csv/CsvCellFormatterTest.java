@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.edu.icm.trurl.io.WriterProvider;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvCellFormatterTest {
+    public static final int ROWS = 20_000;
+    @TempDir
+    Path tempDir;
+
+    enum Color {RED, GREEN, BLUE}
+
+    @Test
+    void format() throws IOException {
+        // given
+        Random random = new Random(11);
+        Store store = new Store(new BasicAttributeFactory(), ROWS);
+        store.addInt("int");
+        store.addShort("short");
+        store.addByte("byte");
+        store.addFloat("float");
+        store.addDouble("double");
+        store.addBoolean("bool");
+        store.addEnum("color", Color.class);
+        store.addString("name");
+        Attribute[] attributes = store.getAllAttributes().toArray(new Attribute[]{});
+        String[] fixed = {"", "0", "-2147483648", "2147483647", "NaN", "-Infinity", "1.4E-45", "-0.0"};
+        for (int i = 0; i < ROWS; i++) {
+            int row = store.allocateIndex();
+            for (Attribute attribute : attributes) {
+                if (i < fixed.length && !attribute.name().equals("bool") && !attribute.name().equals("color")) {
+                    setIfValid(attribute, row, fixed[i]);
+                } else if (random.nextInt(10) != 0) {
+                    attribute.setString(row, randomValue(attribute.name(), random));
+                }
+            }
+        }
+        String file = tempDir.resolve("store.csv").toString();
+
+        // execute
+        new CsvWriter(new WriterProvider()).write(file, store);
+
+        // assert
+        assertThat(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8))
+                .isEqualTo(expected(attributes, ROWS));
+    }
+
+    @Test
+    void appendInt__appendEscaped() throws IOException {
+        // given
+        StringWriter writer = new StringWriter();
+        CsvOutput output = CsvOutput.of(writer);
+
+        // execute
+        output.appendInt(Integer.MIN_VALUE);
+        output.append(',');
+        output.appendInt(-7);
+        output.append(',');
+        output.appendInt(1_000_000);
+        output.append(',');
+        output.appendEscaped("a \"b\",\r\nc");
+        output.append(',');
+        output.appendEscaped("plain");
+        output.close();
+
+        // assert
+        assertThat(writer.toString()).isEqualTo("-2147483648,-7,1000000,\"a \"\"b\"\",\\n\\nc\",plain");
+    }
+
+    private static void setIfValid(Attribute attribute, int row, String value) {
+        try {
+            attribute.setString(row, value);
+        } catch (NumberFormatException e) {
+            attribute.setString(row, "1");
+        }
+    }
+
+    private static String randomValue(String name, Random random) {
+        switch (name) {
+            case "int":
+                return Integer.toString(random.nextInt());
+            case "short":
+                return Short.toString((short) random.nextInt());
+            case "byte":
+                return Byte.toString((byte) random.nextInt());
+            case "float":
+                return Float.toString(Float.intBitsToFloat(random.nextInt()));
+            case "double":
+                return Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+            case "bool":
+                return Boolean.toString(random.nextBoolean());
+            case "color":
+                return Color.values()[random.nextInt(3)].name();
+            default:
+                return random.nextInt(5) == 0 ? "\u017c\u00f3\u0142w, \"\u017c\u00f3\u0142\u0107\"\n" + random.nextInt() : "plain " + random.nextInt();
+        }
+    }
+
+    private static String expected(Attribute[] attributes, int rows) {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            expected.append(i == 0 ? "" : ",").append(attributes[i].name());
+        }
+        expected.append('\n');
+        for (int row = 0; row < rows; row++) {
+            for (int i = 0; i < attributes.length; i++) {
+                expected.append(i == 0 ? "" : ",");
+                if (!attributes[i].isEmpty(row)) {
+                    String value = attributes[i].getString(row);
+                    expected.append(value.matches("(?s).*[,\\n\\r\"].*")
+                            ? "\"" + value.replace("\"", "\"\"").replace("\n", "\\n") + "\""
+                            : value);
+                }
+            }
+            expected.append('\n');
+        }
+        return expected.toString();
+    }
+}
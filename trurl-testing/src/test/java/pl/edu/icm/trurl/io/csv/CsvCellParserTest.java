@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvCellParserTest {
+
+    @Test
+    void parseFloat__parseDouble() {
+        // given
+        Random random = new Random(7);
+        String[] fixed = {"0", "-0.0", "1.", ".5", "+3.25", "0.1", "123456.789", "16777217", "1.0E10", "NaN",
+                "-Infinity", "3.4028235E38", "1.4E-45", "0.30000000000000004", "12345678901234567890.5"};
+
+        // execute & assert
+        for (String value : fixed) {
+            assertParsed(value);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertParsed(Float.toString(Float.intBitsToFloat(random.nextInt())));
+            assertParsed(Double.toString(random.nextDouble() * 1000));
+            assertParsed(Long.toString(random.nextInt(1_000_000)) + "." + Math.abs(random.nextInt(1000)));
+        }
+    }
+
+    @Test
+    void parseLong() {
+        // given
+        char[] max = "2147483647".toCharArray();
+        char[] min = "-2147483648".toCharArray();
+        char[] tooBig = "2147483648".toCharArray();
+        char[] padded = "0000000000000000000042".toCharArray();
+        char[] letters = "12a".toCharArray();
+
+        // execute & assert
+        assertThat(CsvCellParser.parseLong(max, 0, max.length, Integer.MIN_VALUE, Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(CsvCellParser.parseLong(min, 0, min.length, Integer.MIN_VALUE, Integer.MAX_VALUE)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(CsvCellParser.parseLong(padded, 0, padded.length, Integer.MIN_VALUE, Integer.MAX_VALUE)).isEqualTo(42);
+        assertThrows(NumberFormatException.class, () -> CsvCellParser.parseLong(tooBig, 0, tooBig.length, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(NumberFormatException.class, () -> CsvCellParser.parseLong(letters, 0, letters.length, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void forAttribute() {
+        // given
+        Store store = new Store(new BasicAttributeFactory(), 10);
+        store.addInt("int");
+        store.addFloat("float");
+        store.addBoolean("bool");
+        IntAttribute intAttribute = store.get("int");
+        FloatAttribute floatAttribute = store.get("float");
+        BooleanAttribute booleanAttribute = store.get("bool");
+        char[] chars = "-15,2.5,true,".toCharArray();
+
+        // execute
+        CsvCellParser.forAttribute(intAttribute).parse(0, chars, 0, 3);
+        CsvCellParser.forAttribute(floatAttribute).parse(0, chars, 4, 7);
+        CsvCellParser.forAttribute(booleanAttribute).parse(0, chars, 8, 12);
+        CsvCellParser.forAttribute(intAttribute).parse(1, chars, 13, 13);
+        CsvCellParser.forAttribute(booleanAttribute).parse(1, chars, 13, 13);
+
+        // assert
+        assertThat(intAttribute.getInt(0)).isEqualTo(-15);
+        assertThat(floatAttribute.getFloat(0)).isEqualTo(2.5f);
+        assertThat(booleanAttribute.getBoolean(0)).isTrue();
+        assertThat(intAttribute.isEmpty(1)).isTrue();
+        assertThat(booleanAttribute.isEmpty(1)).isTrue();
+    }
+
+    private void assertParsed(String value) {
+        char[] chars = (" " + value + " ").toCharArray();
+        assertThat(Float.floatToIntBits(CsvCellParser.parseFloat(chars, 1, chars.length - 1)))
+                .as(value).isEqualTo(Float.floatToIntBits(Float.parseFloat(value)));
+        assertThat(Double.doubleToLongBits(CsvCellParser.parseDouble(chars, 1, chars.length - 1)))
+                .as(value).isEqualTo(Double.doubleToLongBits(Double.parseDouble(value)));
+    }
+}
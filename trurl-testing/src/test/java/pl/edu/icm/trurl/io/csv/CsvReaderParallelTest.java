@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.edu.icm.trurl.io.ReaderProvider;
+import pl.edu.icm.trurl.io.WriterProvider;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.StringAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderParallelTest {
+    public static final int ROWS = 300_000;
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read() throws IOException {
+        // given
+        Store store = createStore();
+        IntAttribute id = store.get("id");
+        DoubleAttribute value = store.get("value");
+        StringAttribute name = store.get("name");
+        for (int i = 0; i < ROWS; i++) {
+            int row = store.allocateIndex();
+            id.setInt(row, i);
+            value.setDouble(row, i / 7.0);
+            name.setString(row, i % 10 == 0 ? "multi\nline, \"quoted\" " + i : "plain " + i);
+        }
+        String file = tempDir.resolve("store.csv").toString();
+        new CsvWriter(new WriterProvider()).write(file, store);
+
+        // execute
+        Store sequential = createStore();
+        new CsvReader(new ReaderProvider()).read(file, sequential);
+        Store parallel = createStore();
+        new CsvReader(new ReaderProvider(), 4).read(file, parallel);
+
+        // assert
+        assertThat(parallel.getCounter().getCount()).isEqualTo(ROWS);
+        IntAttribute parallelId = parallel.get("id");
+        DoubleAttribute parallelValue = parallel.get("value");
+        StringAttribute parallelName = parallel.get("name");
+        StringAttribute sequentialName = sequential.get("name");
+        for (int row = 0; row < ROWS; row++) {
+            assertThat(parallelId.getInt(row)).isEqualTo(row);
+            assertThat(parallelValue.getDouble(row)).isEqualTo(row / 7.0);
+            assertThat(parallelName.getString(row)).isEqualTo(sequentialName.getString(row));
+        }
+    }
+
+    private Store createStore() {
+        Store store = new Store(new BasicAttributeFactory(), ROWS);
+        store.addInt("id");
+        store.addDouble("value");
+        store.addString("name");
+        return store;
+    }
+}
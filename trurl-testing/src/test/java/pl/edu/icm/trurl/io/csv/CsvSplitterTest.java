@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvSplitterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void split() throws IOException {
+        // given
+        Path file = tempDir.resolve("test.csv");
+        Files.write(file, "name,value\r\n\"a\nb\",1\r\n\r\n\"c,\"\"d\"\"\",2\n\u017c,3\nlast,4".getBytes(StandardCharsets.UTF_8));
+
+        // execute
+        List<String> chunks = new ArrayList<>();
+        int rows = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvSplitter splitter = CsvSplitter.split(channel, 1);
+            for (CsvSplitter.Chunk chunk : splitter.getChunks()) {
+                byte[] bytes = Files.readAllBytes(file);
+                chunks.add(new String(bytes, (int) chunk.from, (int) (chunk.to - chunk.from), StandardCharsets.UTF_8));
+                rows += chunk.rows;
+            }
+            assertThat(splitter.getHeaderEnd()).isEqualTo("name,value\r".length());
+        }
+
+        // assert
+        assertThat(rows).isEqualTo(4);
+        assertThat(chunks).containsExactly("\n\"a\nb\",1\r", "\n\r\n\"c,\"\"d\"\"\",2\n", "\u017c,3\n", "last,4");
+    }
+
+    @Test
+    void split__header_only() throws IOException {
+        // given
+        Path file = tempDir.resolve("test.csv");
+        Files.write(file, "name,value".getBytes(StandardCharsets.UTF_8));
+
+        // execute
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvSplitter splitter = CsvSplitter.split(channel, 1);
+
+            // assert
+            assertThat(splitter.getChunks()).isEmpty();
+            assertThat(splitter.getHeaderEnd()).isEqualTo(10);
+        }
+    }
+}
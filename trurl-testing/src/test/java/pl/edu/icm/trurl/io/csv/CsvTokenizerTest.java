@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvTokenizerTest {
+
+    @Test
+    void nextRow() throws IOException {
+        // given
+        String csv = "a,b,c\r\n1,\"x, \"\"y\"\"\",\n\n2,\"multi\nline\",z";
+
+        // execute
+        List<List<String>> rows = readAll(new CsvTokenizer(new StringReader(csv)));
+
+        // assert
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).containsExactly("a", "b", "c");
+        assertThat(rows.get(1)).containsExactly("1", "x, \"y\"", "");
+        assertThat(rows.get(2)).containsExactly("2", "multi\nline", "z");
+    }
+
+    @Test
+    void nextRow__small_buffer() throws IOException {
+        // given
+        StringBuilder csv = new StringBuilder("name,value\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("\"name ").append(i).append(" with a \"\"quote\"\"\",").append(i * 1000).append('\n');
+        }
+
+        // execute
+        List<List<String>> rows = readAll(new CsvTokenizer(new StringReader(csv.toString()), 4));
+
+        // assert
+        assertThat(rows).hasSize(101);
+        assertThat(rows.get(100)).containsExactly("name 99 with a \"quote\"", "99000");
+    }
+
+    @Test
+    void nextRow__empty() throws IOException {
+        // execute
+        List<List<String>> rows = readAll(new CsvTokenizer(new StringReader("\n\n")));
+
+        // assert
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void nextRow__unterminated() {
+        // given
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,\"b"));
+
+        // execute & assert
+        assertThrows(IllegalStateException.class, tokenizer::nextRow);
+    }
+
+    private List<List<String>> readAll(CsvTokenizer tokenizer) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        while (tokenizer.nextRow()) {
+            List<String> row = new ArrayList<>();
+            for (int i = 0; i < tokenizer.cellCount(); i++) {
+                row.add(tokenizer.getString(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -18,12 +18,20 @@
 
 package pl.edu.icm.trurl.io.orc;
 
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import pl.edu.icm.trurl.io.ReaderProvider;
+import pl.edu.icm.trurl.io.WriterProvider;
 import pl.edu.icm.trurl.io.csv.CsvReader;
+import pl.edu.icm.trurl.io.store.StoreIO;
+import pl.edu.icm.trurl.store.ChangeTracker;
 import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.StringAttribute;
 import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
 
 import java.io.File;
@@ -34,6 +42,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class OrcWriterReaderTest {
 
@@ -65,6 +74,166 @@ class OrcWriterReaderTest {
                 .isEqualTo(dataFromStore(storeToRead, writeCount));
     }
 
+    @Test
+    public void read__append() throws IOException {
+        // given
+        File file = new File(tempDir, "dump.orc");
+        Store storeToWrite = new Store(new BasicAttributeFactory(), 3000);
+        configureStore(storeToWrite);
+        Store storeToRead = new Store(new BasicAttributeFactory(), 10);
+        configureStore(storeToRead);
+        fill(storeToWrite, 3000, "new");
+        fill(storeToRead, 10, "old");
+        new OrcWriter(new OrcImplementationsService()).write(file.getAbsolutePath(), storeToWrite);
+
+        // execute
+        new OrcReader(new OrcImplementationsService()).read(file.getAbsolutePath(), storeToRead);
+
+        // assert
+        StringAttribute strings = storeToRead.get("strings");
+        IntAttribute ints = storeToRead.get("ints");
+        assertThat(storeToRead.getCounter().getCount()).isEqualTo(3010);
+        assertThat(strings.getString(9)).isEqualTo("old 9");
+        assertThat(strings.getString(10)).isEqualTo("new 0");
+        assertThat(strings.getString(3009)).isEqualTo("new 2999");
+        assertThat(ints.getInt(3009)).isEqualTo(2999);
+    }
+
+    @Test
+    public void read__columns() throws IOException {
+        // given
+        File file = new File(tempDir, "dump.orc");
+        Store storeToWrite = new Store(new BasicAttributeFactory(), 100);
+        configureStore(storeToWrite);
+        Store storeToRead = new Store(new BasicAttributeFactory(), 100);
+        configureStore(storeToRead);
+        fill(storeToWrite, 100, "new");
+        new OrcWriter(new OrcImplementationsService()).write(file.getAbsolutePath(), storeToWrite);
+
+        // execute
+        new OrcReader(new OrcImplementationsService()).read(file.getAbsolutePath(), storeToRead, null, "ints");
+
+        // assert
+        StringAttribute strings = storeToRead.get("strings");
+        IntAttribute ints = storeToRead.get("ints");
+        assertThat(storeToRead.getCounter().getCount()).isEqualTo(100);
+        assertThat(ints.getInt(99)).isEqualTo(99);
+        assertThat(strings.isEmpty(99)).isTrue();
+    }
+
+    @Test
+    public void read__filter() throws IOException {
+        // given
+        File file = new File(tempDir, "dump.orc");
+        Store storeToWrite = new Store(new BasicAttributeFactory(), 30000);
+        configureStore(storeToWrite);
+        Store storeToRead = new Store(new BasicAttributeFactory(), 10);
+        configureStore(storeToRead);
+        fill(storeToWrite, 30000, "new");
+        new OrcWriter(new OrcImplementationsService()).write(file.getAbsolutePath(), storeToWrite);
+        SearchArgument filter = SearchArgumentFactory.newBuilder()
+                .startAnd()
+                .lessThan("ints", PredicateLeaf.Type.LONG, 20100L)
+                .between("ints", PredicateLeaf.Type.LONG, 20000L, 30000L)
+                .end()
+                .build();
+
+        // execute
+        new OrcReader(new OrcImplementationsService()).read(file.getAbsolutePath(), storeToRead, filter, "strings");
+
+        // assert
+        StringAttribute strings = storeToRead.get("strings");
+        IntAttribute ints = storeToRead.get("ints");
+        assertThat(storeToRead.getCounter().getCount()).isEqualTo(100);
+        assertThat(strings.getString(0)).isEqualTo("new 20000");
+        assertThat(strings.getString(99)).isEqualTo("new 20099");
+        assertThat(ints.isEmpty(0)).isTrue();
+    }
+
+    @Test
+    public void read__missingColumn() throws IOException {
+        // given
+        File file = new File(tempDir, "dump.orc");
+        Store storeToWrite = new Store(new BasicAttributeFactory(), 10);
+        storeToWrite.addInt("ints");
+        Store storeToRead = new Store(new BasicAttributeFactory(), 10);
+        configureStore(storeToRead);
+        new OrcWriter(new OrcImplementationsService()).write(file.getAbsolutePath(), storeToWrite);
+        OrcReader orcReader = new OrcReader(new OrcImplementationsService());
+
+        // execute & assert
+        assertThatThrownBy(() -> orcReader.read(file.getAbsolutePath(), storeToRead, null, "strings"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orcReader.read(file.getAbsolutePath(), storeToRead, null, "missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void writeChanges__readChanges() throws IOException {
+        // given
+        File file = new File(tempDir, "changes.orc");
+        Store storeToWrite = new Store(new BasicAttributeFactory(), 3000);
+        configureStore(storeToWrite);
+        Store storeToRead = new Store(new BasicAttributeFactory(), 3000);
+        configureStore(storeToRead);
+        fill(storeToWrite, 3000, "new");
+        fill(storeToRead, 3000, "old");
+        ChangeTracker changes = new ChangeTracker();
+        changes.mark(5);
+        changes.mark(2500);
+
+        // execute
+        new OrcWriter(new OrcImplementationsService()).writeChanges(file.getAbsolutePath(), storeToWrite, changes);
+        new OrcReader(new OrcImplementationsService()).readChanges(file.getAbsolutePath(), storeToRead);
+
+        // assert
+        StringAttribute strings = storeToRead.get("strings");
+        IntAttribute ints = storeToRead.get("ints");
+        assertThat(strings.getString(0)).isEqualTo("new 0");
+        assertThat(strings.getString(ChangeTracker.PAGE_SIZE - 1)).isEqualTo("new " + (ChangeTracker.PAGE_SIZE - 1));
+        assertThat(strings.getString(ChangeTracker.PAGE_SIZE)).isEqualTo("old " + ChangeTracker.PAGE_SIZE);
+        assertThat(strings.getString(2 * ChangeTracker.PAGE_SIZE - 1)).isEqualTo("old " + (2 * ChangeTracker.PAGE_SIZE - 1));
+        assertThat(strings.getString(2 * ChangeTracker.PAGE_SIZE)).isEqualTo("new " + 2 * ChangeTracker.PAGE_SIZE);
+        assertThat(strings.getString(2999)).isEqualTo("new 2999");
+        assertThat(ints.getInt(2999)).isEqualTo(2999);
+        assertThat(storeToRead.getCounter().getCount()).isEqualTo(3000);
+    }
+
+    @Test
+    public void writeStoreToFiles__parts() throws IOException {
+        // given
+        StoreIO storeIO = new StoreIO(new MultiFormatSingleStoreIOProvider(), new ReaderProvider(), new WriterProvider(), 4);
+        Store storeToWrite = new Store(new BasicAttributeFactory(), 5000);
+        configureStore(storeToWrite);
+        storeToWrite.addSubstore("sub").addInt("value");
+        fill(storeToWrite, 5000, "row");
+        Store storeToRead = new Store(new BasicAttributeFactory(), 10);
+        configureStore(storeToRead);
+        storeToRead.addSubstore("sub").addInt("value");
+        String metadataFile = new File(tempDir, "store.properties").getAbsolutePath();
+
+        // execute
+        storeIO.writeStoreToFiles(metadataFile, "store", storeToWrite, "orc", 2000);
+        storeIO.readStoreFromFiles(metadataFile, storeToRead);
+
+        // assert
+        assertThat(new File(tempDir, "store.part-0002.orc")).exists();
+        assertThat(new File(tempDir, "store.part-0003.orc")).doesNotExist();
+        assertThat(new File(tempDir, "store.sub.part-0000.orc")).exists();
+        assertThat(storeToRead.getCounter().getCount()).isEqualTo(5000);
+        assertThat(dataFromStore(storeToRead, 5000)).isEqualTo(dataFromStore(storeToWrite, 5000));
+    }
+
+    private void fill(Store store, int count, String prefix) {
+        StringAttribute strings = store.get("strings");
+        IntAttribute ints = store.get("ints");
+        int first = store.getCounter().next(count);
+        for (int row = first; row < first + count; row++) {
+            strings.setString(row, prefix + " " + row);
+            ints.setInt(row, row);
+        }
+    }
+
     private void loadFromCsvResource(Store storeToWrite, String name) throws IOException {
         new CsvReader(new ReaderProvider()).read(
                 new File(Objects.requireNonNull(this.getClass().getResource(name)).getFile()).getAbsolutePath(),
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.edu.icm.trurl.ecs.DenseSource;
+import pl.edu.icm.trurl.io.ReaderProvider;
+import pl.edu.icm.trurl.io.WriterProvider;
+import pl.edu.icm.trurl.io.csv.CsvReader;
+import pl.edu.icm.trurl.io.csv.CsvWriter;
+import pl.edu.icm.trurl.store.ChangeTracker;
+import pl.edu.icm.trurl.store.PresenceIndex;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.StringAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+import pl.edu.icm.trurl.store.join.DenseJoin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StoreIOCheckpointTest {
+    @TempDir
+    Path tempDir;
+    ReaderProvider readerProvider = new ReaderProvider();
+    WriterProvider writerProvider = new WriterProvider();
+    StoreIO storeIO = new StoreIO(new CsvSingleStoreIOProvider(new CsvReader(readerProvider), new CsvWriter(writerProvider)),
+            readerProvider, writerProvider);
+
+    @Test
+    void writeCheckpoint__only_changes() throws IOException {
+        // given
+        Store store = createStore();
+        fill(store, 3000);
+        Files.createDirectories(tempDir.resolve("base"));
+        Files.createDirectories(tempDir.resolve("delta"));
+        storeIO.writeCheckpoint(tempDir.resolve("base/checkpoint.properties").toString(), "people", store, "csv", null);
+        IntAttribute age = store.get("age");
+        age.setInt(2500, 99);
+        store.getChangeTracker().mark(2500);
+
+        // execute
+        storeIO.writeCheckpoint(tempDir.resolve("delta/checkpoint.properties").toString(), "people", store, "csv", "../base/checkpoint.properties");
+
+        // assert
+        assertThat(Files.readAllLines(tempDir.resolve("base/people.csv"))).hasSize(3001);
+        List<String> delta = Files.readAllLines(tempDir.resolve("delta/people.csv"));
+        assertThat(delta).hasSize(3000 - 2 * ChangeTracker.PAGE_SIZE + 1);
+        assertThat(delta.get(0)).startsWith(CsvWriter.ROW_COLUMN + ",");
+        assertThat(delta.get(1)).startsWith(2 * ChangeTracker.PAGE_SIZE + ",");
+        assertThat(Files.readAllLines(tempDir.resolve("delta/people.pets.csv"))).hasSize(1);
+        assertThat(store.getChangeTracker().nextChanged(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void readCheckpoint() throws IOException {
+        // given
+        Store store = createStore();
+        fill(store, 3000);
+        IntAttribute age = store.get("age");
+        StringAttribute name = store.get("name");
+        Store pets = store.getSubstore("pets");
+        IntAttribute legs = pets.get("legs");
+        for (String dir : new String[]{"0", "1", "2"}) {
+            Files.createDirectories(tempDir.resolve(dir));
+        }
+        storeIO.writeCheckpoint(tempDir.resolve("0/checkpoint.properties").toString(), "people", store, "csv", null);
+        age.setInt(5, 55);
+        store.getChangeTracker().mark(5);
+        store.freeIndex(2999);
+        storeIO.writeCheckpoint(tempDir.resolve("1/checkpoint.properties").toString(), "people", store, "csv", "../0/checkpoint.properties");
+        int row = store.allocateIndex();
+        name.setString(row, "new, with a comma");
+        int petRow = pets.allocateIndex();
+        legs.setInt(petRow, 8);
+        store.getChangeTracker().mark(row);
+        pets.getChangeTracker().mark(petRow);
+        storeIO.writeCheckpoint(tempDir.resolve("2/checkpoint.properties").toString(), "people", store, "csv", "../1/checkpoint.properties");
+
+        // execute
+        Store restored = createStore();
+        storeIO.readCheckpoint(tempDir.resolve("2/checkpoint.properties").toString(), restored);
+
+        // assert
+        assertThat(restored.getCounter().getCount()).isEqualTo(store.getCounter().getCount());
+        assertThat(restored.getSubstore("pets").getCounter().getCount()).isEqualTo(pets.getCounter().getCount());
+        IntAttribute restoredAge = restored.get("age");
+        StringAttribute restoredName = restored.get("name");
+        for (int i = 0; i < store.getCounter().getCount(); i++) {
+            assertThat(restoredAge.getInt(i)).isEqualTo(age.getInt(i));
+            assertThat(restoredName.getString(i)).isEqualTo(name.getString(i));
+        }
+        assertThat(restoredAge.getInt(5)).isEqualTo(55);
+        assertThat(restoredName.getString(2999)).isEqualTo("new, with a comma");
+        assertThat(((IntAttribute) restored.getSubstore("pets").get("legs")).getInt(petRow)).isEqualTo(8);
+        assertThat(restored.getChangeTracker().nextChanged(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void readCheckpoint__presence() throws IOException {
+        // given
+        Store store = createStore();
+        fill(store, 10);
+        storeIO.writeCheckpoint(tempDir.resolve("checkpoint.properties").toString(), "people", store, "csv", null);
+        Store restored = createStore();
+        IntAttribute age = restored.get("age");
+        IntAttribute legs = restored.getSubstore("pets").get("legs");
+        PresenceIndex ages = restored.getPresenceIndex("age", row -> !age.isEmpty(row));
+        PresenceIndex pets = restored.getSubstore("pets").getPresenceIndex("legs", row -> !legs.isEmpty(row));
+        assertThat(ages.nextMarked(0)).isEqualTo(-1);
+        assertThat(pets.nextMarked(0)).isEqualTo(-1);
+
+        // execute
+        storeIO.readCheckpoint(tempDir.resolve("checkpoint.properties").toString(), restored);
+
+        // assert
+        assertThat(ages.nextMarked(0)).isEqualTo(0);
+        assertThat(ages.isMarked(9)).isTrue();
+        assertThat(ages.nextMarked(10)).isEqualTo(-1);
+        assertThat(pets.isMarked(0)).isTrue();
+    }
+
+    @Test
+    void readStoreFromFiles__dense() throws IOException {
+        // given
+        Store store = createDenseStore();
+        DenseJoin join = store.getJoin("collider");
+        store.getCounter().next(10);
+        for (int row = 1; row < 10; row += 2) {
+            join.setSize(row, 1);
+        }
+        join.setSize(3, 0);
+        String metadataFile = tempDir.resolve("dense.properties").toString();
+        storeIO.writeStoreToFiles(metadataFile, "dense", store, "csv");
+
+        // execute
+        Store restored = createDenseStore();
+        storeIO.readStoreFromFiles(metadataFile, restored);
+        DenseJoin restoredJoin = restored.getJoin("collider");
+        restoredJoin.setSize(2, 1);
+
+        // assert
+        assertThat(restoredJoin.size()).isEqualTo(5);
+        assertThat(restoredJoin.getRow(2, 0)).isEqualTo(4);
+        List<Integer> rows = new ArrayList<>();
+        new DenseSource(restoredJoin).forEach(rows::add);
+        assertThat(rows).containsExactly(1, 9, 5, 7, 2);
+    }
+
+    @Test
+    void readCheckpoint__free() throws IOException {
+        // given
+        Store store = createStore();
+        fill(store, 3000);
+        Files.createDirectories(tempDir.resolve("base"));
+        Files.createDirectories(tempDir.resolve("delta"));
+        store.freeIndex(10);
+        store.freeIndex(11);
+        store.freeIndex(12);
+        store.freeIndex(100);
+        storeIO.writeCheckpoint(tempDir.resolve("base/checkpoint.properties").toString(), "people", store, "csv", null);
+        store.freeIndex(2000);
+        storeIO.writeCheckpoint(tempDir.resolve("delta/checkpoint.properties").toString(), "people", store, "csv", "../base/checkpoint.properties");
+
+        // execute
+        Store restored = createStore();
+        storeIO.readCheckpoint(tempDir.resolve("delta/checkpoint.properties").toString(), restored);
+
+        // assert
+        assertThat(restored.getCounter().getCount()).isEqualTo(3000);
+        assertThat(restored.getCounter().nextFree(0)).isEqualTo(10);
+        assertThat(restored.getCounter().nextFree(11)).isEqualTo(11);
+        assertThat(restored.getCounter().nextFree(13)).isEqualTo(100);
+        assertThat(restored.getCounter().nextFree(101)).isEqualTo(2000);
+        assertThat(restored.getCounter().nextFree(2001)).isEqualTo(-1);
+        assertThat(restored.allocateIndex()).isLessThan(3000);
+    }
+
+    @Test
+    void readStoreFromFiles__free() throws IOException {
+        // given
+        Store store = createStore();
+        fill(store, 10);
+        store.freeIndex(3);
+        store.freeIndex(9);
+        storeIO.writeStoreToFiles(tempDir.resolve("store.properties").toString(), "people", store, "csv");
+
+        // execute
+        Store restored = createStore();
+        storeIO.readStoreFromFiles(tempDir.resolve("store.properties").toString(), restored);
+
+        // assert
+        assertThat(restored.getCounter().getCount()).isEqualTo(10);
+        assertThat(restored.getCounter().isUsed(3)).isFalse();
+        assertThat(restored.getCounter().isUsed(4)).isTrue();
+        assertThat(restored.getCounter().isUsed(9)).isFalse();
+    }
+
+    @Test
+    void readStoreFromFiles__incremental() throws IOException {
+        // given
+        Store store = createStore();
+        fill(store, 10);
+        storeIO.writeCheckpoint(tempDir.resolve("base.properties").toString(), "base", store, "csv", null);
+        storeIO.writeCheckpoint(tempDir.resolve("delta.properties").toString(), "delta", store, "csv", "base.properties");
+
+        // execute & assert
+        assertThrows(IllegalArgumentException.class,
+                () -> storeIO.readStoreFromFiles(tempDir.resolve("delta.properties").toString(), createStore()));
+    }
+
+    private Store createStore() {
+        Store store = new Store(new BasicAttributeFactory(), 4000);
+        store.addString("name");
+        store.addInt("age");
+        Store pets = store.addSubstore("pets");
+        pets.addInt("legs");
+        return store;
+    }
+
+    private void fill(Store store, int count) {
+        IntAttribute age = store.get("age");
+        StringAttribute name = store.get("name");
+        for (int i = 0; i < count; i++) {
+            int row = store.allocateIndex();
+            age.setInt(row, i % 100);
+            name.setString(row, "person " + i);
+        }
+        Store pets = store.getSubstore("pets");
+        IntAttribute legs = pets.get("legs");
+        int pet = pets.allocateIndex();
+        legs.setInt(pet, 4);
+    }
+
+    private Store createDenseStore() {
+        Store store = new Store(new BasicAttributeFactory(), 100);
+        store.addInt("age");
+        store.addJoin("collider").denseTyped(4).addInt("radius");
+        return store;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.edu.icm.trurl.io.ReaderProvider;
+import pl.edu.icm.trurl.io.WriterProvider;
+import pl.edu.icm.trurl.io.csv.CsvReader;
+import pl.edu.icm.trurl.io.csv.CsvWriter;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StoreIOParallelTest {
+    public static final int SUBSTORES = 6;
+    @TempDir
+    Path tempDir;
+    ReaderProvider readerProvider = new ReaderProvider();
+    WriterProvider writerProvider = new WriterProvider();
+    StoreIO storeIO = new StoreIO(new CsvSingleStoreIOProvider(new CsvReader(readerProvider), new CsvWriter(writerProvider)),
+            readerProvider, writerProvider, 4);
+
+    @Test
+    void writeStoreToFiles__readStoreFromFiles() throws IOException {
+        // given
+        Store store = createStore();
+        IntAttribute value = store.get("value");
+        for (int row = 0; row < 1000; row++) {
+            value.setInt(store.allocateIndex(), row);
+        }
+        for (int i = 0; i < SUBSTORES; i++) {
+            Store substore = store.getSubstore("sub" + i);
+            IntAttribute subvalue = substore.get("value");
+            for (int row = 0; row < 100 * (i + 1); row++) {
+                subvalue.setInt(substore.allocateIndex(), row * i);
+            }
+        }
+        String metadataFile = tempDir.resolve("store.properties").toString();
+
+        // execute
+        storeIO.writeStoreToFiles(metadataFile, "store", store, "csv");
+        Store restored = createStore();
+        storeIO.readStoreFromFiles(metadataFile, restored);
+
+        // assert
+        assertThat(restored.getCounter().getCount()).isEqualTo(1000);
+        assertThat(((IntAttribute) restored.get("value")).getInt(999)).isEqualTo(999);
+        for (int i = 0; i < SUBSTORES; i++) {
+            Store substore = restored.getSubstore("sub" + i);
+            assertThat(substore.getCounter().getCount()).isEqualTo(100 * (i + 1));
+            assertThat(((IntAttribute) substore.get("value")).getInt(99)).isEqualTo(99 * i);
+        }
+    }
+
+    @Test
+    void readStoreFromFiles__failure() throws IOException {
+        // given
+        Store store = createStore();
+        String metadataFile = tempDir.resolve("store.properties").toString();
+        storeIO.writeStoreToFiles(metadataFile, "store", store, "csv");
+        tempDir.resolve("store.sub3.csv").toFile().delete();
+
+        // execute & assert
+        assertThrows(RuntimeException.class, () -> storeIO.readStoreFromFiles(metadataFile, createStore()));
+    }
+
+    private Store createStore() {
+        Store store = new Store(new BasicAttributeFactory(), 1000);
+        store.addInt("value");
+        for (int i = 0; i < SUBSTORES; i++) {
+            store.addSubstore("sub" + i).addInt("value");
+        }
+        return store;
+    }
+}
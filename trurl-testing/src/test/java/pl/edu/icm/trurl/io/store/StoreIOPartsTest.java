@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.io.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.edu.icm.trurl.io.ReaderProvider;
+import pl.edu.icm.trurl.io.WriterProvider;
+import pl.edu.icm.trurl.io.csv.CsvReader;
+import pl.edu.icm.trurl.io.csv.CsvWriter;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.StringAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StoreIOPartsTest {
+    public static final int ROWS = 25_000;
+    @TempDir
+    Path tempDir;
+    ReaderProvider readerProvider = new ReaderProvider();
+    WriterProvider writerProvider = new WriterProvider();
+    StoreIO storeIO = new StoreIO(new CsvSingleStoreIOProvider(new CsvReader(readerProvider), new CsvWriter(writerProvider)),
+            readerProvider, writerProvider, 4);
+
+    @Test
+    void writeStoreToFiles__readStoreFromFiles() throws IOException {
+        // given
+        Store store = createStore(ROWS);
+        IntAttribute value = store.get("value");
+        StringAttribute name = store.get("name");
+        for (int i = 0; i < ROWS; i++) {
+            int row = store.allocateIndex();
+            value.setInt(row, i);
+            name.setString(row, i % 3 == 0 ? "line\nbreak, " + i : "name " + i);
+        }
+        Store substore = store.getSubstore("sub");
+        IntAttribute subvalue = substore.get("value");
+        for (int i = 0; i < 10; i++) {
+            subvalue.setInt(substore.allocateIndex(), i * 2);
+        }
+        String metadataFile = tempDir.resolve("store.properties").toString();
+
+        // execute
+        storeIO.writeStoreToFiles(metadataFile, "store", store, "csv", 10_000);
+        Store restored = createStore(10);
+        storeIO.readStoreFromFiles(metadataFile, restored);
+
+        // assert
+        assertThat(tempDir.resolve("store.part-0000.csv").toFile().exists()).isTrue();
+        assertThat(tempDir.resolve("store.part-0002.csv").toFile().exists()).isTrue();
+        assertThat(tempDir.resolve("store.part-0003.csv").toFile().exists()).isFalse();
+        assertThat(tempDir.resolve("store.sub.part-0000.csv").toFile().exists()).isTrue();
+        assertThat(tempDir.resolve("store.sub.part-0001.csv").toFile().exists()).isFalse();
+        assertThat(restored.getCounter().getCount()).isEqualTo(ROWS);
+        IntAttribute restoredValue = restored.get("value");
+        StringAttribute restoredName = restored.get("name");
+        for (int row = 0; row < ROWS; row++) {
+            assertThat(restoredValue.getInt(row)).isEqualTo(row);
+            assertThat(restoredName.getString(row)).isEqualTo(name.getString(row).replace("\n", "\\n"));
+        }
+        Store restoredSubstore = restored.getSubstore("sub");
+        assertThat(restoredSubstore.getCounter().getCount()).isEqualTo(10);
+        assertThat(((IntAttribute) restoredSubstore.get("value")).getInt(9)).isEqualTo(18);
+    }
+
+    @Test
+    void readStoreFromFiles__missing_part() throws IOException {
+        // given
+        Store store = createStore(100);
+        for (int i = 0; i < 100; i++) {
+            store.allocateIndex();
+        }
+        String metadataFile = tempDir.resolve("store.properties").toString();
+        storeIO.writeStoreToFiles(metadataFile, "store", store, "csv", 30);
+        tempDir.resolve("store.part-0003.csv").toFile().delete();
+
+        // execute & assert
+        assertThrows(RuntimeException.class, () -> storeIO.readStoreFromFiles(metadataFile, createStore(100)));
+    }
+
+    private Store createStore(int capacity) {
+        Store store = new Store(new BasicAttributeFactory(), capacity);
+        store.addInt("value");
+        store.addString("name");
+        store.addSubstore("sub").addInt("value");
+        return store;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+
+package pl.edu.icm.trurl.store;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeTrackerTest {
+
+    @Test
+    void nextChanged() {
+        // given
+        ChangeTracker changes = new ChangeTracker();
+        changes.mark(5);
+        changes.markRange(3 * ChangeTracker.PAGE_SIZE - 1, 3 * ChangeTracker.PAGE_SIZE + 1);
+
+        // execute
+        List<Integer> rows = new ArrayList<>();
+        for (int row = changes.nextChanged(0); row >= 0; row = changes.nextChanged(row + 1)) {
+            rows.add(row);
+        }
+
+        // assert
+        assertThat(rows).hasSize(3 * ChangeTracker.PAGE_SIZE);
+        assertThat(rows.get(0)).isEqualTo(0);
+        assertThat(rows.get(ChangeTracker.PAGE_SIZE)).isEqualTo(2 * ChangeTracker.PAGE_SIZE);
+        assertThat(changes.isChanged(ChangeTracker.PAGE_SIZE)).isFalse();
+        assertThat(changes.isChanged(4 * ChangeTracker.PAGE_SIZE - 1)).isTrue();
+    }
+
+    @Test
+    void reset() {
+        // given
+        ChangeTracker changes = new ChangeTracker();
+        changes.mark(5);
+        changes.markAll();
+
+        // execute
+        changes.reset();
+
+        // assert
+        assertThat(changes.nextChanged(0)).isEqualTo(-1);
+        assertThat(changes.isChanged(5)).isFalse();
+    }
+
+    @Test
+    void store() {
+        // given
+        Store store = new Store(new BasicAttributeFactory(), 10_000);
+        store.addInt("value");
+        IntAttribute value = store.get("value");
+        store.getCounter().next(5000);
+        PresenceIndex index = store.getPresenceIndex("value", row -> !value.isEmpty(row));
+        ChangeTracker changes = store.getChangeTracker();
+
+        // execute
+        index.mark(10);
+        store.erase(2500);
+        store.move(4000, 4001);
+
+        // assert
+        assertThat(changes.nextChanged(0)).isEqualTo(0);
+        assertThat(changes.nextChanged(ChangeTracker.PAGE_SIZE)).isEqualTo(2 * ChangeTracker.PAGE_SIZE);
+        assertThat(changes.nextChanged(3 * ChangeTracker.PAGE_SIZE)).isEqualTo(3 * ChangeTracker.PAGE_SIZE);
+        assertThat(changes.isChanged(ChangeTracker.PAGE_SIZE)).isFalse();
+        assertThat(changes.isChanged(4001)).isTrue();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceIndexTest {
+
+    Store store = new Store(new BasicAttributeFactory(), 1000);
+
+    @Test
+    void nextMarked__built() {
+        // given
+        store.addInt("value");
+        IntAttribute value = store.get("value");
+        store.getCounter().next(100);
+        value.setInt(7, 1);
+        value.setInt(70, 1);
+        PresenceIndex index = store.getPresenceIndex("value", row -> !value.isEmpty(row));
+
+        // execute
+        int first = index.nextMarked(0);
+        int second = index.nextMarked(first + 1);
+        int third = index.nextMarked(second + 1);
+
+        // assert
+        assertThat(first).isEqualTo(7);
+        assertThat(second).isEqualTo(70);
+        assertThat(third).isEqualTo(-1);
+    }
+
+    @Test
+    void mark__unmark() {
+        // given
+        store.addInt("value");
+        IntAttribute value = store.get("value");
+        store.getCounter().next(100);
+        PresenceIndex index = store.getPresenceIndex("value", row -> !value.isEmpty(row));
+        index.nextMarked(0);
+
+        // execute
+        index.mark(3);
+        index.mark(30);
+        index.unmark(3);
+
+        // assert
+        assertThat(index.isMarked(3)).isFalse();
+        assertThat(index.isMarked(30)).isTrue();
+        assertThat(index.nextMarked(0)).isEqualTo(30);
+    }
+
+    @Test
+    void erase() {
+        // given
+        store.addInt("value");
+        IntAttribute value = store.get("value");
+        store.getCounter().next(100);
+        value.setInt(5, 1);
+        PresenceIndex index = store.getPresenceIndex("value", row -> !value.isEmpty(row));
+
+        // execute
+        store.erase(5);
+
+        // assert
+        assertThat(index.isMarked(5)).isFalse();
+        assertThat(index.nextMarked(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void compact() {
+        // given
+        store.addInt("value");
+        IntAttribute value = store.get("value");
+        store.getCounter().next(100);
+        value.setInt(50, 1);
+        PresenceIndex index = store.getPresenceIndex("value", row -> !value.isEmpty(row));
+        index.nextMarked(0);
+
+        // execute
+        store.compact();
+
+        // assert
+        assertThat(index.nextMarked(0)).isEqualTo(0);
+        assertThat(index.isMarked(50)).isFalse();
+    }
+
+    @Test
+    void move() {
+        // given
+        store.addInt("value");
+        IntAttribute value = store.get("value");
+        store.getCounter().next(100);
+        value.setInt(90, 1);
+        PresenceIndex index = store.getPresenceIndex("value", row -> !value.isEmpty(row));
+        index.nextMarked(0);
+
+        // execute
+        store.move(90, 3);
+
+        // assert
+        assertThat(value.getInt(3)).isEqualTo(1);
+        assertThat(value.isEmpty(90)).isTrue();
+        assertThat(index.nextMarked(0)).isEqualTo(3);
+        assertThat(index.nextMarked(4)).isEqualTo(-1);
+    }
+}
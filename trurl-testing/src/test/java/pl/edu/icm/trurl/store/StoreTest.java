@@ -22,6 +22,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
 import pl.edu.icm.trurl.store.attribute.*;
+import pl.edu.icm.trurl.store.join.Join;
+import pl.edu.icm.trurl.store.join.RangedJoin;
+import pl.edu.icm.trurl.store.reference.Reference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -177,5 +180,56 @@ class StoreTest {
         assertThat(attribute).isInstanceOf(FloatAttribute.class);
     }
 
+    @Test
+    @DisplayName("Should compact rows, substores, joins and references")
+    public void compact() {
+        // given
+        Store store = createStore();
+        store.addInt("value");
+        store.addReference("friend").single();
+        Store members = store.addJoin("members").rangeTyped(2, 0);
+        members.addInt("age");
+        Store pet = store.addJoin("pet").singleTypedWithReverse();
+        pet.addString("name");
+        IntAttribute value = store.get("value");
+        IntAttribute age = members.get("age");
+        StringAttribute name = pet.get("name");
+        RangedJoin membersJoin = store.getJoin("members");
+        Join petJoin = store.getJoin("pet");
+        Reference friend = store.getReference("friend");
+        for (int i = 0; i < 5; i++) {
+            value.setInt(store.allocateIndex(), i * 10);
+        }
+        membersJoin.setSize(0, 2);
+        age.setInt(membersJoin.getRow(0, 0), 1);
+        age.setInt(membersJoin.getRow(0, 1), 2);
+        membersJoin.setSize(2, 3);
+        for (int i = 0; i < 3; i++) {
+            age.setInt(membersJoin.getRow(2, i), 3 + i);
+        }
+        petJoin.setSize(3, 1);
+        name.setString(petJoin.getRow(3, 0), "Rex");
+        friend.setSize(4, 1);
+        friend.setId(4, 0, 3);
+        store.freeIndex(0);
+        store.freeIndex(1);
+
+        // execute
+        int[] mapping = store.compact();
+
+        // assert
+        assertThat(mapping).containsExactly(Integer.MIN_VALUE, Integer.MIN_VALUE, 0, 1, 2);
+        assertThat(store.getCounter().getCount()).isEqualTo(3);
+        assertThat(value.getInt(0)).isEqualTo(20);
+        assertThat(value.getInt(2)).isEqualTo(40);
+        assertThat(value.isEmpty(3)).isTrue();
+        assertThat(members.getCounter().getCount()).isEqualTo(3);
+        assertThat(membersJoin.getRow(0, 0)).isEqualTo(0);
+        assertThat(age.getInt(membersJoin.getRow(0, 2))).isEqualTo(5);
+        assertThat(name.getString(petJoin.getRow(1, 0))).isEqualTo("Rex");
+        assertThat(pet.<IntAttribute>get("reverse").getInt(petJoin.getRow(1, 0))).isEqualTo(1);
+        assertThat(friend.getId(2, 0)).isEqualTo(1);
+    }
+
     private enum Letters {A, B, C}
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2023 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package pl.edu.icm.trurl.store.join;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.Store;
+import pl.edu.icm.trurl.store.attribute.Attribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.basic.BasicAttributeFactory;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DenseJoinTest {
+    public static final int CAPACITY = 100_000;
+    Store store = new Store(new BasicAttributeFactory(), CAPACITY);
+
+    @Test
+    void init() {
+        // execute
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+
+        // assert
+        assertThat((Join) store.getJoin("collider")).isInstanceOf(DenseJoin.class);
+        assertThat(target.getEnsuredCapacity()).isEqualTo(16);
+        assertThat(store.getDataAttributes()).isEmpty();
+        assertThat(target.getAllAttributes().stream().map(Attribute::name)).containsExactlyInAnyOrder("radius", "reverse");
+        assertThat(target.getDataAttributes().stream().map(Attribute::name)).containsExactly("radius");
+    }
+
+    @Test
+    void setSize() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+        IntAttribute radius = target.get("radius");
+        DenseJoin join = store.getJoin("collider");
+
+        // execute
+        IntStream.range(0, CAPACITY).filter(row -> row % 100 == 0).forEach(row -> {
+            join.setSize(row, 1);
+            radius.setInt(join.getRow(row, 0), row);
+        });
+
+        // assert
+        assertThat(target.getCounter().getCount()).isEqualTo(CAPACITY / 100);
+        assertThat(target.getEnsuredCapacity()).isLessThan(CAPACITY / 50);
+        IntStream.range(0, CAPACITY).forEach(row -> {
+            if (row % 100 == 0) {
+                int targetRow = join.getRow(row, 0);
+                assertThat(radius.getInt(targetRow)).isEqualTo(row);
+                assertThat(join.getSourceRow(targetRow)).isEqualTo(row);
+            } else {
+                assertThat(join.getExactSize(row)).isEqualTo(0);
+            }
+        });
+    }
+
+    @Test
+    void setSize__free() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+        IntAttribute radius = target.get("radius");
+        DenseJoin join = store.getJoin("collider");
+        join.setSize(10, 1);
+        radius.setInt(join.getRow(10, 0), 5);
+
+        // execute
+        join.setSize(10, 0);
+        join.setSize(20, 1);
+
+        // assert
+        assertThat(join.isEmpty(10)).isTrue();
+        assertThat(join.getRow(20, 0)).isEqualTo(0);
+        assertThat(radius.isEmpty(0)).isTrue();
+        assertThat(join.getSourceRow(0)).isEqualTo(20);
+    }
+
+    @Test
+    void setSize__swap_remove() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+        IntAttribute radius = target.get("radius");
+        DenseJoin join = store.getJoin("collider");
+        for (int row = 100; row < 104; row++) {
+            join.setSize(row, 1);
+            radius.setInt(join.getRow(row, 0), row);
+        }
+
+        // execute
+        join.setSize(101, 0);
+        join.setSize(103, 0);
+
+        // assert
+        assertThat(join.size()).isEqualTo(2);
+        assertThat(join.getRow(100, 0)).isEqualTo(0);
+        assertThat(join.getRow(102, 0)).isEqualTo(1);
+        assertThat(radius.getInt(1)).isEqualTo(102);
+        assertThat(join.getSourceRow(1)).isEqualTo(102);
+        assertThat(radius.isEmpty(2)).isTrue();
+        assertThat(radius.isEmpty(3)).isTrue();
+        assertThat(join.getSourceRow(2)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(target.getCounter().getCount()).isEqualTo(4);
+    }
+
+    @Test
+    void setSize__remove_more_than_initial_capacity() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(4);
+        target.addInt("radius");
+        DenseJoin join = store.getJoin("collider");
+        IntStream.range(0, 10).forEach(row -> join.setSize(row, 1));
+        IntStream.range(0, 10).forEach(row -> join.setSize(row, 0));
+
+        // execute
+        join.setSize(20, 1);
+        join.setSize(21, 1);
+
+        // assert
+        assertThat(join.size()).isEqualTo(2);
+        assertThat(join.getRow(20, 0)).isEqualTo(0);
+        assertThat(join.getRow(21, 0)).isEqualTo(1);
+        assertThat(join.getSourceRow(1)).isEqualTo(21);
+        assertThat(target.getCounter().getCount()).isEqualTo(10);
+    }
+
+    @Test
+    void setSize__pass() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+        IntAttribute radius = target.get("radius");
+        DenseJoin join = store.getJoin("collider");
+        for (int row = 100; row < 106; row++) {
+            join.setSize(row, 1);
+            radius.setInt(join.getRow(row, 0), row);
+        }
+
+        // execute
+        join.beginPass();
+        join.setSize(100, 0);
+        join.setSize(102, 0);
+        join.setSize(105, 0);
+        int sizeDuringPass = join.size();
+        int movedDuringPass = join.getSourceRow(4);
+        join.endPass();
+
+        // assert
+        assertThat(sizeDuringPass).isEqualTo(6);
+        assertThat(movedDuringPass).isEqualTo(104);
+        assertThat(join.size()).isEqualTo(3);
+        IntStream.range(0, 3).forEach(targetRow -> {
+            int row = join.getSourceRow(targetRow);
+            assertThat(join.getRow(row, 0)).isEqualTo(targetRow);
+            assertThat(radius.getInt(targetRow)).isEqualTo(row);
+        });
+        assertThat(IntStream.range(0, 3).map(join::getSourceRow)).containsExactlyInAnyOrder(101, 103, 104);
+        assertThat(join.getSourceRow(3)).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test
+    void resync() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        DenseJoin join = store.getJoin("collider");
+        IntAttribute rows = store.get("collider");
+        IntAttribute reverse = target.get("reverse");
+        target.getCounter().next(5);
+        for (int targetRow = 0; targetRow < 4; targetRow++) {
+            rows.setInt(targetRow * 10, targetRow);
+            reverse.setInt(targetRow, targetRow * 10);
+        }
+
+        // execute
+        join.resync();
+        join.setSize(7, 1);
+
+        // assert
+        assertThat(join.size()).isEqualTo(5);
+        assertThat(join.getRow(7, 0)).isEqualTo(4);
+        assertThat(target.getCounter().getCount()).isEqualTo(5);
+    }
+
+    @Test
+    void setSize__reuse_after_remove() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+        DenseJoin join = store.getJoin("collider");
+        IntStream.range(0, 10).forEach(row -> join.setSize(row, 1));
+        IntStream.range(0, 5).forEach(row -> join.setSize(row * 2, 0));
+
+        // execute
+        join.setSize(50, 1);
+        join.setSize(51, 1);
+
+        // assert
+        assertThat(join.size()).isEqualTo(7);
+        assertThat(join.getRow(50, 0)).isEqualTo(5);
+        assertThat(join.getRow(51, 0)).isEqualTo(6);
+        IntStream.range(0, 7).forEach(targetRow -> {
+            int row = join.getSourceRow(targetRow);
+            assertThat(join.getRow(row, 0)).isEqualTo(targetRow);
+        });
+    }
+
+    @Test
+    void compact() {
+        // given
+        Store target = store.addJoin("collider").denseTyped(16);
+        target.addInt("radius");
+        IntAttribute radius = target.get("radius");
+        DenseJoin join = store.getJoin("collider");
+        store.getCounter().next(10);
+        for (int row = 5; row < 10; row++) {
+            join.setSize(row, 1);
+            radius.setInt(join.getRow(row, 0), row);
+        }
+        join.setSize(6, 0);
+
+        // execute
+        int[] mapping = store.compact();
+
+        // assert
+        assertThat(join.size()).isEqualTo(4);
+        assertThat(mapping[9]).isEqualTo(3);
+        assertThat(radius.getInt(join.getRow(3, 0))).isEqualTo(9);
+        assertThat(join.getSourceRow(join.getRow(3, 0))).isEqualTo(3);
+    }
+}
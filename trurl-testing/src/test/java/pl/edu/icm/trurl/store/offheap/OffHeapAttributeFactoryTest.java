@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.offheap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+import pl.edu.icm.trurl.store.attribute.DoubleAttribute;
+import pl.edu.icm.trurl.store.attribute.EnumAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapAttributeFactoryTest {
+
+    @Test
+    @DisplayName("Should keep values when growing by segments")
+    void ensureCapacity() {
+        // given
+        OffHeapAttributeFactory factory = new OffHeapAttributeFactory("", 16);
+        IntAttribute attribute = factory.createInt("ints", 10);
+        for (int row = 0; row < 16; row++) {
+            attribute.setInt(row, row * 3);
+        }
+
+        // execute
+        attribute.ensureCapacity(100);
+
+        // assert
+        for (int row = 0; row < 16; row++) {
+            assertThat(attribute.getInt(row)).isEqualTo(row * 3);
+        }
+        assertThat(attribute.isEmpty(99)).isTrue();
+        assertThat(attribute.isEmpty(1000)).isTrue();
+        attribute.setInt(99, 7);
+        assertThat(attribute.getInt(99)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should start empty and become empty")
+    void setEmpty() {
+        // given
+        OffHeapAttributeFactory factory = new OffHeapAttributeFactory();
+        FloatAttribute floats = factory.createFloat("floats", 10);
+        DoubleAttribute doubles = factory.createDouble("doubles", 10);
+        BooleanAttribute booleans = factory.createBoolean("booleans", 10);
+        EnumAttribute<DayOfWeek> enums = factory.createEnum("enums", DayOfWeek.class, 10);
+        assertThat(floats.isEmpty(3)).isTrue();
+        assertThat(doubles.isEmpty(3)).isTrue();
+        assertThat(booleans.isEmpty(3)).isTrue();
+        assertThat(enums.isEmpty(3)).isTrue();
+
+        // execute
+        floats.setFloat(3, 1.5f);
+        doubles.setDouble(3, 2.5);
+        booleans.setBoolean(3, false);
+        enums.setEnum(3, DayOfWeek.FRIDAY);
+
+        // assert
+        assertThat(floats.getString(3)).isEqualTo("1.5");
+        assertThat(doubles.getString(3)).isEqualTo("2.5");
+        assertThat(booleans.getString(3)).isEqualTo("false");
+        assertThat(enums.getString(3)).isEqualTo("FRIDAY");
+        enums.setEmpty(3);
+        assertThat(enums.isEmpty(3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the data in mapped files")
+    void mapped(@TempDir Path directory) {
+        // given
+        IntAttribute written = new OffHeapAttributeFactory(directory.toString(), 16).createInt("value", 40);
+        for (int row = 0; row < 40; row++) {
+            written.setInt(row, row + 1000);
+        }
+
+        // execute
+        IntAttribute reopened = new OffHeapAttributeFactory(directory.toString(), 16).createInt("value", 40);
+        reopened.ensureCapacity(64);
+
+        // assert
+        assertThat(directory.resolve("value.col")).exists();
+        for (int row = 0; row < 40; row++) {
+            assertThat(reopened.getInt(row)).isEqualTo(row + 1000);
+        }
+        assertThat(reopened.isEmpty(48)).isTrue();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 ICM Epidemiological Model Team at Interdisciplinary Centre for Mathematical and Computational Modelling, University of Warsaw.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package pl.edu.icm.trurl.store.segmented;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.edu.icm.trurl.store.attribute.BooleanAttribute;
+import pl.edu.icm.trurl.store.attribute.EnumAttribute;
+import pl.edu.icm.trurl.store.attribute.FloatAttribute;
+import pl.edu.icm.trurl.store.attribute.IntAttribute;
+import pl.edu.icm.trurl.store.attribute.IntListAttribute;
+import pl.edu.icm.trurl.store.attribute.StringAttribute;
+
+import java.time.DayOfWeek;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedAttributeFactoryTest {
+
+    @Test
+    @DisplayName("Should keep values when growing by pages")
+    void ensureCapacity() {
+        // given
+        SegmentedAttributeFactory factory = new SegmentedAttributeFactory(16);
+        IntAttribute ints = factory.createInt("ints", 10);
+        StringAttribute strings = factory.createString("strings", 10);
+        for (int row = 0; row < 16; row++) {
+            ints.setInt(row, row * 3);
+            strings.setString(row, "s" + row);
+        }
+
+        // execute
+        ints.ensureCapacity(100);
+        strings.ensureCapacity(100);
+
+        // assert
+        for (int row = 0; row < 16; row++) {
+            assertThat(ints.getInt(row)).isEqualTo(row * 3);
+            assertThat(strings.getString(row)).isEqualTo("s" + row);
+        }
+        assertThat(ints.isEmpty(99)).isTrue();
+        assertThat(ints.isEmpty(1000)).isTrue();
+        assertThat(strings.isEmpty(99)).isTrue();
+        ints.setInt(99, 7);
+        assertThat(ints.getInt(99)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should start empty and become empty")
+    void setEmpty() {
+        // given
+        SegmentedAttributeFactory factory = new SegmentedAttributeFactory(8);
+        FloatAttribute floats = factory.createFloat("floats", 20);
+        BooleanAttribute booleans = factory.createBoolean("booleans", 20);
+        EnumAttribute<DayOfWeek> enums = factory.createEnum("enums", DayOfWeek.class, 20);
+        IntListAttribute lists = factory.createIntList("lists", 20);
+        assertThat(floats.isEmpty(13)).isTrue();
+        assertThat(booleans.isEmpty(13)).isTrue();
+        assertThat(enums.isEmpty(13)).isTrue();
+        assertThat(lists.isEmpty(13)).isTrue();
+
+        // execute
+        floats.setFloat(13, 1.5f);
+        booleans.setBoolean(13, false);
+        enums.setEnum(13, DayOfWeek.FRIDAY);
+        lists.setString(13, "a,b,c");
+
+        // assert
+        assertThat(floats.getString(13)).isEqualTo("1.5");
+        assertThat(booleans.getString(13)).isEqualTo("false");
+        assertThat(enums.getString(13)).isEqualTo("FRIDAY");
+        assertThat(lists.getInts(13)).containsExactly(10, 11, 12);
+        assertThat(lists.getString(13)).isEqualTo("a,b,c");
+        enums.setEmpty(13);
+        lists.setEmpty(13);
+        assertThat(enums.isEmpty(13)).isTrue();
+        assertThat(lists.isEmpty(13)).isTrue();
+    }
+}